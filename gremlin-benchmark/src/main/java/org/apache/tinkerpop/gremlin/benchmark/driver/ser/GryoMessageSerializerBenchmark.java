@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.driver.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV1d0;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of messages between the driver and Gremlin Server with
+ * {@link GryoMessageSerializerV1d0}.  The response holds a batch of detached vertices with their properties as Gremlin
+ * Server would send them.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(2)
+public class GryoMessageSerializerBenchmark {
+
+    private static final ByteBufAllocator allocator = UnpooledByteBufAllocator.DEFAULT;
+
+    @Param({"64"})
+    private int resultIterationBatchSize;
+
+    private final GryoMessageSerializerV1d0 serializer = new GryoMessageSerializerV1d0();
+    private RequestMessage requestMessage;
+    private ResponseMessage responseMessage;
+    private byte[] serializedRequest;
+    private byte[] serializedResponse;
+
+    @Setup(Level.Trial)
+    public void setupMessages() throws Exception {
+        final List<Object> results = new ArrayList<>(this.resultIterationBatchSize);
+        try (final TinkerGraph graph = TinkerFactory.createModern()) {
+            while (results.size() < this.resultIterationBatchSize) {
+                graph.vertices().forEachRemaining(v -> {
+                    if (results.size() < this.resultIterationBatchSize) results.add(DetachedFactory.detach(v, true));
+                });
+            }
+        }
+
+        this.requestMessage = RequestMessage.build("eval")
+                .add("gremlin", "g.V().out('knows').has('age', gt(30)).values('name')", "batchSize", this.resultIterationBatchSize)
+                .create();
+        this.responseMessage = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.PARTIAL_CONTENT)
+                .result(results).create();
+
+        this.serializedRequest = toBytes(this.serializer.serializeRequestAsBinary(this.requestMessage, allocator));
+        this.serializedResponse = toBytes(this.serializer.serializeResponseAsBinary(this.responseMessage, allocator));
+    }
+
+    @Benchmark
+    public int serializeRequest() throws SerializationException {
+        return release(this.serializer.serializeRequestAsBinary(this.requestMessage, allocator));
+    }
+
+    @Benchmark
+    public RequestMessage deserializeRequest() throws SerializationException {
+        return this.serializer.deserializeRequest(Unpooled.wrappedBuffer(this.serializedRequest));
+    }
+
+    @Benchmark
+    public int serializeResponse() throws SerializationException {
+        return release(this.serializer.serializeResponseAsBinary(this.responseMessage, allocator));
+    }
+
+    @Benchmark
+    public ResponseMessage deserializeResponse() throws SerializationException {
+        return this.serializer.deserializeResponse(Unpooled.wrappedBuffer(this.serializedResponse));
+    }
+
+    private static int release(final ByteBuf buffer) {
+        final int size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+
+    private static byte[] toBytes(final ByteBuf buffer) {
+        final byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        buffer.release();
+        return bytes;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.process;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * Measures the throughput of the most commonly used steps in the standard engine.  Each benchmark iterates a whole
+ * traversal so the cost of strategy application is included, but it is small next to the cost of the steps over
+ * the full graph - see {@link TraversalStrategiesBenchmark} for that cost alone.
+ *
+ * @author agent (agent@local)
+ */
+public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
+
+    @Benchmark
+    public void vertexStep(final Blackhole blackhole) {
+        g.V().out("knows").forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void vertexStepToEdges(final Blackhole blackhole) {
+        g.V().outE("knows").forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void hasStep(final Blackhole blackhole) {
+        g.V().has("age", P.gt(40)).forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void hasStepWithLabel(final Blackhole blackhole) {
+        g.V().has("person", "age", P.between(30, 40)).forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void dedupGlobalStep(final Blackhole blackhole) {
+        g.V().out("knows").out("knows").dedup().forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void groupCountStep(final Blackhole blackhole) {
+        g.V().out("knows").groupCount().by("age").forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void repeatStep(final Blackhole blackhole) {
+        g.V().repeat(out("knows")).times(2).forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void repeatStepWithEmit(final Blackhole blackhole) {
+        g.V().repeat(out("knows")).times(2).emit().forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void matchStep(final Blackhole blackhole) {
+        g.V().match("a",
+                as("a").out("created").as("b"),
+                as("a").out("knows").as("c"),
+                as("c").out("created").as("b")).forEachRemaining(blackhole::consume);
+    }
+}
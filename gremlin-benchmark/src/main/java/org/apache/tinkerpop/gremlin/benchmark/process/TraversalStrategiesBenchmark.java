@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.process;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+
+/**
+ * Measures the cost of building a traversal and applying its strategies through {@link DefaultTraversalStrategies},
+ * which is paid on every request to Gremlin Server.  The graph is empty as the traversals are never iterated.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(2)
+public class TraversalStrategiesBenchmark {
+
+    private Graph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void setupGraph() {
+        this.graph = TinkerGraph.open();
+        this.g = this.graph.traversal();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownGraph() throws Exception {
+        this.graph.close();
+    }
+
+    @Benchmark
+    public Traversal linearTraversal() {
+        final Traversal.Admin<?, ?> traversal = g.V().has("name", "marko").outE("knows").inV().out("created").dedup().values("name").asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    @Benchmark
+    public Traversal orderedTraversal() {
+        final Traversal.Admin<?, ?> traversal = g.V().identity().out().order().by("age", Order.decr).limit(10).asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    @Benchmark
+    public Traversal nestedTraversal() {
+        final Traversal.Admin<?, ?> traversal = g.V().has("age", P.gt(30))
+                .repeat(out("knows").where(outE("created").count().is(P.gt(1l)))).times(2)
+                .local(in("knows").limit(2))
+                .group().by("name").by(outE().count()).asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    @Benchmark
+    public Traversal matchTraversal() {
+        final Traversal.Admin<?, ?> traversal = g.V().match("a",
+                as("a").out("created").as("b"),
+                as("a").out("knows").as("c"),
+                as("c").out("created").as("b")).select("a", "c").asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.structure.io;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONReader;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing a {@link StarGraph} with Gryo and GraphSON, which is how each vertex is moved in and
+ * out of a {@code GraphComputer}.  The star graph is a vertex with {@code degree} edges in each direction.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(2)
+public class StarGraphIoBenchmark {
+
+    @Param({"10", "1000"})
+    private int degree;
+
+    private StarGraph starGraph;
+    private byte[] gryo;
+    private byte[] graphson;
+
+    private final GryoWriter gryoWriter = GryoWriter.build().create();
+    private final GryoReader gryoReader = GryoReader.build().create();
+    private final GraphSONWriter graphsonWriter = GraphSONWriter.build().create();
+    private final GraphSONReader graphsonReader = GraphSONReader.build().create();
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024 * 64);
+
+    @Setup(Level.Trial)
+    public void setupStarGraph() throws Exception {
+        try (final Graph graph = TinkerGraph.open()) {
+            final Vertex vertex = graph.addVertex(T.label, "person", "name", "marko", "age", 29);
+            for (int i = 0; i < this.degree; i++) {
+                final Vertex other = graph.addVertex(T.label, "person", "name", "person" + i, "age", i % 80);
+                vertex.addEdge("knows", other, "weight", 0.5d, "since", 2000 + (i % 15));
+                other.addEdge("created", vertex, "weight", 1.0d);
+            }
+            this.starGraph = StarGraph.of(vertex);
+        }
+
+        this.gryo = write(this.gryoWriter::writeVertex);
+        this.graphson = write(this.graphsonWriter::writeVertex);
+    }
+
+    @Benchmark
+    public byte[] writeGryo() throws IOException {
+        return write(this.gryoWriter::writeVertex);
+    }
+
+    @Benchmark
+    public Vertex readGryo() throws IOException {
+        return this.gryoReader.readVertex(new ByteArrayInputStream(this.gryo), Attachable::get, Attachable::get, Direction.BOTH);
+    }
+
+    @Benchmark
+    public byte[] writeGraphSON() throws IOException {
+        return write(this.graphsonWriter::writeVertex);
+    }
+
+    @Benchmark
+    public Vertex readGraphSON() throws IOException {
+        return this.graphsonReader.readVertex(new ByteArrayInputStream(this.graphson), Attachable::get, Attachable::get, Direction.BOTH);
+    }
+
+    private byte[] write(final VertexWriter writer) throws IOException {
+        this.outputStream.reset();
+        writer.write(this.outputStream, this.starGraph.getStarVertex(), Direction.BOTH);
+        return this.outputStream.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface VertexWriter {
+        public void write(final ByteArrayOutputStream outputStream, final Vertex vertex, final Direction direction) throws IOException;
+    }
+}
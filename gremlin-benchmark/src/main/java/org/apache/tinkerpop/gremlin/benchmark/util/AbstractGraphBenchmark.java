@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The base for benchmarks that traverse a {@link TinkerGraph}.  The graph is generated from a fixed seed so that it
+ * is the same for every run: "person" vertices that "know" other people and "created" "software" vertices.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public abstract class AbstractGraphBenchmark {
+
+    private static final long SEED = 8675309l;
+
+    /**
+     * The number of "person" vertices in the graph.  There is one "software" vertex for every ten people.
+     */
+    @Param({"1000"})
+    protected int people;
+
+    /**
+     * The number of "knows" edges out of each "person" vertex.
+     */
+    @Param({"5"})
+    protected int knows;
+
+    protected Graph graph;
+    protected GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void setupGraph() {
+        this.graph = TinkerGraph.open();
+        generate(this.graph, this.people, this.knows);
+        this.g = this.graph.traversal();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownGraph() throws Exception {
+        this.graph.close();
+    }
+
+    public static void generate(final Graph graph, final int people, final int knows) {
+        final Random random = new Random(SEED);
+        final List<Vertex> persons = new ArrayList<>(people);
+        final List<Vertex> software = new ArrayList<>(Math.max(1, people / 10));
+        for (int i = 0; i < people; i++) {
+            persons.add(graph.addVertex(T.label, "person", "name", "person" + i, "age", 18 + random.nextInt(60)));
+        }
+        for (int i = 0; i < Math.max(1, people / 10); i++) {
+            software.add(graph.addVertex(T.label, "software", "name", "software" + i, "lang", random.nextBoolean() ? "java" : "groovy"));
+        }
+
+        for (final Vertex person : persons) {
+            for (int i = 0; i < knows; i++) {
+                person.addEdge("knows", persons.get(random.nextInt(persons.size())), "weight", random.nextDouble());
+            }
+            for (int i = 0; i < 2; i++) {
+                person.addEdge("created", software.get(random.nextInt(software.size())), "weight", random.nextDouble());
+            }
+        }
+    }
+}
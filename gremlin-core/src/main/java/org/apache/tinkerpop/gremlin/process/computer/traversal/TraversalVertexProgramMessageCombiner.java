@@ -35,6 +35,11 @@ public final class TraversalVertexProgramMessageCombiner implements MessageCombi
     }
 
     public TraverserSet<?> combine(final TraverserSet<?> messageA, final TraverserSet<?> messageB) {
+        // merge the smaller set into the larger so that combining a batched message costs the size of the smaller
+        if (messageA.size() < messageB.size()) {
+            messageB.addAll((TraverserSet) messageA);
+            return messageB;
+        }
         messageA.addAll((TraverserSet) messageB);
         return messageA;
     }
@@ -31,6 +31,8 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -54,6 +56,10 @@ public final class TraverserExecutor {
             });
         });
 
+        // traversers leaving the vertex are gathered by the vertex hosting them so that each hosting vertex gets a
+        // single message in which equal traversers have their bulks merged
+        final Map<Vertex, TraverserSet<Object>> outgoingTraversers = new HashMap<>();
+
         // while there are still local traversers, process them until they leave the vertex or halt (i.e. isHalted()).
         final TraverserSet<Object> toProcessTraversers = new TraverserSet<>();
         while (!aliveTraversers.isEmpty()) {
@@ -65,7 +71,7 @@ public final class TraverserExecutor {
                     if (!vertex.equals(hostingVertex)) { // necessary for path access
                         voteToHalt.set(false);
                         traverser.detach();
-                        messenger.sendMessage(MessageScope.Global.of(hostingVertex), new TraverserSet<>(traverser));
+                        outgoingTraversers.computeIfAbsent(hostingVertex, v -> new TraverserSet<>()).add(traverser);
                     } else {
                         if (traverser.get() instanceof Attachable)   // necessary for path access to local object
                             traverser.attach(Attachable.Method.get(vertex));
@@ -91,6 +97,8 @@ public final class TraverserExecutor {
 
             toProcessTraversers.clear();
         }
+
+        outgoingTraversers.forEach((hostingVertex, traverserSet) -> messenger.sendMessage(MessageScope.Global.of(hostingVertex), traverserSet));
         return voteToHalt.get();
     }
 
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalSte
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderRangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -38,6 +39,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -52,6 +54,7 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Traver
     private Optional<CollectingBarrierStep<?>> collectingBarrierStep = Optional.empty();
     private Optional<RangeGlobalStep<?>> rangeGlobalStep = Optional.empty();
     private Optional<TailGlobalStep<?>> tailGlobalStep = Optional.empty();
+    private Optional<OrderRangeGlobalStep<?>> orderRangeGlobalStep = Optional.empty();
     private boolean dedupGlobal = false;
 
     private TraverserMapReduce() {
@@ -77,6 +80,8 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Traver
             this.rangeGlobalStep = Optional.of(((RangeGlobalStep) traversalEndStep).clone());
         if (traversalEndStep instanceof TailGlobalStep)
             this.tailGlobalStep = Optional.of(((TailGlobalStep) traversalEndStep).clone());
+        if (traversalEndStep instanceof OrderRangeGlobalStep)
+            this.orderRangeGlobalStep = Optional.of(((OrderRangeGlobalStep) traversalEndStep).clone());
         if (traversalEndStep instanceof DedupGlobalStep)
             this.dedupGlobal = true;
 
@@ -84,7 +89,7 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Traver
 
     @Override
     public boolean doStage(final Stage stage) {
-        return stage.equals(Stage.MAP) || this.collectingBarrierStep.isPresent() || this.rangeGlobalStep.isPresent() || this.tailGlobalStep.isPresent() || this.dedupGlobal;
+        return stage.equals(Stage.MAP) || this.collectingBarrierStep.isPresent() || this.rangeGlobalStep.isPresent() || this.tailGlobalStep.isPresent() || this.orderRangeGlobalStep.isPresent() || this.dedupGlobal;
     }
 
     @Override
@@ -107,6 +112,11 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Traver
 
     @Override
     public void reduce(final Comparable comparable, final Iterator<Traverser<?>> values, final ReduceEmitter<Comparable, Traverser<?>> emitter) {
+        if (this.orderRangeGlobalStep.isPresent()) {
+            // only the top of each partition can be in the top of the whole so that is all that moves on
+            this.orderRangeGlobalStep.get().top((Iterator) values).forEach(emitter::emit);
+            return;
+        }
         final TraverserSet<?> traverserSet = new TraverserSet<>();
         while (values.hasNext()) {
             traverserSet.add((Traverser.Admin) values.next().asAdmin());
@@ -128,6 +138,9 @@ public final class TraverserMapReduce extends StaticMapReduce<Comparable, Traver
             rangeGlobalStep.setBypass(false);
             rangeGlobalStep.addStarts(IteratorUtils.map(keyValues, keyValue -> (Traverser) keyValue.getValue()));
             return (Iterator) rangeGlobalStep;
+        } else if (this.orderRangeGlobalStep.isPresent()) {
+            final OrderRangeGlobalStep<?> orderRangeGlobalStep = this.orderRangeGlobalStep.get();
+            return (Iterator) orderRangeGlobalStep.range((List) orderRangeGlobalStep.top(IteratorUtils.map(keyValues, keyValue -> (Traverser) keyValue.getValue())));
         } else if (this.tailGlobalStep.isPresent()) {
             final TailGlobalStep<?> tailGlobalStep = this.tailGlobalStep.get();
             tailGlobalStep.setBypass(false);
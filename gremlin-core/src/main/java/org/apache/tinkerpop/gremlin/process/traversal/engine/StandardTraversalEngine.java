@@ -18,23 +18,64 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.engine;
 
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
-import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.LambdaSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConjunctionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ElementIdStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
+ * The {@link TraversalEngine} which executes a traversal as an iterator over its steps.  By default a traversal is
+ * executed on the thread that iterates it.  If the engine is built with more than one worker, the steps between the
+ * start of a traversal and its first barrier are executed by that many threads at once, each on its own share of
+ * the starts, as decided by the {@link ParallelStrategy}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class StandardTraversalEngine implements TraversalEngine {
 
-    private static final StandardTraversalEngine INSTANCE = new StandardTraversalEngine();
+    private static final StandardTraversalEngine INSTANCE = new StandardTraversalEngine(1);
 
-    private StandardTraversalEngine() {
+    // engines with the same number of workers share a pool whose idle threads are let go by the pool itself
+    private static final Map<Integer, ForkJoinPool> WORKER_POOLS = new ConcurrentHashMap<>();
 
+    private final int workers;
+
+    private StandardTraversalEngine(final int workers) {
+        this.workers = workers;
     }
 
     @Override
@@ -47,8 +88,22 @@ public final class StandardTraversalEngine implements TraversalEngine {
         return Optional.empty();
     }
 
+    /**
+     * Gets the number of threads that may execute a traversal at once.
+     */
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    /**
+     * Gets the pool that the workers of a parallel traversal are run in.
+     */
+    public ForkJoinPool getWorkerPool() {
+        return WORKER_POOLS.computeIfAbsent(this.workers, ForkJoinPool::new);
+    }
+
     public static Builder build() {
-        return Builder.INSTANCE;
+        return new Builder();
     }
 
     public static StandardTraversalEngine instance() {
@@ -62,11 +117,144 @@ public final class StandardTraversalEngine implements TraversalEngine {
 
     public final static class Builder implements TraversalEngine.Builder {
 
-        private static final Builder INSTANCE = new Builder();
+        private static final List<TraversalStrategy> PARALLEL_STRATEGIES = Collections.singletonList(ParallelStrategy.instance());
+
+        private int workers = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of threads that may execute a traversal at once, which defaults to one.
+         */
+        public Builder workers(final int workers) {
+            if (workers < 1)
+                throw new IllegalArgumentException("The number of workers must be greater than zero: " + workers);
+            this.workers = workers;
+            return this;
+        }
+
+        @Override
+        public List<TraversalStrategy> getWithStrategies() {
+            return this.workers > 1 ? PARALLEL_STRATEGIES : Collections.emptyList();
+        }
 
         @Override
         public TraversalEngine create(final Graph graph) {
-            return StandardTraversalEngine.INSTANCE;
+            return 1 == this.workers ? StandardTraversalEngine.INSTANCE : new StandardTraversalEngine(this.workers);
+        }
+    }
+
+    ////
+
+    /**
+     * Moves the steps between the start {@link GraphStep} of a traversal and its first barrier into a
+     * {@link ParallelStep}, so that the workers of the engine each execute a clone of them.  The barrier itself is
+     * moved as well if it is a {@link ReducingBarrierStep} whose partial reductions can be combined.  Any filters
+     * right after the start step are left in place for the graph provider to fold into it.  A traversal is left as it
+     * is if the steps would depend on seeing every traverser (such as {@code dedup()} or {@code limit()}), if they
+     * write side-effects or mutate the graph, or if it has no barrier to wait on all the workers.  The order of the
+     * traversers between the start step and the barrier is not kept.
+     */
+    public static class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy> implements TraversalStrategy.DecorationStrategy {
+
+        private static final ParallelStrategy INSTANCE = new ParallelStrategy();
+        private static final Set<Class<? extends DecorationStrategy>> PRIORS = new HashSet<>();
+        private static final Set<Class<? extends DecorationStrategy>> POSTS = new HashSet<>();
+
+        static {
+            // infix and()/or() must be resolved before the steps around them are split up
+            PRIORS.add(ConjunctionStrategy.class);
+            // these decorate child traversals as well and so would otherwise decorate the moved steps twice
+            POSTS.add(ElementIdStrategy.class);
+            POSTS.add(EventStrategy.class);
+            POSTS.add(PartitionStrategy.class);
+            POSTS.add(SubgraphStrategy.class);
+        }
+
+        private ParallelStrategy() {
+        }
+
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+            if (!(traversal.getParent() instanceof EmptyStep) ||
+                    !(traversal.getEngine() instanceof StandardTraversalEngine) ||
+                    ((StandardTraversalEngine) traversal.getEngine()).getWorkers() < 2 ||
+                    !(traversal.getStartStep() instanceof GraphStep) ||
+                    TraversalHelper.hasStepOfAssignableClassRecursively(ProfileStep.class, traversal))
+                return;
+
+            final List<Step> steps = traversal.getSteps();
+            int start = 1;
+            while (start < steps.size() && steps.get(start) instanceof HasContainerHolder) {
+                start++;
+            }
+
+            int end = start;
+            while (end < steps.size() && !isBarrier(steps.get(end))) {
+                if (!isParallelizable(steps.get(end), true))
+                    return;
+                end++;
+            }
+            if (end == start || end == steps.size())
+                return;
+
+            final Step<?, ?> barrier = steps.get(end);
+            final boolean combinable = barrier instanceof ReducingBarrierStep && ((ReducingBarrierStep<?, ?>) barrier).getCombiner().isPresent();
+            if (combinable)
+                end++;
+
+            final Traversal.Admin<?, ?> segment = __.start().asAdmin();
+            for (final Step<?, ?> step : new ArrayList<>(steps.subList(start, end))) {
+                segment.addStep(step);
+                traversal.removeStep(step);
+            }
+
+            final ParallelStep<?, ?> parallelStep = new ParallelStep<>(traversal, segment);
+            if (combinable)
+                barrier.getLabels().forEach(parallelStep::addLabel);
+            traversal.addStep(start, parallelStep);
+        }
+
+        private static boolean isBarrier(final Step<?, ?> step) {
+            return step instanceof ReducingBarrierStep || step instanceof CollectingBarrierStep;
+        }
+
+        // a step in a global child sees the traversers of all starts, as do the steps of the traversal itself
+        private static boolean isParallelizable(final Step<?, ?> step, final boolean global) {
+            if (step instanceof Mutating || step instanceof SideEffectCapable || step instanceof LambdaSideEffectStep)
+                return false;
+            if (global && (step instanceof Ranging || step instanceof DedupGlobalStep))
+                return false;
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
+                    for (final Step<?, ?> childStep : globalChild.getSteps()) {
+                        if ((global && isBarrier(childStep)) || !isParallelizable(childStep, global))
+                            return false;
+                    }
+                }
+                for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
+                    for (final Step<?, ?> childStep : localChild.getSteps()) {
+                        if (!isParallelizable(childStep, false))
+                            return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Set<Class<? extends DecorationStrategy>> applyPrior() {
+            return PRIORS;
+        }
+
+        @Override
+        public Set<Class<? extends DecorationStrategy>> applyPost() {
+            return POSTS;
+        }
+
+        public static ParallelStrategy instance() {
+            return INSTANCE;
         }
     }
 }
@@ -22,22 +22,30 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Bypassing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ExactDuplicateSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
+ * Filters out the traversers whose objects (or the result of their local child traversal) have already been seen.
+ * What has been seen is held by a {@link DuplicateSet} from the supplier of the step, which is an
+ * {@link ExactDuplicateSet} unless otherwise set, for example by
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.DedupStrategy}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Bypassing {
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
-    private Set<Object> duplicateSet = new HashSet<>();
+    private Supplier<DuplicateSet> duplicateSetSupplier = ExactDuplicateSet.supplier();
+    private transient DuplicateSet duplicateSet = null;
     private boolean bypass = false;
 
     public DedupGlobalStep(final Traversal.Admin traversal) {
@@ -48,10 +56,23 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.bypass) return true;
         traverser.setBulk(1);
+        if (null == this.duplicateSet)
+            this.duplicateSet = this.duplicateSetSupplier.get();
         return this.duplicateSet.add(null == this.dedupTraversal ? traverser.get() : TraversalUtil.apply(traverser, this.dedupTraversal));
     }
 
 
+    public void setDuplicateSetSupplier(final Supplier<DuplicateSet> duplicateSetSupplier) {
+        if (null != this.duplicateSet)
+            this.duplicateSet.clear();
+        this.duplicateSet = null;
+        this.duplicateSetSupplier = duplicateSetSupplier;
+    }
+
+    public Supplier<DuplicateSet> getDuplicateSetSupplier() {
+        return this.duplicateSetSupplier;
+    }
+
     @Override
     public List<Traversal<S, Object>> getLocalChildren() {
         return null == this.dedupTraversal ? Collections.emptyList() : Collections.singletonList(this.dedupTraversal);
@@ -65,7 +86,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = clone.integrateChild(this.dedupTraversal.clone());
         return clone;
@@ -82,7 +103,8 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public void reset() {
         super.reset();
-        this.duplicateSet.clear();
+        if (null != this.duplicateSet)
+            this.duplicateSet.clear();
     }
 
     @Override
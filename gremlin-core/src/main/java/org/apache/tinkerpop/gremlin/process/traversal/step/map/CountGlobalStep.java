@@ -48,6 +48,7 @@ public final class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> imple
         super(traversal);
         this.setSeedSupplier(new ConstantSupplier<>(0L));
         this.setBiFunction(CountBiFunction.<S>instance());
+        this.setCombiner(Long::sum);
     }
 
 
@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.util.function.ArrayListSupplier;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -40,6 +41,11 @@ public final class FoldStep<S, E> extends ReducingBarrierStep<S, E> {
 
     public FoldStep(final Traversal.Admin traversal) {
         this(traversal, (Supplier) ArrayListSupplier.instance(), (BiFunction) ArrayListBiFunction.instance());
+        // only the default fold is known to be combinable, although in the order in which the parts are combined
+        this.setCombiner((a, b) -> {
+            ((List) a).addAll((List) b);
+            return a;
+        });
     }
 
     public FoldStep(final Traversal.Admin traversal, final Supplier<E> seed, final BiFunction<E, S, E> foldFunction) {
@@ -50,6 +50,10 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
         super(traversal);
         this.setSeedSupplier(HashMapSupplier.instance());
         this.setBiFunction(new GroupCountBiFunction());
+        this.setCombiner((a, b) -> {
+            b.forEach((key, count) -> MapHelper.incr(a, key, count));
+            return a;
+        });
     }
 
 
@@ -78,6 +82,8 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
         final GroupCountStep<S, E> clone = (GroupCountStep<S, E>) super.clone();
         if (null != this.groupTraversal)
             clone.groupTraversal = clone.integrateChild(this.groupTraversal.clone());
+        // the function is bound to the step it was created by and so to that step's group traversal
+        clone.setBiFunction(clone.new GroupCountBiFunction());
         return clone;
     }
 
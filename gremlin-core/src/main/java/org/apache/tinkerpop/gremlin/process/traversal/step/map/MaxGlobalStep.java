@@ -46,6 +46,7 @@ public final class MaxGlobalStep<S extends Number> extends ReducingBarrierStep<S
         super(traversal);
         this.setSeedSupplier(new ConstantSupplier<>(null));
         this.setBiFunction(MaxGlobalBiFunction.<S>instance());
+        this.setCombiner((a, b) -> null == a || (null != b && b.doubleValue() > a.doubleValue()) ? b : a);
     }
 
     @Override
@@ -50,6 +50,7 @@ public final class MeanGlobalStep<S extends Number, E extends Number> extends Re
         super(traversal);
         this.setSeedSupplier((Supplier) MeanNumberSupplier.instance());
         this.setBiFunction((BiFunction) MeanGlobalBiFunction.instance());
+        this.setCombiner((a, b) -> (E) ((MeanNumber) a).add((MeanNumber) b));
     }
 
     @Override
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Bypassing;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.TraversalComparator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.function.ChainedComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The fusion of an {@link OrderGlobalStep} and the {@link org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep}
+ * that follows it.  Rather than sorting every traverser, it keeps a bounded heap of the best traversers whose bulk
+ * covers the high end of the range, so that {@code order().limit(k)} takes O(k) memory and O(n log k) time.
+ * {@link #top} may be applied to partial results and again to their union, which is how the step is merged under
+ * a {@code GraphComputer}.
+ *
+ * @author agent (agent@local)
+ */
+public final class OrderRangeGlobalStep<S> extends AbstractStep<S, S> implements ComparatorHolder<S>, TraversalParent, Ranging, Bypassing {
+
+    private final List<Comparator<S>> comparators = new ArrayList<>();
+    private final long low;
+    private final long high;
+    private boolean bypass = false;
+    private Iterator<Traverser.Admin<S>> results = EmptyIterator.instance();
+
+    public OrderRangeGlobalStep(final Traversal.Admin traversal, final long low, final long high) {
+        super(traversal);
+        if (low < 0 || high < low)
+            throw new IllegalArgumentException("Not a legal range for ordered traversers: [" + low + ", " + high + ']');
+        this.low = low;
+        this.high = high;
+    }
+
+    @Override
+    protected Traverser<S> processNextStart() {
+        if (this.bypass)
+            return this.starts.next();
+
+        if (!this.results.hasNext() && this.starts.hasNext())
+            this.results = this.range(this.top(this.starts));
+        if (this.results.hasNext())
+            return this.results.next();
+
+        throw FastNoSuchElementException.instance();
+    }
+
+    /**
+     * Gets the traversers that sort first, in order, such that their bulk covers the high end of the range.  The
+     * result of applying this to the union of previous results is the same as applying it to all the traversers.
+     */
+    public List<Traverser.Admin<S>> top(final Iterator<? extends Traverser<S>> traversers) {
+        if (0 == this.high) {
+            traversers.forEachRemaining(t -> {});
+            return Collections.emptyList();
+        }
+
+        // ties go to the traverser seen first as they would with the stable sort of OrderGlobalStep
+        final Comparator<Traverser<S>> traverserComparator = this.traverserComparator();
+        final Comparator<Ranked<S>> rankedComparator = (a, b) -> {
+            final int comparison = traverserComparator.compare(a.traverser, b.traverser);
+            return 0 != comparison ? comparison : Long.compare(a.sequence, b.sequence);
+        };
+
+        // the worst of the kept traversers is at the head of the heap so that it is the one compared and dropped
+        final PriorityQueue<Ranked<S>> heap = new PriorityQueue<>(11, rankedComparator.reversed());
+        long bulk = 0l;
+        long sequence = 0l;
+        while (traversers.hasNext()) {
+            final Ranked<S> ranked = new Ranked<>(traversers.next().asAdmin(), sequence++);
+            if (bulk >= this.high && rankedComparator.compare(ranked, heap.peek()) >= 0)
+                continue;
+
+            heap.add(ranked);
+            bulk = bulk + ranked.traverser.bulk();
+            while (bulk - heap.peek().traverser.bulk() >= this.high) {
+                bulk = bulk - heap.poll().traverser.bulk();
+            }
+        }
+
+        final List<Ranked<S>> sorted = new ArrayList<>(heap);
+        sorted.sort(rankedComparator);
+        return sorted.stream().map(ranked -> ranked.traverser).collect(Collectors.toList());
+    }
+
+    /**
+     * Skips to the low end of the range and trims to the high end of the range the traversers given by {@link #top}.
+     */
+    public Iterator<Traverser.Admin<S>> range(final List<Traverser.Admin<S>> top) {
+        final List<Traverser.Admin<S>> ranged = new ArrayList<>();
+        long counter = 0l;
+        for (final Traverser.Admin<S> traverser : top) {
+            if (counter >= this.high)
+                break;
+
+            final long bulk = traverser.bulk();
+            final long toEmit = Math.min(bulk, this.high - counter) - Math.max(0l, this.low - counter);
+            counter = counter + bulk;
+            if (toEmit > 0) {
+                traverser.setBulk(toEmit);
+                ranged.add(traverser);
+            }
+        }
+        return ranged.iterator();
+    }
+
+    private Comparator<Traverser<S>> traverserComparator() {
+        final Comparator<S> comparator = this.comparators.isEmpty() ? (Comparator) Order.incr : new ChainedComparator<>(this.comparators);
+        return (traverserA, traverserB) -> comparator.compare(traverserA.get(), traverserB.get());
+    }
+
+    @Override
+    public void setBypass(final boolean bypass) {
+        this.bypass = bypass;
+    }
+
+    @Override
+    public long getLowRange() {
+        return this.low;
+    }
+
+    @Override
+    public long getHighRange() {
+        return this.high;
+    }
+
+    @Override
+    public void addComparator(final Comparator<S> comparator) {
+        if (comparator instanceof TraversalComparator)
+            this.integrateChild(((TraversalComparator) comparator).getTraversal());
+        this.comparators.add(comparator);
+    }
+
+    @Override
+    public List<Comparator<S>> getComparators() {
+        return this.comparators.isEmpty() ? Collections.singletonList((Comparator) Order.incr) : Collections.unmodifiableList(this.comparators);
+    }
+
+    @Override
+    public <S, E> List<Traversal.Admin<S, E>> getLocalChildren() {
+        return Collections.unmodifiableList(this.comparators.stream()
+                .filter(comparator -> comparator instanceof TraversalComparator)
+                .map(traversalComparator -> ((TraversalComparator<S, E>) traversalComparator).getTraversal())
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void addLocalChild(final Traversal.Admin<?, ?> localChildTraversal) {
+        throw new UnsupportedOperationException("Use OrderRangeGlobalStep.addComparator(" + TraversalComparator.class.getSimpleName() + ") to add a local child traversal:" + this);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements(TraverserRequirement.OBJECT, TraverserRequirement.BULK);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.results = EmptyIterator.instance();
+    }
+
+    @Override
+    public OrderRangeGlobalStep<S> clone() {
+        final OrderRangeGlobalStep<S> clone = (OrderRangeGlobalStep<S>) super.clone();
+        clone.results = EmptyIterator.instance();
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.comparators, this.low, this.high);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ Long.hashCode(this.low) ^ Long.hashCode(this.high) ^ Boolean.hashCode(this.bypass);
+        for (final Comparator<S> comparator : this.comparators) {
+            result ^= comparator.hashCode();
+        }
+        return result;
+    }
+
+    private static final class Ranked<S> {
+        private final Traverser.Admin<S> traverser;
+        private final long sequence;
+
+        private Ranked(final Traverser.Admin<S> traverser, final long sequence) {
+            this.traverser = traverser;
+            this.sequence = sequence;
+        }
+    }
+}
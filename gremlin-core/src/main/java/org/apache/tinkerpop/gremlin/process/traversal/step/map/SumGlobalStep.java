@@ -51,6 +51,7 @@ public final class SumGlobalStep extends ReducingBarrierStep<Number, Double> imp
         super(traversal);
         this.setSeedSupplier(new ConstantSupplier<>(0.0d));
         this.setBiFunction(SumGlobalBiFunction.instance());
+        this.setCombiner(Double::sum);
     }
 
 
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map.match;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An Enumerator which joins the solutions of two other Enumerators on their shared variables.
+ * The right Enumerator is exhausted once and its solutions indexed by the values of the shared variables,
+ * after which each solution of the left Enumerator is matched against the index rather than against every
+ * solution of the right, as a {@link CrossJoinEnumerator} filtered by an {@link InnerJoinEnumerator} would.
+ * The left Enumerator is only expanded as far as the requested solutions require.
+ *
+ * @author agent (agent@local)
+ */
+public class HashJoinEnumerator<T> implements Enumerator<T> {
+    private final Enumerator<T> left;
+    private final Enumerator<T> right;
+    private final List<String> joinVariables;
+
+    private Map<List<T>, List<Map<String, T>>> index;
+    // the solutions found so far, as pairs of a left solution and a right solution which agrees with it
+    private final List<Map<String, T>> leftMatches = new ArrayList<>();
+    private final List<Map<String, T>> rightMatches = new ArrayList<>();
+    private int leftIndex = 0;
+    private boolean leftExhausted = false;
+
+    public HashJoinEnumerator(final Enumerator<T> left,
+                              final Enumerator<T> right,
+                              final Set<String> joinVariables) {
+        this.left = left;
+        this.right = right;
+        this.joinVariables = new ArrayList<>(joinVariables);
+        Collections.sort(this.joinVariables);
+    }
+
+    public int size() {
+        return leftMatches.size();
+    }
+
+    public boolean visitSolution(final int index,
+                                 final BiConsumer<String, T> visitor) {
+        while (index >= leftMatches.size()) {
+            if (!advance()) {
+                return false;
+            }
+        }
+
+        final Map<String, T> leftSolution = leftMatches.get(index);
+        leftSolution.forEach(visitor);
+        rightMatches.get(index).forEach((name, value) -> {
+            if (!leftSolution.containsKey(name)) {
+                visitor.accept(name, value);
+            }
+        });
+        return true;
+    }
+
+    // matches the next solution of the left enumerator, returning false if there are no more
+    private boolean advance() {
+        if (leftExhausted) {
+            return false;
+        }
+        if (null == index) {
+            buildIndex();
+        }
+
+        final Map<String, T> leftSolution = new HashMap<>();
+        if (!left.visitSolution(leftIndex++, leftSolution::put)) {
+            leftExhausted = true;
+            return false;
+        }
+
+        final List<T> key = key(leftSolution);
+        if (null != key) {
+            final List<Map<String, T>> matches = index.get(key);
+            if (null != matches) {
+                for (final Map<String, T> rightSolution : matches) {
+                    leftMatches.add(leftSolution);
+                    rightMatches.add(rightSolution);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void buildIndex() {
+        index = new HashMap<>();
+        int i = 0;
+        while (true) {
+            final Map<String, T> rightSolution = new HashMap<>();
+            if (!right.visitSolution(i++, rightSolution::put)) {
+                break;
+            }
+
+            final List<T> key = key(rightSolution);
+            if (null != key) {
+                List<Map<String, T>> solutions = index.get(key);
+                if (null == solutions) {
+                    solutions = new ArrayList<>(1);
+                    index.put(key, solutions);
+                }
+                solutions.add(rightSolution);
+            }
+        }
+    }
+
+    // the values of the join variables in the solution, or null if it does not bind them all
+    private List<T> key(final Map<String, T> solution) {
+        final List<T> key = new ArrayList<>(joinVariables.size());
+        for (final String variable : joinVariables) {
+            final T value = solution.get(variable);
+            if (null == value) {
+                return null;
+            }
+            key.add(value);
+        }
+        return key;
+    }
+}
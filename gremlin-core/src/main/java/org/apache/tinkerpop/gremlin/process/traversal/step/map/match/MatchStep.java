@@ -24,6 +24,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
@@ -42,6 +45,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Stack;
+import java.util.TreeSet;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -56,15 +60,18 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
 
     private static final String ANON_LABEL_PREFIX = "_";
 
-    // optimize before processing each start object, by default
+    // by default, optimize before the first start object and then after twice as many starts each time,
+    // as the gathered statistics change less with every start, up to a limit of MAX_STARTS_PER_OPTIMIZE
     private static final int DEFAULT_STARTS_PER_OPTIMIZE = 1;
+    private static final int MAX_STARTS_PER_OPTIMIZE = 1024;
 
     private final String startLabel;
     private final Map<String, List<TraversalWrapper<S, S>>> traversalsByStartAs;
     private final List<Traversal<?,?>> traversals = new ArrayList<>();
 
     private int startsPerOptimize = DEFAULT_STARTS_PER_OPTIMIZE;
-    private int optimizeCounter = -1;
+    private boolean adaptiveStartsPerOptimize = true;
+    private int startsUntilOptimize = 0;
     private int anonLabelCounter = 0;
 
     private Enumerator<S> currentSolution;
@@ -122,11 +129,19 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         checkSolvability();
     }
 
+    /**
+     * Sets a fixed number of start objects to process between optimizations of the query plan,
+     * in place of the default, which optimizes less often as more start objects are processed.
+     *
+     * @param startsPerOptimize the number of starts per optimization, where 1 optimizes before each start
+     */
     public void setStartsPerOptimize(final int startsPerOptimize) {
         if (startsPerOptimize < 1) {
             throw new IllegalArgumentException();
         }
         this.startsPerOptimize = startsPerOptimize;
+        this.adaptiveStartsPerOptimize = false;
+        this.startsUntilOptimize = Math.min(this.startsUntilOptimize, startsPerOptimize - 1);
     }
 
     @Override
@@ -138,9 +153,12 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         while (true) { // break out when the current solution is exhausted and there are no more starts
             if (null == this.currentSolution) {
                 if (this.starts.hasNext()) {
-                    this.optimizeCounter = (this.optimizeCounter + 1) % this.startsPerOptimize;
-                    if (0 == this.optimizeCounter) {
+                    if (0 == this.startsUntilOptimize--) {
                         optimize();
+                        this.startsUntilOptimize = this.startsPerOptimize - 1;
+                        if (this.adaptiveStartsPerOptimize) {
+                            this.startsPerOptimize = Math.min(this.startsPerOptimize * 2, MAX_STARTS_PER_OPTIMIZE);
+                        }
                     }
 
                     this.currentStart = this.starts.next();
@@ -181,13 +199,22 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             visited.add(outLabel);
             final List<TraversalWrapper<S, S>> outs = traversalsByStartAs.get(outLabel);
             if (null != outs) {
+                final Set<String> leftLabels = new HashSet<>();
                 for (final TraversalWrapper<S, S> w : outs) {
+                    final Set<String> rightLabels = new HashSet<>();
+                    addVariables(w.endLabel, rightLabels);
+
                     for (int i = 0; i < indent; i++) sb.append('\t');
                     sb.append(outLabel).append("->").append(w.endLabel).append(":\t");
                     sb.append(findCost(w));
                     sb.append('\t').append(w);
+                    if (!leftLabels.isEmpty()) {
+                        final Set<String> shared = findSharedVariables(leftLabels, rightLabels);
+                        sb.append('\t').append(shared.isEmpty() ? "cross join" : "hash join on " + shared);
+                    }
                     sb.append('\n');
                     summarize(w.endLabel, sb, visited, indent + 1);
+                    leftLabels.addAll(rightLabels);
                 }
             }
         }
@@ -320,15 +347,24 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
                                                final Enumerator<T> right,
                                                final Set<String> leftLabels,
                                                final Set<String> rightLabels) {
-        Set<String> shared = new HashSet<>();
+        Set<String> shared = findSharedVariables(leftLabels, rightLabels);
+
+        // solutions which must agree on shared variables are matched through an index on those variables,
+        // rather than by filtering every combination of left and right solutions
+        return shared.size() > 0
+                ? new HashJoinEnumerator<>(left, right, shared)
+                : new CrossJoinEnumerator<>(left, right);
+    }
+
+    private static Set<String> findSharedVariables(final Set<String> leftLabels,
+                                                   final Set<String> rightLabels) {
+        Set<String> shared = new TreeSet<>();
         for (String s : rightLabels) {
             if (leftLabels.contains(s)) {
                 shared.add(s);
             }
         }
-
-        Enumerator<T> cj = new CrossJoinEnumerator<>(left, right);
-        return shared.size() > 0 ? new InnerJoinEnumerator<>(cj, shared) : cj;
+        return shared;
     }
 
     // recursively add all non-anonymous variables from a starting point in the query
@@ -442,8 +478,13 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
     // Priority in turn affects branch factor.
     // However, with sufficient inputs and optimizations,the branch factor is expected to converge on a stable value.
     public static class TraversalWrapper<A, B> implements Comparable<TraversalWrapper<A, B>> {
+        // assumed selectivity of a filter and fan-out of a flatMap, in the absence of gathered statistics
+        private static final double FILTER_SELECTIVITY = 0.5;
+        private static final double FLATMAP_FAN_OUT = 10;
+
         private final Traversal<A, B> traversal;
         private final String startLabel, endLabel;
+        private final double estimatedBranchFactor;
         private int totalInputs = 0;
         private int totalOutputs = 0;
         private double orderingFactor;
@@ -454,6 +495,7 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             this.traversal = traversal;
             this.startLabel = startLabel;
             this.endLabel = endLabel;
+            this.estimatedBranchFactor = estimateBranchFactor(traversal);
         }
 
         public void incrementInputs() {
@@ -470,9 +512,34 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             return 0 == this.totalInputs ? 1 : this.totalOutputs / ((double) this.totalInputs);
         }
 
+        /**
+         * @return a branch factor for the traversal based only on the kinds of steps it contains,
+         * which puts filters ahead of expansions until statistics have been gathered
+         */
+        public double getEstimatedBranchFactor() {
+            return this.estimatedBranchFactor;
+        }
+
         @Override
         public int compareTo(final TraversalWrapper<A, B> other) {
-            return ((Double) this.orderingFactor).compareTo(other.orderingFactor);
+            // traversals which have not yet been tried (or which are otherwise tied) are ordered by their estimates
+            final int comparison = Double.compare(this.orderingFactor, other.orderingFactor);
+            return 0 != comparison ? comparison : Double.compare(this.estimatedBranchFactor, other.estimatedBranchFactor);
+        }
+
+        private static double estimateBranchFactor(final Traversal<?, ?> traversal) {
+            double estimate = 1.0;
+            for (final Step<?, ?> step : traversal.asAdmin().getSteps()) {
+                if (step instanceof FilterStep) {
+                    estimate *= FILTER_SELECTIVITY;
+                } else if (step instanceof FlatMapStep) {
+                    // an expansion restricted to edge labels is expected to reach fewer elements
+                    estimate *= step instanceof VertexStep && ((VertexStep) step).getEdgeLabels().length > 0
+                            ? FLATMAP_FAN_OUT * FILTER_SELECTIVITY
+                            : FLATMAP_FAN_OUT;
+                }
+            }
+            return estimate;
         }
 
         public Traversal<A, B> getTraversal() {
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DuplicateSet} that holds a Bloom filter of the objects it is given rather than the objects, so its memory
+ * is fixed by the expected number of distinct objects and the probability of a false positive.  A false positive
+ * takes an object that was not seen for a duplicate, so {@code dedup()} may filter out some distinct objects, and
+ * that probability rises once more distinct objects than expected are added.  It suits analytics that can tolerate
+ * a stated error over a stream of objects too large to hold.
+ *
+ * @author agent (agent@local)
+ */
+public final class ApproximateDuplicateSet implements DuplicateSet {
+
+    private final BloomFilter filter;
+
+    public ApproximateDuplicateSet(final long expectedInsertions, final double falsePositiveProbability) {
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    @Override
+    public boolean add(final Object object) {
+        return this.filter.put(BloomFilter.hash(object));
+    }
+
+    @Override
+    public void clear() {
+        this.filter.clear();
+    }
+
+    public static Supplier<DuplicateSet> supplier(final long expectedInsertions, final double falsePositiveProbability) {
+        BloomFilter.validate(expectedInsertions, falsePositiveProbability);
+        return new ApproximateDuplicateSetSupplier(expectedInsertions, falsePositiveProbability);
+    }
+
+    private static final class ApproximateDuplicateSetSupplier implements Supplier<DuplicateSet>, Serializable {
+        private final long expectedInsertions;
+        private final double falsePositiveProbability;
+
+        private ApproximateDuplicateSetSupplier(final long expectedInsertions, final double falsePositiveProbability) {
+            this.expectedInsertions = expectedInsertions;
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+
+        @Override
+        public DuplicateSet get() {
+            return new ApproximateDuplicateSet(this.expectedInsertions, this.falsePositiveProbability);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+
+/**
+ * A Bloom filter of 64-bit hashes sized for an expected number of insertions and false positive probability.
+ *
+ * @author agent (agent@local)
+ */
+final class BloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final long[] bits;
+    private final long numberOfBits;
+    private final int numberOfHashes;
+
+    BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+        validate(expectedInsertions, falsePositiveProbability);
+        final long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN_2 * LN_2));
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1l, (optimalBits + 63) / 64))];
+        this.numberOfBits = 64l * this.bits.length;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) this.numberOfBits / expectedInsertions * LN_2));
+    }
+
+    static void validate(final long expectedInsertions, final double falsePositiveProbability) {
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("The expected insertions must be greater than zero: " + expectedInsertions);
+        if (falsePositiveProbability <= 0.0d || falsePositiveProbability >= 1.0d)
+            throw new IllegalArgumentException("The false positive probability must be between zero and one: " + falsePositiveProbability);
+    }
+
+    /**
+     * Put the hash into the filter.
+     *
+     * @return true if the filter did not already contain the hash
+     */
+    public boolean put(final long hash) {
+        boolean changed = false;
+        long combinedHash = hash;
+        final long step = mix(hash ^ 0x9E3779B97F4A7C15l) | 1l;
+        for (int i = 0; i < this.numberOfHashes; i++) {
+            final long index = (combinedHash & Long.MAX_VALUE) % this.numberOfBits;
+            final long mask = 1l << index;
+            final int word = (int) (index >>> 6);
+            if (0l == (this.bits[word] & mask)) {
+                this.bits[word] |= mask;
+                changed = true;
+            }
+            combinedHash += step;
+        }
+        return changed;
+    }
+
+    public boolean mightContain(final long hash) {
+        long combinedHash = hash;
+        final long step = mix(hash ^ 0x9E3779B97F4A7C15l) | 1l;
+        for (int i = 0; i < this.numberOfHashes; i++) {
+            final long index = (combinedHash & Long.MAX_VALUE) % this.numberOfBits;
+            if (0l == (this.bits[(int) (index >>> 6)] & (1l << index)))
+                return false;
+            combinedHash += step;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(this.bits, 0l);
+    }
+
+    /**
+     * A 64-bit hash of the object that agrees with its equality.  The hash of an element is that of its kind and
+     * id, and {@code long} and {@link String} objects get a full 64 bits rather than their {@code hashCode()}.
+     */
+    public static long hash(final Object object) {
+        if (object instanceof Element) {
+            final long kind = object instanceof Vertex ? 1l : object instanceof Edge ? 2l : 3l;
+            return mix(hash(((Element) object).id()) * 31l + kind);
+        } else if (object instanceof Long)
+            return mix((Long) object);
+        else if (object instanceof String) {
+            // FNV-1a over the characters of the string
+            long hash = 0xCBF29CE484222325l;
+            final String string = (String) object;
+            for (int i = 0; i < string.length(); i++) {
+                hash = (hash ^ string.charAt(i)) * 0x100000001B3l;
+            }
+            return mix(hash);
+        } else
+            return mix(null == object ? 0l : object.hashCode());
+    }
+
+    private static long mix(long hash) {
+        // the finalizer of MurmurHash3
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDl;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53l;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -31,9 +31,9 @@ import java.util.Set;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> {
-    private TraverserSet<S> traverserSet = new TraverserSet<>();
+    protected TraverserSet<S> traverserSet = new TraverserSet<>();
 
-    private int maxBarrierSize;
+    protected int maxBarrierSize;
 
     public CollectingBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+/**
+ * The objects seen by a {@link org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep}, which
+ * only lets a traverser through when its object is added to the set.  Implementations trade exactness and memory:
+ * {@link ExactDuplicateSet} holds every object, {@link SpillingDuplicateSet} writes them to disk past a threshold
+ * and {@link ApproximateDuplicateSet} holds a Bloom filter that may take a new object for a duplicate.
+ *
+ * @author agent (agent@local)
+ */
+public interface DuplicateSet {
+
+    /**
+     * Add the object to the set.
+     *
+     * @param object the object to add
+     * @return true if the object was not already in the set
+     */
+    public boolean add(final Object object);
+
+    /**
+     * Remove all the objects from the set and release any resources that it holds.
+     */
+    public void clear();
+}
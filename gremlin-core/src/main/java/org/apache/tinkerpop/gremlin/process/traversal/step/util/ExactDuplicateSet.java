@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DuplicateSet} that holds every object it is given.  As elements are equal when they are of the same kind
+ * and have equal ids, elements with {@code long} ids are held by their id in a primitive set for their kind rather
+ * than as objects, which is the common case of {@code dedup()} and takes a fraction of the memory.
+ *
+ * @author agent (agent@local)
+ */
+public final class ExactDuplicateSet implements DuplicateSet {
+
+    private final Set<Object> objects = new HashSet<>();
+    private LongHashSet vertexIds = null;
+    private LongHashSet edgeIds = null;
+    private LongHashSet vertexPropertyIds = null;
+
+    @Override
+    public boolean add(final Object object) {
+        if (object instanceof Element) {
+            final Object id = ((Element) object).id();
+            if (id instanceof Long) {
+                if (object instanceof Vertex) {
+                    if (null == this.vertexIds) this.vertexIds = new LongHashSet();
+                    return this.vertexIds.add((Long) id);
+                } else if (object instanceof Edge) {
+                    if (null == this.edgeIds) this.edgeIds = new LongHashSet();
+                    return this.edgeIds.add((Long) id);
+                } else if (object instanceof VertexProperty) {
+                    if (null == this.vertexPropertyIds) this.vertexPropertyIds = new LongHashSet();
+                    return this.vertexPropertyIds.add((Long) id);
+                }
+            }
+        }
+        return this.objects.add(object);
+    }
+
+    @Override
+    public void clear() {
+        this.objects.clear();
+        if (null != this.vertexIds) this.vertexIds.clear();
+        if (null != this.edgeIds) this.edgeIds.clear();
+        if (null != this.vertexPropertyIds) this.vertexPropertyIds.clear();
+    }
+
+    public static Supplier<DuplicateSet> supplier() {
+        return ExactDuplicateSetSupplier.INSTANCE;
+    }
+
+    private static final class ExactDuplicateSetSupplier implements Supplier<DuplicateSet>, Serializable {
+        private static final ExactDuplicateSetSupplier INSTANCE = new ExactDuplicateSetSupplier();
+
+        private ExactDuplicateSetSupplier() {
+        }
+
+        @Override
+        public DuplicateSet get() {
+            return new ExactDuplicateSet();
+        }
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
+    }
+}
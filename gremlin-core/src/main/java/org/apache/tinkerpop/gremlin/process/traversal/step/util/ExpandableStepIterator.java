@@ -19,19 +19,26 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin<S>>, Serializable {
 
-    private final TraverserSet<S> traverserSet = new TraverserSet<>();
+    private Queue<Traverser.Admin<S>> traverserQueue = null;
     private final MultiIterator<Traverser.Admin<S>> traverserIterators = new MultiIterator<>();
     private final Step<S,?> hostStep;
 
@@ -41,20 +48,23 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     @Override
     public boolean hasNext() {
-        return !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext() || this.traverserIterators.hasNext();
+        return (null != this.traverserQueue && !this.traverserQueue.isEmpty()) || this.hostStep.getPreviousStep().hasNext() || this.traverserIterators.hasNext();
     }
 
     @Override
     public Traverser.Admin<S> next() {
-        if (!this.traverserSet.isEmpty())
-            return this.traverserSet.remove();
+        if (null != this.traverserQueue && !this.traverserQueue.isEmpty())
+            return this.traverserQueue.remove();
         if (this.traverserIterators.hasNext())
             return this.traverserIterators.next();
         /////////////
         if (this.hostStep.getPreviousStep().hasNext())
             return (Traverser.Admin<S>) this.hostStep.getPreviousStep().next();
         /////////////
-        return this.traverserSet.remove();
+        final Traverser.Admin<S> traverser = null == this.traverserQueue ? null : this.traverserQueue.poll();
+        if (null == traverser)
+            throw FastNoSuchElementException.instance();
+        return traverser;
     }
 
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
@@ -62,16 +72,34 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
     }
 
     public void add(final Traverser.Admin<S> traverser) {
-        this.traverserSet.add(traverser);
+        if (null == this.traverserQueue)
+            this.traverserQueue = this.createTraverserQueue();
+        this.traverserQueue.add(traverser);
     }
 
     @Override
     public String toString() {
-        return this.traverserSet.toString();
+        return null == this.traverserQueue ? "[]" : this.traverserQueue.toString();
     }
 
     public void clear() {
         this.traverserIterators.clear();
-        this.traverserSet.clear();
+        if (null != this.traverserQueue)
+            this.traverserQueue.clear();
+    }
+
+    /**
+     * Traversers only merge when they carry a bulk and they rarely equal one another when they carry a path, so
+     * otherwise the traversers are queued without hashing them.  Until the traversal is locked its requirements are
+     * not known, so the merging {@link TraverserSet} is used.
+     */
+    private Queue<Traverser.Admin<S>> createTraverserQueue() {
+        final Traversal.Admin<?, ?> rootTraversal = TraversalHelper.getRootTraversal(this.hostStep.getTraversal());
+        if (!rootTraversal.isLocked())
+            return new TraverserSet<>();
+        final Set<TraverserRequirement> requirements = rootTraversal.getTraverserRequirements();
+        return requirements.contains(TraverserRequirement.BULK) && !requirements.contains(TraverserRequirement.PATH) ?
+                new TraverserSet<>() :
+                new ArrayDeque<>();
     }
 }
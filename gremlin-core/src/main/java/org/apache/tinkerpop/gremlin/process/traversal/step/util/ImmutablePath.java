@@ -22,21 +22,31 @@ import org.apache.tinkerpop.gremlin.process.traversal.Path;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * A path whose steps are linked back to the path it was extended from, so that the traversers split from a traverser
+ * share the path that led to them rather than copying it.  The labels of a step are held in a shared, immutable set
+ * (a single label is interned), which keeps each step of the path to a handful of references.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
 
-    private Path previousPath = HeadPath.instance();
+    private static final int MAX_INTERNED_LABELS = 1024;
+    private static final Map<String, Set<String>> INTERNED_LABELS = new ConcurrentHashMap<>();
+
+    private ImmutablePath previousPath;
     private Object currentObject;
-    private Set<String> currentLabels = new LinkedHashSet<>();
+    private Set<String> currentLabels = Collections.emptySet();
+    private int size;
 
     protected ImmutablePath() {
 
@@ -46,25 +56,38 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         return HeadPath.instance();
     }
 
+    /**
+     * Gets an immutable path of the objects and labels of the provided path.  The provided path is returned as-is
+     * if it is already immutable.
+     */
+    public static Path of(final Path path) {
+        if (path instanceof ImmutablePath || path instanceof HeadPath)
+            return path;
+        final List<Object> objects = path.objects();
+        final List<Set<String>> labels = path.labels();
+        Path immutablePath = make();
+        for (int i = 0; i < objects.size(); i++) {
+            immutablePath = immutablePath.extend(objects.get(i), labels.get(i));
+        }
+        return immutablePath;
+    }
+
     @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
     @Override
     public ImmutablePath clone() {
         return this;
     }
 
-    private ImmutablePath(final Object currentObject, final Set<String> currentLabels) {
-        this(HeadPath.instance(), currentObject, currentLabels);
-    }
-
-    private ImmutablePath(final Path previousPath, final Object currentObject, final Set<String> currentLabels) {
+    private ImmutablePath(final ImmutablePath previousPath, final Object currentObject, final Set<String> currentLabels) {
         this.previousPath = previousPath;
         this.currentObject = currentObject;
-        this.currentLabels.addAll(currentLabels);
+        this.currentLabels = share(currentLabels);
+        this.size = null == previousPath ? 1 : previousPath.size + 1;
     }
 
     @Override
     public int size() {
-        return this.previousPath.size() + 1;
+        return this.size;
     }
 
     @Override
@@ -74,33 +97,90 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public <A> A get(final int index) {
-        return (this.size() - 1) == index ? (A) this.currentObject : this.previousPath.get(index);
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        ImmutablePath path = this;
+        for (int i = this.size - 1; i > index; i--) {
+            path = path.previousPath;
+        }
+        return (A) path.currentObject;
+    }
+
+    @Override
+    public <A> A get(final String label) {
+        // walks back from the head of the path so the objects of a repeated label are gathered in reverse
+        Object object = null;
+        List<Object> objects = null;
+        for (ImmutablePath path = this; null != path; path = path.previousPath) {
+            if (path.currentLabels.contains(label)) {
+                if (null != objects)
+                    objects.add(path.currentObject);
+                else if (null != object) {
+                    objects = new ArrayList<>();
+                    objects.add(object);
+                    objects.add(path.currentObject);
+                } else
+                    object = path.currentObject;
+            }
+        }
+        if (null != objects) {
+            Collections.reverse(objects);
+            return (A) objects;
+        }
+        if (null == object)
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        return (A) object;
     }
 
     @Override
     public boolean hasLabel(final String label) {
-        return this.currentLabels.contains(label) || this.previousPath.hasLabel(label);
+        for (ImmutablePath path = this; null != path; path = path.previousPath) {
+            if (path.currentLabels.contains(label))
+                return true;
+        }
+        return false;
     }
 
     @Override
     public void addLabel(final String label) {
-        this.currentLabels.add(label);
+        if (this.currentLabels.contains(label))
+            return;
+        if (this.currentLabels.isEmpty())
+            this.currentLabels = intern(label);
+        else {
+            // the labels may be shared with other paths so they are copied rather than added to
+            final Set<String> labels = new LinkedHashSet<>(this.currentLabels);
+            labels.add(label);
+            this.currentLabels = labels;
+        }
     }
 
     @Override
     public List<Object> objects() {
-        final List<Object> objectPath = new ArrayList<>();
-        objectPath.addAll(this.previousPath.objects());
-        objectPath.add(this.currentObject);
-        return Collections.unmodifiableList(objectPath);
+        final Object[] objects = new Object[this.size];
+        for (ImmutablePath path = this; null != path; path = path.previousPath) {
+            objects[path.size - 1] = path.currentObject;
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labelPath = new ArrayList<>();
-        labelPath.addAll(this.previousPath.labels());
-        labelPath.add(this.currentLabels);
-        return Collections.unmodifiableList(labelPath);
+        final Set<String>[] labels = new Set[this.size];
+        for (ImmutablePath path = this; null != path; path = path.previousPath) {
+            labels[path.size - 1] = path.currentLabels;
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    @Override
+    public boolean isSimple() {
+        final Set<Object> objects = new HashSet<>();
+        for (ImmutablePath path = this; null != path; path = path.previousPath) {
+            if (!objects.add(path.currentObject))
+                return false;
+        }
+        return true;
     }
 
     @Override
@@ -108,6 +188,27 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         return this.objects().toString();
     }
 
+    private static Set<String> share(final Set<String> labels) {
+        switch (labels.size()) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return intern(labels.iterator().next());
+            default:
+                return new LinkedHashSet<>(labels);
+        }
+    }
+
+    private static Set<String> intern(final String label) {
+        final Set<String> labels = INTERNED_LABELS.get(label);
+        if (null != labels)
+            return labels;
+        // labels are few in practice, but the interned ones are bounded in case they are generated
+        return INTERNED_LABELS.size() < MAX_INTERNED_LABELS ?
+                INTERNED_LABELS.computeIfAbsent(label, Collections::singleton) :
+                Collections.singleton(label);
+    }
+
     private static class HeadPath implements Path {
         private static final HeadPath INSTANCE = new HeadPath();
 
@@ -122,7 +223,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
         @Override
         public Path extend(final Object object, final Set<String> labels) {
-            return new ImmutablePath(object, labels);
+            return new ImmutablePath(null, object, labels);
         }
 
         @Override
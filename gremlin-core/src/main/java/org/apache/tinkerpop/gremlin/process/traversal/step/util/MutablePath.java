@@ -87,7 +87,11 @@ public class MutablePath implements Path, Serializable {
 
     @Override
     public void addLabel(final String label) {
-        this.labels.get(this.labels.size() - 1).add(label);
+        // the labels may be shared with the path this one was cloned or detached from so they are copied rather than added to
+        final int index = this.labels.size() - 1;
+        final Set<String> labels = new LinkedHashSet<>(this.labels.get(index));
+        labels.add(label);
+        this.labels.set(index, labels);
     }
 
     @Override
@@ -19,26 +19,165 @@
  *
  */
 
+
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 /**
+ * A barrier that does nothing with the traversers it gathers other than merge the equal ones, so that the steps
+ * after it process one traverser with the combined bulk of many.  A barrier of a given size gathers traversers until
+ * it holds that many distinct ones.  An adaptive barrier, as inserted by
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.LazyBarrierStrategy}, sizes each
+ * round of gathering by how well the previous round merged: it doubles, up to its maximum size, while at least half
+ * of a full round merges away, and halves while almost none of it does.  When even its smallest rounds do not merge
+ * it passes its traversers straight through, trying a round again after a while in case the traversers change.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class NoOpBarrierStep<S> extends CollectingBarrierStep<S> {
 
+    private static final int MIN_BARRIER_SIZE = 100;
+    private static final double GROW_MERGE_RATIO = 0.5d;
+    private static final double SHRINK_MERGE_RATIO = 0.05d;
+    private static final long BYPASS_SIZE = 100l * MIN_BARRIER_SIZE;
+
+    private final int initialBarrierSize;
+    private int barrierSize;
+    private long bypassed = 0l;
+    private long startCount = 0l;
+    private long mergeCount = 0l;
+
     public NoOpBarrierStep(final Traversal.Admin traversal) {
-        super(traversal);
+        this(traversal, Integer.MAX_VALUE);
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, maxBarrierSize);
+    }
+
+    /**
+     * Creates an adaptive barrier if the initial barrier size is less than the maximum barrier size.
+     */
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int initialBarrierSize, final int maxBarrierSize) {
         super(traversal, maxBarrierSize);
+        if (initialBarrierSize < 1 || initialBarrierSize > maxBarrierSize)
+            throw new IllegalArgumentException("The initial barrier size must be between one and the maximum barrier size: " + initialBarrierSize);
+        this.initialBarrierSize = initialBarrierSize;
+        this.barrierSize = initialBarrierSize;
+    }
+
+    @Override
+    public Traverser<S> processNextStart() {
+        if (!this.traverserSet.isEmpty())
+            return this.traverserSet.remove();
+
+        if (this.bypassed > 0l) {
+            final Traverser<S> traverser = this.starts.next();
+            this.startCount++;
+            if (++this.bypassed > BYPASS_SIZE)
+                this.bypassed = 0l;
+            return traverser;
+        }
+
+        if (this.starts.hasNext()) {
+            // an adaptive round gathers a number of traversers while an explicit barrier gathers distinct traversers
+            final boolean adaptive = this.isAdaptive();
+            long starts = 0l;
+            while ((adaptive ? starts < this.barrierSize : this.traverserSet.size() < this.maxBarrierSize) && this.starts.hasNext()) {
+                this.traverserSet.add(this.starts.next());
+                starts++;
+            }
+            final long merges = starts - this.traverserSet.size();
+            this.startCount = this.startCount + starts;
+            this.mergeCount = this.mergeCount + merges;
+            if (adaptive)
+                this.adapt((int) starts, (int) merges);
+        }
+        return this.traverserSet.remove();
+    }
+
+    private void adapt(final int starts, final int merges) {
+        final double mergeRatio = (double) merges / starts;
+        if (mergeRatio >= GROW_MERGE_RATIO && starts == this.barrierSize)
+            this.barrierSize = (int) Math.min(this.maxBarrierSize, 2l * this.barrierSize);
+        else if (mergeRatio < SHRINK_MERGE_RATIO && starts >= MIN_BARRIER_SIZE) {
+            if (this.barrierSize <= MIN_BARRIER_SIZE)
+                this.bypassed = 1l;
+            else
+                this.barrierSize = Math.max(MIN_BARRIER_SIZE, this.barrierSize / 2);
+        }
     }
 
     @Override
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
 
     }
+
+    public boolean isAdaptive() {
+        return this.initialBarrierSize < this.maxBarrierSize;
+    }
+
+    /**
+     * Gets the number of traversers the next round of the barrier will gather, which only changes if it is adaptive.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
+    }
+
+    /**
+     * Gets whether the barrier is passing its traversers straight through as they have not been merging.
+     */
+    public boolean isBypassed() {
+        return this.bypassed > 0l;
+    }
+
+    /**
+     * Gets the number of traversers that have come into the barrier.
+     */
+    public long getStartCount() {
+        return this.startCount;
+    }
+
+    /**
+     * Gets the number of traversers that the barrier saved the steps after it from processing by merging them into
+     * other traversers.
+     */
+    public long getMergeCount() {
+        return this.mergeCount;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.barrierSize = this.initialBarrierSize;
+        this.bypassed = 0l;
+        this.startCount = 0l;
+        this.mergeCount = 0l;
+    }
+
+    @Override
+    public NoOpBarrierStep<S> clone() {
+        final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
+        clone.barrierSize = this.initialBarrierSize;
+        clone.bypassed = 0l;
+        clone.startCount = 0l;
+        clone.mergeCount = 0l;
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return this.isAdaptive() ?
+                StringFactory.stepString(this, this.initialBarrierSize, this.maxBarrierSize) :
+                StringFactory.stepString(this, this.maxBarrierSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ (this.initialBarrierSize << 1);
+    }
 }
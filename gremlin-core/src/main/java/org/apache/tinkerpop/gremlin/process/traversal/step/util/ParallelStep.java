@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Executes a segment of a traversal on the workers of a {@link StandardTraversalEngine}.  Each worker runs its own
+ * clone of the segment and takes chunks of the starts of this step until there are none left.  If the segment ends
+ * with a {@link ReducingBarrierStep}, each worker reduces what it produces from its own seed and the partial results
+ * are combined into the one traverser that this step emits.  Otherwise, the traversers produced by all the workers
+ * are merged and emitted for the barrier that follows this step.  The segment is put in place by the
+ * {@link StandardTraversalEngine.ParallelStrategy}.
+ *
+ * @author agent (agent@local)
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private Traversal.Admin<S, E> segment;
+    private TraverserSet<E> traverserSet = new TraverserSet<>();
+    private boolean done = false;
+    private volatile boolean failed = false;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> segment) {
+        super(traversal);
+        this.segment = this.integrateChild(segment);
+    }
+
+    @Override
+    protected Traverser<E> processNextStart() {
+        if (this.isReducing()) {
+            if (this.done)
+                throw FastNoSuchElementException.instance();
+            this.done = true;
+            final BinaryOperator<E> combiner = ((ReducingBarrierStep<?, E>) this.segment.getEndStep()).getCombiner().get();
+            E reduction = null;
+            boolean first = true;
+            for (final Object partial : this.execute()) {
+                reduction = first ? (E) partial : combiner.apply(reduction, (E) partial);
+                first = false;
+            }
+            return TraversalHelper.getRootTraversal(this.getTraversal()).getTraverserGenerator().generate(ReducingBarrierStep.FinalGet.tryFinalGet(reduction), (Step) this, 1l);
+        } else {
+            if (this.traverserSet.isEmpty() && this.starts.hasNext()) {
+                for (final Object partial : this.execute()) {
+                    this.traverserSet.addAll((TraverserSet<E>) partial);
+                }
+            }
+            return this.traverserSet.remove();
+        }
+    }
+
+    private boolean isReducing() {
+        return this.segment.getEndStep() instanceof ReducingBarrierStep;
+    }
+
+    // runs a worker for each thread allowed by the engine, returning the partial result of each
+    private List<Object> execute() {
+        final TraversalEngine engine = this.getTraversal().getEngine();
+        final int workers = engine instanceof StandardTraversalEngine ? ((StandardTraversalEngine) engine).getWorkers() : 1;
+        if (workers < 2)
+            return Collections.singletonList(this.work());
+
+        final ForkJoinPool pool = ((StandardTraversalEngine) engine).getWorkerPool();
+        final List<ForkJoinTask<Object>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(pool.submit(this::work));
+        }
+        final List<Object> partials = new ArrayList<>(workers);
+        try {
+            for (final ForkJoinTask<Object> task : tasks) {
+                partials.add(task.get());
+            }
+        } catch (final ExecutionException e) {
+            this.failed = true;
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (final InterruptedException e) {
+            this.failed = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return partials;
+    }
+
+    // runs a clone of the segment over chunks of the starts, returning its reduction or the traversers it produced
+    private Object work() {
+        final Traversal.Admin<S, E> worker = this.segment.clone();
+        worker.setSideEffects(this.segment.getSideEffects());
+
+        final Step<?, ?> endStep = worker.getEndStep();
+        final ReducingBarrierStep<Object, Object> barrier = endStep instanceof ReducingBarrierStep ? (ReducingBarrierStep<Object, Object>) endStep : null;
+        final Step<?, ?> lastStep = null == barrier ? endStep : endStep.getPreviousStep();
+        final BiFunction<Object, Traverser<Object>, Object> biFunction = null == barrier ? null : barrier.getBiFunction();
+        Object seed = null == barrier ? null : barrier.getSeedSupplier().get();
+        final TraverserSet<Object> traversers = null == barrier ? new TraverserSet<>() : null;
+
+        List<Traverser<S>> chunk;
+        while (!(chunk = this.nextChunk()).isEmpty()) {
+            worker.addStarts(chunk.iterator());
+            while (lastStep.hasNext()) {
+                final Traverser<Object> traverser = (Traverser<Object>) lastStep.next();
+                if (null == barrier)
+                    traversers.add(traverser.asAdmin());
+                else
+                    seed = biFunction.apply(seed, traverser);
+            }
+        }
+        return null == barrier ? traversers : seed;
+    }
+
+    private List<Traverser<S>> nextChunk() {
+        final List<Traverser<S>> chunk = new ArrayList<>(CHUNK_SIZE);
+        synchronized (this) {
+            while (!this.failed && chunk.size() < CHUNK_SIZE && this.starts.hasNext()) {
+                chunk.add(this.starts.next());
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.segment);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements(TraverserRequirement.BULK);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.segment.reset();
+        this.traverserSet.clear();
+        this.done = false;
+        this.failed = false;
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.segment = clone.integrateChild(this.segment.clone());
+        clone.traverserSet = new TraverserSet<>();
+        clone.done = false;
+        clone.failed = false;
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.segment);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.segment.hashCode();
+    }
+}
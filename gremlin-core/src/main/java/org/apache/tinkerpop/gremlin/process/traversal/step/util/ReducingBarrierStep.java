@@ -37,7 +37,9 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 
 /**
@@ -49,6 +51,8 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
 
     protected Supplier<E> seedSupplier;
     protected BiFunction<E, Traverser<S>, E> reducingBiFunction;
+    // only used by the standard engine when reducing in parallel, so it is not serialized to a GraphComputer
+    protected transient BinaryOperator<E> combiningBinaryOperator = null;
     private boolean done = false;
     protected boolean byPass = false;
 
@@ -64,6 +68,26 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         this.reducingBiFunction = reducingBiFunction;
     }
 
+    /**
+     * Sets the function which combines two partial reductions, each from its own seed, into the reduction of all
+     * their traversers.  Without one, the traversers must all be reduced from the same seed.
+     */
+    public void setCombiner(final BinaryOperator<E> combiningBinaryOperator) {
+        this.combiningBinaryOperator = combiningBinaryOperator;
+    }
+
+    public Supplier<E> getSeedSupplier() {
+        return this.seedSupplier;
+    }
+
+    public BiFunction<E, Traverser<S>, E> getBiFunction() {
+        return this.reducingBiFunction;
+    }
+
+    public Optional<BinaryOperator<E>> getCombiner() {
+        return Optional.ofNullable(this.combiningBinaryOperator);
+    }
+
     @Override
     public void onEngine(final TraversalEngine traversalEngine) {
         this.byPass = traversalEngine.isComputer();
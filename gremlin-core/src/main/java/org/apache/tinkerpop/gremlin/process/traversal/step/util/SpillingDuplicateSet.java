@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DuplicateSet} that holds at most a threshold of objects in memory.  When the threshold is reached, the
+ * objects are partitioned by hash and appended to a single file in a local directory as one segment per partition,
+ * with a Bloom filter of each segment kept in memory.  An object that is not in memory is only looked for in the
+ * segments of its partition whose filters might contain it, and the segments read are kept while they fit within the
+ * threshold, so the set is exact at the cost of disk reads for the objects that were spilled.  The partitions are
+ * fine enough that a segment holds a small share of a spill, which bounds what a filter hit has to read.  The file
+ * is deleted when the set is cleared (as when the traversal is reset) or else when the JVM exits.  Elements are held
+ * by their kind and id, and any other object must be {@link Serializable} to be spilled.
+ *
+ * @author agent (agent@local)
+ */
+public final class SpillingDuplicateSet implements DuplicateSet {
+
+    private static final int PARTITIONS = 256;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01d;
+
+    private final int threshold;
+    private final File directory;
+    private Set<Object> keys = new HashSet<>();
+    private File file = null;
+    private long fileLength = 0l;
+    private final List<List<Segment>> partitions = new ArrayList<>(PARTITIONS);
+    private final Map<Segment, Set<Object>> readSegments = new LinkedHashMap<>(16, 0.75f, true);
+    private long readKeys = 0l;
+
+    public SpillingDuplicateSet(final int threshold, final File directory) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        this.threshold = threshold;
+        this.directory = directory;
+        for (int i = 0; i < PARTITIONS; i++) {
+            this.partitions.add(new ArrayList<>());
+        }
+    }
+
+    @Override
+    public boolean add(final Object object) {
+        final Object key = key(object);
+        if (this.keys.contains(key) || this.spilled(key))
+            return false;
+        this.keys.add(key);
+        if (this.keys.size() >= this.threshold)
+            this.spill();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.keys.clear();
+        this.readSegments.clear();
+        this.readKeys = 0l;
+        this.partitions.forEach(List::clear);
+        if (null != this.file) {
+            this.file.delete();
+            this.file = null;
+            this.fileLength = 0l;
+        }
+    }
+
+    private boolean spilled(final Object key) {
+        final long hash = BloomFilter.hash(key);
+        for (final Segment segment : this.partitions.get(partition(hash))) {
+            if (segment.filter.mightContain(hash) && this.read(segment).contains(key))
+                return true;
+        }
+        return false;
+    }
+
+    private Set<Object> read(final Segment segment) {
+        Set<Object> keys = this.readSegments.get(segment);
+        if (null == keys) {
+            keys = segment.read(this.file);
+            this.readSegments.put(segment, keys);
+            this.readKeys = this.readKeys + keys.size();
+            // the least recently read segments are let go so that the keys held for segments stay within the threshold
+            final Iterator<Map.Entry<Segment, Set<Object>>> iterator = this.readSegments.entrySet().iterator();
+            while (this.readKeys > this.threshold && this.readSegments.size() > 1) {
+                this.readKeys = this.readKeys - iterator.next().getValue().size();
+                iterator.remove();
+            }
+        }
+        return keys;
+    }
+
+    private void spill() {
+        final List<List<Object>> partitionedKeys = new ArrayList<>(PARTITIONS);
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitionedKeys.add(new ArrayList<>());
+        }
+        for (final Object key : this.keys) {
+            partitionedKeys.get(partition(BloomFilter.hash(key))).add(key);
+        }
+        this.keys = new HashSet<>();
+        try {
+            if (null == this.file) {
+                this.file = File.createTempFile("dedup-", ".spill", this.directory);
+                // a traversal that is neither iterated to its end nor reset would otherwise leave the file behind
+                this.file.deleteOnExit();
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (final OutputStream output = new BufferedOutputStream(new FileOutputStream(this.file, true))) {
+                for (int i = 0; i < PARTITIONS; i++) {
+                    final List<Object> keys = partitionedKeys.get(i);
+                    if (keys.isEmpty())
+                        continue;
+                    bytes.reset();
+                    final BloomFilter filter = Segment.write(keys, bytes);
+                    bytes.writeTo(output);
+                    this.partitions.get(i).add(new Segment(this.fileLength, bytes.size(), keys.size(), filter));
+                    this.fileLength = this.fileLength + bytes.size();
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not spill dedup() objects to " + (null == this.file ? this.directory : this.file) + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static int partition(final long hash) {
+        // the high bits so as not to correlate with the bits the filters index by
+        return (int) (hash >>> 56) & (PARTITIONS - 1);
+    }
+
+    private static Object key(final Object object) {
+        return object instanceof Element ? new ElementKey((Element) object) : object;
+    }
+
+    public static Supplier<DuplicateSet> supplier(final int threshold, final File directory) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        return new SpillingDuplicateSetSupplier(threshold, directory);
+    }
+
+    /**
+     * The keys of one partition from one spill, which sit at an offset of the spill file.
+     */
+    private static final class Segment {
+        private final long offset;
+        private final int length;
+        private final int size;
+        private final BloomFilter filter;
+
+        private Segment(final long offset, final int length, final int size, final BloomFilter filter) {
+            this.offset = offset;
+            this.length = length;
+            this.size = size;
+            this.filter = filter;
+        }
+
+        private static BloomFilter write(final List<Object> keys, final OutputStream bytes) throws IOException {
+            final BloomFilter filter = new BloomFilter(keys.size(), FALSE_POSITIVE_PROBABILITY);
+            try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                for (final Object key : keys) {
+                    if (null != key && !(key instanceof Serializable))
+                        throw new IllegalStateException("The object can not be spilled to disk as it is not serializable: " + key.getClass().getName());
+                    output.writeObject(key);
+                    filter.put(BloomFilter.hash(key));
+                }
+            }
+            return filter;
+        }
+
+        private Set<Object> read(final File file) {
+            final byte[] bytes = new byte[this.length];
+            try {
+                try (final RandomAccessFile input = new RandomAccessFile(file, "r")) {
+                    input.seek(this.offset);
+                    input.readFully(bytes);
+                }
+                try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    final Set<Object> keys = new HashSet<>(this.size * 2);
+                    for (int i = 0; i < this.size; i++) {
+                        keys.add(input.readObject());
+                    }
+                    return keys;
+                }
+            } catch (final IOException | ClassNotFoundException e) {
+                throw new IllegalStateException("Could not read spilled dedup() objects from " + file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Elements are equal when they are of the same kind and have equal ids, so that is all that is held of them.
+     */
+    private static final class ElementKey implements Serializable {
+        private final byte kind;
+        private final Object id;
+
+        private ElementKey(final Element element) {
+            this.kind = element instanceof Vertex ? (byte) 1 : element instanceof Edge ? (byte) 2 : (byte) 3;
+            this.id = element.id();
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof ElementKey && ((ElementKey) object).kind == this.kind && ((ElementKey) object).id.equals(this.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id.hashCode() * 31 + this.kind;
+        }
+    }
+
+    private static final class SpillingDuplicateSetSupplier implements Supplier<DuplicateSet>, Serializable {
+        private final int threshold;
+        private final File directory;
+
+        private SpillingDuplicateSetSupplier(final int threshold, final File directory) {
+            this.threshold = threshold;
+            this.directory = directory;
+        }
+
+        @Override
+        public DuplicateSet get() {
+            return new SpillingDuplicateSet(this.threshold, this.directory);
+        }
+    }
+}
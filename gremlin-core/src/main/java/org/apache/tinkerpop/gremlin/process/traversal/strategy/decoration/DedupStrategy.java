@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ApproximateDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ExactDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillingDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * This {@link TraversalStrategy} sets how the {@link DedupGlobalStep} steps of a {@link Traversal} hold the objects
+ * they have seen, so that {@code dedup()} over a stream too large to hold in memory can either spill to disk and
+ * remain exact or hold a Bloom filter and be approximate.
+ *
+ * @author agent (agent@local)
+ * @example <pre>
+ * g = GraphTraversalSource.build().with(DedupStrategy.build().spill(1000000).create()).create(graph)
+ * g.V().out().out().dedup()         // holds at most 1000000 vertices in memory
+ * </pre>
+ */
+public final class DedupStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy> implements TraversalStrategy.DecorationStrategy {
+
+    private final Supplier<DuplicateSet> duplicateSetSupplier;
+
+    private DedupStrategy(final Supplier<DuplicateSet> duplicateSetSupplier) {
+        this.duplicateSetSupplier = duplicateSetSupplier;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal)
+                .forEach(step -> step.setDuplicateSetSupplier(this.duplicateSetSupplier));
+    }
+
+    public Supplier<DuplicateSet> getDuplicateSetSupplier() {
+        return this.duplicateSetSupplier;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private Supplier<DuplicateSet> duplicateSetSupplier = ExactDuplicateSet.supplier();
+
+        private Builder() {
+        }
+
+        /**
+         * Hold every object seen in memory, which is the default of {@code dedup()}.
+         */
+        public Builder exact() {
+            this.duplicateSetSupplier = ExactDuplicateSet.supplier();
+            return this;
+        }
+
+        /**
+         * Hold at most the threshold of objects in memory and spill the rest to the temporary directory.
+         */
+        public Builder spill(final int threshold) {
+            return this.spill(threshold, null);
+        }
+
+        /**
+         * Hold at most the threshold of objects in memory and spill the rest to the provided directory, which is the
+         * temporary directory if {@code null}.
+         */
+        public Builder spill(final int threshold, final File directory) {
+            this.duplicateSetSupplier = SpillingDuplicateSet.supplier(threshold, directory);
+            return this;
+        }
+
+        /**
+         * Hold a Bloom filter sized for the expected number of distinct objects, which filters out a distinct object
+         * with the false positive probability.
+         */
+        public Builder approximate(final long expectedInsertions, final double falsePositiveProbability) {
+            this.duplicateSetSupplier = ApproximateDuplicateSet.supplier(expectedInsertions, falsePositiveProbability);
+            return this;
+        }
+
+        public DedupStrategy create() {
+            return new DedupStrategy(this.duplicateSetSupplier);
+        }
+    }
+}
@@ -41,6 +41,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
+ * This {@link TraversalStrategy} inserts adaptive {@link NoOpBarrierStep} steps after the steps of a long walk so
+ * that the traversers at the same element are merged before the walk goes on.  Each barrier starts gathering a
+ * small round of traversers, which keeps the latency of selective traversals low, and grows its rounds up to a
+ * maximum size while they merge well, or shrinks them and finally bypasses itself while they do not.  Traversals
+ * that require paths are left alone as their traversers do not merge.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
@@ -51,7 +57,8 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
 
     private static final int REQUIRED_DEPTH = 2;
     private static final int BIG_START_SIZE = 5;
-    protected static final int MAX_BARRIER_SIZE = 10000;
+    protected static final int INITIAL_BARRIER_SIZE = 1000;
+    protected static final int MAX_BARRIER_SIZE = 100000;
 
     static {
         PRIORS.add(ScopingStrategy.class);
@@ -90,7 +97,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                             !(step instanceof SupplyingBarrierStep) &&
                             !(step instanceof ReducingBarrierStep) &&
                             !(step instanceof VertexStep && ((VertexStep) step).returnsEdge())) {
-                        TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE), step, traversal);
+                        TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, INITIAL_BARRIER_SIZE, MAX_BARRIER_SIZE), step, traversal);
                     }
                 }
 
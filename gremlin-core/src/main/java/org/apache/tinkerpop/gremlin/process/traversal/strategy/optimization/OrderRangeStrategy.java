@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderRangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * OrderRangeStrategy fuses an {@link OrderGlobalStep} and the {@link RangeGlobalStep} that follows it into an
+ * {@link OrderRangeGlobalStep}. Rather than sorting all the traversers to keep only the first few, the fused step
+ * holds just those traversers that can be in the range.
+ * <p/>
+ *
+ * @author agent (agent@local)
+ * @example <pre>
+ * __.order().by("score", decr).limit(10)       // is replaced by a single step holding the best 10
+ * __.order().range(5,10)                       // is replaced by a single step holding the best 10 and skipping 5
+ * </pre>
+ */
+public final class OrderRangeStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final OrderRangeStrategy INSTANCE = new OrderRangeStrategy();
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>();
+
+    static {
+        PRIORS.add(IdentityRemovalStrategy.class);
+        PRIORS.add(DedupBijectionStrategy.class);
+    }
+
+    private OrderRangeStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!TraversalHelper.hasStepOfClass(OrderGlobalStep.class, traversal))
+            return;
+
+        for (int i = 0; i < traversal.getSteps().size() - 1; i++) {
+            final Step step1 = traversal.getSteps().get(i);
+            final Step step2 = traversal.getSteps().get(i + 1);
+            if (step1 instanceof OrderGlobalStep && step2 instanceof RangeGlobalStep && ((RangeGlobalStep) step2).getHighRange() != -1) {
+                final OrderRangeGlobalStep<?> orderRangeGlobalStep = new OrderRangeGlobalStep<>(traversal, ((RangeGlobalStep) step2).getLowRange(), ((RangeGlobalStep) step2).getHighRange());
+                for (final Comparator comparator : ((OrderGlobalStep<?>) step1).getComparators()) {
+                    orderRangeGlobalStep.addComparator(comparator);
+                }
+                ((Set<String>) step1.getLabels()).forEach(orderRangeGlobalStep::addLabel);
+                ((Set<String>) step2.getLabels()).forEach(orderRangeGlobalStep::addLabel);
+                traversal.removeStep(step2);
+                TraversalHelper.replaceStep(step1, (Step) orderRangeGlobalStep, traversal);
+            }
+        }
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static OrderRangeStrategy instance() {
+        return INSTANCE;
+    }
+}
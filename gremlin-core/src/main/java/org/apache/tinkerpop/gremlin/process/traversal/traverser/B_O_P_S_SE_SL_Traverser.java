@@ -76,8 +76,10 @@ public class B_O_P_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
 
     @Override
     public <R> Traverser.Admin<R> split(final R r, final Step<T, R> step) {
+        // a detached path is made immutable once so that the traversers split from this one share it rather than copy it
+        this.path = ImmutablePath.of(this.path);
         final B_O_P_S_SE_SL_Traverser<R> clone = (B_O_P_S_SE_SL_Traverser<R>) super.split(r, step);
-        clone.path = clone.path.clone().extend(r, step.getLabels());
+        clone.path = clone.path.extend(r, step.getLabels());
         return clone;
 
     }
@@ -21,72 +21,116 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * A {@link TraverserSet} merges the bulk of equal traversers and otherwise keeps them in the order they were added.
+ * Traversers are held in an insertion-ordered array that is indexed by an open-addressing hash table, so adding a
+ * traverser does not allocate an entry object and {@link #remove()} takes from the head of the array.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Traverser.Admin[] EMPTY_TRAVERSERS = new Traverser.Admin[0];
+    private static final int[] EMPTY_INTS = new int[0];
+
+    // only the live traversers are serialized and the table is rebuilt from them when they are read back
+
+    // the traversers in the order they were added where a null is one that was removed
+    private transient Traverser.Admin<S>[] traversers = EMPTY_TRAVERSERS;
+    // the hash of each traverser when it was added so that it can be found even if it has since been mutated
+    private transient int[] hashes = EMPTY_INTS;
+    // one more than the index into traversers where zero is an empty slot
+    private transient int[] table = EMPTY_INTS;
+    private transient int head = 0;
+    private transient int tail = 0;
+    private transient int size = 0;
+    private transient int modCount = 0;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int slot = this.slotOf(traverser);
+        return -1 == slot ? null : this.traversers[this.table[slot] - 1];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
-        return this.map.values().stream().map(Traverser::bulk).reduce(0l, (a, b) -> a + b);
+        long bulk = 0l;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
+        }
+        return bulk;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return -1 != this.slotOf(traverser);
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
-            return true;
-        } else {
-            existing.merge(traverser);
-            return false;
+        final int hash = spread(traverser.hashCode());
+        if (this.size > 0) {
+            final int mask = this.table.length - 1;
+            for (int slot = hash & mask; 0 != this.table[slot]; slot = (slot + 1) & mask) {
+                final int index = this.table[slot] - 1;
+                if (this.hashes[index] == hash && this.traversers[index].equals(traverser)) {
+                    this.traversers[index].merge(traverser);
+                    return false;
+                }
+            }
         }
+
+        if (this.tail == this.traversers.length)
+            this.rebuild(this.size >= this.traversers.length / 2 ? Math.max(INITIAL_CAPACITY, this.traversers.length * 2) : this.traversers.length);
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (0 != this.table[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = ++this.tail;
+        this.size++;
+        this.modCount++;
+        return true;
     }
 
     @Override
@@ -96,17 +140,19 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
+        while (null == this.traversers[this.head]) {
+            this.head++;
+        }
+        final Traverser.Admin<S> next = this.traversers[this.head];
+        this.removeAt(this.head);
         return next;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
@@ -116,34 +162,178 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.iterator().next();
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        final int slot = this.slotOf(traverser);
+        if (-1 == slot)
+            return false;
+        this.removeAt(this.table[slot] - 1);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        if (0 == this.size && 0 == this.tail)
+            return;
+        Arrays.fill(this.traversers, this.head, this.tail, null);
+        Arrays.fill(this.table, 0);
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.modCount++;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
     }
 
-    @Override
-    public String toString() {
-        return this.map.keySet().toString();
+    public void sort(final Comparator<Traverser<S>> comparator) {
+        final Traverser.Admin<S>[] sorted = this.toArray(new Traverser.Admin[this.size]);
+        Arrays.sort(sorted, comparator);
+        this.clear();
+        for (final Traverser.Admin<S> traverser : sorted) {
+            this.add(traverser);
+        }
     }
 
-    public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.values());
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                outputStream.writeObject(this.traversers[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        this.traversers = EMPTY_TRAVERSERS;
+        this.hashes = EMPTY_INTS;
+        this.table = EMPTY_INTS;
+        final int size = inputStream.readInt();
+        for (int i = 0; i < size; i++) {
+            this.add((Traverser.Admin<S>) inputStream.readObject());
+        }
     }
 
+    private int slotOf(final Object traverser) {
+        if (0 == this.size || null == traverser)
+            return -1;
+        final int hash = spread(traverser.hashCode());
+        final int mask = this.table.length - 1;
+        for (int slot = hash & mask; 0 != this.table[slot]; slot = (slot + 1) & mask) {
+            final int index = this.table[slot] - 1;
+            if (this.hashes[index] == hash && this.traversers[index].equals(traverser))
+                return slot;
+        }
+        return -1;
+    }
+
+    private void removeAt(final int index) {
+        // find the slot by index rather than equality as the traverser may have been mutated since it was added
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        // backward shift deletion keeps every probe sequence unbroken without tombstones
+        int free = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (0 == this.table[next])
+                break;
+            final int home = this.hashes[this.table[next] - 1] & mask;
+            if (free <= next ? (free < home && home <= next) : (free < home || home <= next))
+                continue;
+            this.table[free] = this.table[next];
+            free = next;
+        }
+        this.table[free] = 0;
+
+        this.traversers[index] = null;
+        this.size--;
+        this.modCount++;
+        if (0 == this.size) {
+            // every slot of the table was cleared as its traverser was removed
+            this.head = 0;
+            this.tail = 0;
+        } else if (index == this.head) {
+            this.head++;
+        }
+    }
+
+    private void rebuild(final int capacity) {
+        final Traverser.Admin<S>[] oldTraversers = this.traversers;
+        final int[] oldHashes = this.hashes;
+        this.traversers = oldTraversers.length == capacity ? oldTraversers : new Traverser.Admin[capacity];
+        this.hashes = oldHashes.length == capacity ? oldHashes : new int[capacity];
+        if (this.table.length == capacity * 2)
+            Arrays.fill(this.table, 0);
+        else
+            this.table = new int[capacity * 2];
+
+        // compact the live traversers to the front while keeping their order
+        int index = 0;
+        final int mask = this.table.length - 1;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null == oldTraversers[i])
+                continue;
+            this.traversers[index] = oldTraversers[i];
+            this.hashes[index] = oldHashes[i];
+            int slot = oldHashes[i] & mask;
+            while (0 != this.table[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = ++index;
+        }
+        Arrays.fill(this.traversers, index, Math.max(index, Math.min(this.tail, this.traversers.length)), null);
+        this.head = 0;
+        this.tail = index;
+    }
+
+    private static int spread(final int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int next = head;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < tail && null == traversers[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            this.last = this.next++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (-1 == this.last)
+                throw new IllegalStateException();
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = modCount;
+        }
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.javatuples.Pair;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class DuplicateSetTest {
+
+    @Test
+    public void shouldHoldElementsByKindAndId() {
+        final DuplicateSet duplicateSet = ExactDuplicateSet.supplier().get();
+        assertTrue(duplicateSet.add(new DetachedVertex(1l, "person", Collections.emptyMap())));
+        assertFalse(duplicateSet.add(new DetachedVertex(1l, "software", Collections.emptyMap())));
+        assertTrue(duplicateSet.add(new DetachedEdge(1l, "knows", Collections.emptyMap(), Pair.with(1l, "person"), Pair.with(2l, "person"))));
+        assertTrue(duplicateSet.add(1l));
+        assertTrue(duplicateSet.add(new DetachedVertex("a", "person", Collections.emptyMap())));
+        assertFalse(duplicateSet.add(new DetachedVertex("a", "person", Collections.emptyMap())));
+        assertFalse(duplicateSet.add(1l));
+
+        duplicateSet.clear();
+        assertTrue(duplicateSet.add(new DetachedVertex(1l, "person", Collections.emptyMap())));
+        assertTrue(duplicateSet.add(1l));
+    }
+
+    @Test
+    public void shouldRemainExactWhenSpilled() throws Exception {
+        final File directory = Files.createTempDirectory("dedup").toFile();
+        final DuplicateSet duplicateSet = SpillingDuplicateSet.supplier(10, directory).get();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(duplicateSet.add(i));
+            assertTrue(duplicateSet.add(new DetachedVertex((long) i, "person", Collections.emptyMap())));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(duplicateSet.add(i));
+            assertFalse(duplicateSet.add(new DetachedVertex((long) i, "person", Collections.emptyMap())));
+        }
+        // every spill is appended to the same file
+        assertEquals(1, directory.list().length);
+
+        duplicateSet.clear();
+        assertEquals(0, directory.list().length);
+        assertTrue(duplicateSet.add(1));
+        directory.delete();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotSpillObjectsThatAreNotSerializable() {
+        final DuplicateSet duplicateSet = SpillingDuplicateSet.supplier(2, null).get();
+        duplicateSet.add(new Object());
+        duplicateSet.add(new Object());
+    }
+
+    @Test
+    public void shouldBeApproximateWithinFalsePositiveProbability() {
+        final DuplicateSet duplicateSet = ApproximateDuplicateSet.supplier(10000, 0.01d).get();
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (!duplicateSet.add("object" + i))
+                falsePositives++;
+        }
+        assertTrue(falsePositives < 100);
+        for (int i = 0; i < 10000; i++) {
+            assertFalse(duplicateSet.add("object" + i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowFalsePositiveProbabilityOfOne() {
+        ApproximateDuplicateSet.supplier(10000, 1.0d);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ImmutablePathTest {
+
+    @Test
+    public void shouldShareThePathExtendedFrom() {
+        final Path path = ImmutablePath.make().extend(1, "a").extend(2, "b");
+        final Path left = path.extend(3, "c");
+        final Path right = path.extend(4, "c");
+        left.addLabel("d");
+
+        assertEquals(Arrays.asList(1, 2, 3), left.objects());
+        assertEquals(Arrays.asList(1, 2, 4), right.objects());
+        assertEquals(2, path.size());
+        assertTrue(left.hasLabel("d"));
+        assertFalse(right.hasLabel("d"));
+        assertFalse(path.hasLabel("c"));
+        assertSame(path.labels().get(0), left.labels().get(0));
+        assertSame(left.labels().get(0), right.labels().get(0));
+    }
+
+    @Test
+    public void shouldInternSingleLabels() {
+        final Path first = ImmutablePath.make().extend(1, Collections.singleton("x"));
+        final Path second = ImmutablePath.make().extend(2, "x");
+        assertSame(first.labels().get(0), second.labels().get(0));
+        assertTrue(ImmutablePath.make().extend(3).labels().get(0).isEmpty());
+    }
+
+    @Test
+    public void shouldGetObjectsOfLabelInPathOrder() {
+        final Path path = ImmutablePath.make().extend(1, "a").extend(2, "b").extend(3, "a", "c").extend(4, "a");
+        assertEquals(Integer.valueOf(2), path.get("b"));
+        assertEquals(Integer.valueOf(3), path.get("c"));
+        assertEquals(Arrays.asList(1, 3, 4), path.<List<Integer>>get("a"));
+        assertEquals(Integer.valueOf(1), path.get(0));
+        assertEquals(Integer.valueOf(4), path.get(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowForLabelNotInPath() {
+        ImmutablePath.make().extend(1, "a").get("b");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldThrowForIndexNotInPath() {
+        ImmutablePath.make().extend(1, "a").get(1);
+    }
+
+    @Test
+    public void shouldMakeImmutableCopyOfMutablePath() {
+        final Path mutablePath = MutablePath.make().extend(1, "a").extend(2, "b", "c");
+        final Path path = ImmutablePath.of(mutablePath);
+        assertTrue(path instanceof ImmutablePath);
+        assertEquals(mutablePath.objects(), path.objects());
+        assertEquals(mutablePath.labels(), path.labels());
+        assertSame(path, ImmutablePath.of(path));
+
+        mutablePath.addLabel("d");
+        assertFalse(path.hasLabel("d"));
+    }
+}
@@ -24,10 +24,15 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
  */
@@ -35,6 +40,84 @@ public class NoOpBarrierStepTest extends StepTest {
 
     @Override
     protected List<Traversal> getTraversals() {
-        return Collections.singletonList(__.barrier());
+        final Traversal.Admin<?, ?> adaptive = __.identity().asAdmin();
+        adaptive.addStep(new NoOpBarrierStep<>(adaptive, 100, 10000));
+        return Arrays.asList(__.barrier(), __.barrier(100), adaptive);
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhileTraversersMerge() {
+        final Integer[] starts = new Integer[10000];
+        Arrays.fill(starts, 1);
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100, 10000);
+        traversal.addStep(barrier);
+
+        assertEquals(10000, traversal.toList().size());
+        // rounds of 100, 200, 400, 800, 1600, 3200 and the remaining 3700 each merge into one traverser
+        assertEquals(6400, barrier.getBarrierSize());
+        assertEquals(10000, barrier.getStartCount());
+        assertEquals(10000 - 7, barrier.getMergeCount());
+        assertFalse(barrier.isBypassed());
+    }
+
+    @Test
+    public void shouldShrinkAndBypassAdaptiveBarrierWhenTraversersDoNotMerge() {
+        final Integer[] starts = new Integer[5000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 1000, 10000);
+        traversal.addStep(barrier);
+
+        assertEquals(5000, traversal.toList().size());
+        assertEquals(100, barrier.getBarrierSize());
+        assertEquals(5000, barrier.getStartCount());
+        assertEquals(0, barrier.getMergeCount());
+        assertTrue(barrier.isBypassed());
+    }
+
+    @Test
+    public void shouldNotAdaptFixedBarrier() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 2, 3, 4, 5).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 2);
+        traversal.addStep(barrier);
+
+        assertEquals(5, traversal.toList().size());
+        assertFalse(barrier.isAdaptive());
+        assertEquals(2, barrier.getBarrierSize());
+        assertEquals(0, barrier.getMergeCount());
+    }
+
+    @Test
+    public void shouldGatherDistinctTraversersInFixedBarrier() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 1, 1, 2, 2, 3).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 2);
+        traversal.addStep(barrier);
+
+        // the first round holds 1 and 2 with all their duplicates before 3 starts the next round
+        assertEquals(6, traversal.toList().size());
+        assertEquals(6, barrier.getStartCount());
+        assertEquals(2, barrier.getMergeCount());
+    }
+
+    @Test
+    public void shouldResetAdaptiveBarrier() {
+        final Integer[] starts = new Integer[5000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 1000, 10000);
+        traversal.addStep(barrier);
+        traversal.iterate();
+        assertTrue(barrier.isBypassed());
+
+        barrier.reset();
+        assertEquals(1000, barrier.getBarrierSize());
+        assertFalse(barrier.isBypassed());
+        assertEquals(0, barrier.getStartCount());
+        assertEquals(0, barrier.getMergeCount());
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ApproximateDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ExactDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillingDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class DedupStrategyTest {
+
+    @Test
+    public void shouldSetDuplicateSetOfDedupSteps() {
+        final DedupStrategy strategy = DedupStrategy.build().spill(1000).create();
+        final Traversal.Admin<?, ?> traversal = __.out().dedup().out().dedup().by("name").asAdmin();
+        strategy.apply(traversal);
+        final List<DedupGlobalStep> steps = TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal);
+        assertEquals(2, steps.size());
+        steps.forEach(step -> {
+            assertEquals(strategy.getDuplicateSetSupplier(), step.getDuplicateSetSupplier());
+            assertTrue(step.getDuplicateSetSupplier().get() instanceof SpillingDuplicateSet);
+        });
+    }
+
+    @Test
+    public void shouldDefaultToExactDuplicateSet() {
+        assertTrue(DedupStrategy.build().create().getDuplicateSetSupplier().get() instanceof ExactDuplicateSet);
+        assertTrue(new DedupGlobalStep<>(__.identity().asAdmin()).getDuplicateSetSupplier().get() instanceof ExactDuplicateSet);
+    }
+
+    @Test
+    public void shouldDedupApproximately() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 2, 2, 3, 1, 4).dedup().asAdmin();
+        DedupStrategy.build().approximate(100, 0.001d).create().apply(traversal);
+        assertTrue(TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal).get(0).getDuplicateSetSupplier().get() instanceof ApproximateDuplicateSet);
+        assertEquals(4, traversal.toList().size());
+    }
+
+    @Test
+    public void shouldDeleteSpilledObjectsWhenTraversalIsReset() throws Exception {
+        final File directory = Files.createTempDirectory("dedup").toFile();
+        final Integer[] starts = new Integer[200];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i % 100;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).dedup().asAdmin();
+        DedupStrategy.build().spill(10, directory).create().apply(traversal);
+        // a partly iterated traversal holds its spilled objects until it is reset
+        for (int i = 0; i < 50; i++) {
+            traversal.next();
+        }
+        assertEquals(1, directory.list().length);
+        traversal.reset();
+        assertEquals(0, directory.list().length);
+        // as does a traversal that is iterated to its end
+        final Traversal.Admin<Integer, Integer> fullTraversal = __.inject(starts).dedup().asAdmin();
+        DedupStrategy.build().spill(10, directory).create().apply(fullTraversal);
+        assertEquals(100, fullTraversal.toList().size());
+        assertEquals(1, directory.list().length);
+        fullTraversal.reset();
+        assertEquals(0, directory.list().length);
+        directory.delete();
+    }
+}
@@ -24,7 +24,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.junit.Before;
 import org.junit.Test;
@@ -89,15 +91,19 @@ public class LazyBarrierStrategyTest {
         }
 
         static Iterable<Object[]> generateTestParameters() {
-            final int size = LazyBarrierStrategy.MAX_BARRIER_SIZE;
             return Arrays.asList(new Traversal[][]{
                     {__.out().count(), __.out().count()},
                     {__.out().out().count(), __.out().out().count()},
-                    {__.out().out().out().count(), __.out().out().barrier(size).out().barrier(size).count()},
-                    {__.outE().inV().outE().inV().outE().inV().groupCount(), __.outE().inV().outE().inV().barrier(size).outE().inV().barrier(size).groupCount()},
-                    {__.out().out().has("age", 32).out().count(), __.out().out().barrier(size).has("age", 32).out().barrier(size).count()},
+                    {__.out().out().out().count(), barrier(barrier(__.out().out()).out()).count()},
+                    {__.outE().inV().outE().inV().outE().inV().groupCount(), barrier(barrier(__.outE().inV().outE().inV()).outE().inV()).groupCount()},
+                    {__.out().out().has("age", 32).out().count(), barrier(barrier(__.out().out()).has("age", 32).out()).count()},
+                    {__.out().out().out().path(), __.out().out().out().path()},
             });
         }
+
+        private static <S, E> GraphTraversal<S, E> barrier(final GraphTraversal<S, E> traversal) {
+            return traversal.asAdmin().addStep(new NoOpBarrierStep<>(traversal.asAdmin(), LazyBarrierStrategy.INITIAL_BARRIER_SIZE, LazyBarrierStrategy.MAX_BARRIER_SIZE));
+        }
     }
 
 }
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderRangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent (agent@local)
+ */
+@RunWith(Enclosed.class)
+public class OrderRangeStrategyTest {
+
+    @RunWith(Parameterized.class)
+    public static class StandardTest extends AbstractOrderRangeStrategyTest {
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> data() {
+            return generateTestParameters();
+        }
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal original;
+
+        @Parameterized.Parameter(value = 1)
+        public List<Class<? extends Step>> optimized;
+
+        @Before
+        public void setup() {
+            this.traversalEngine = mock(TraversalEngine.class);
+            when(this.traversalEngine.getType()).thenReturn(TraversalEngine.Type.STANDARD);
+        }
+
+        @Test
+        public void shouldApplyStrategy() {
+            doTest(original, optimized);
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ComputerTest extends AbstractOrderRangeStrategyTest {
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> data() {
+            return generateTestParameters();
+        }
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal original;
+
+        @Parameterized.Parameter(value = 1)
+        public List<Class<? extends Step>> optimized;
+
+        @Before
+        public void setup() {
+            this.traversalEngine = mock(TraversalEngine.class);
+            when(this.traversalEngine.getType()).thenReturn(TraversalEngine.Type.COMPUTER);
+        }
+
+        @Test
+        public void shouldApplyStrategy() {
+            doTest(original, optimized);
+        }
+    }
+
+    public static class OrderRangeGlobalStepTest {
+
+        @Test
+        public void shouldKeepTopTraversersByBulk() {
+            final OrderRangeGlobalStep<Integer> step = new OrderRangeGlobalStep<>(EmptyTraversal.instance(), 1, 4);
+            step.addComparator((Comparator) Order.decr);
+            final List<Traverser.Admin<Integer>> top = step.top(traversers(1, 1, 5, 2, 3, 1, 9, 1, 4, 3).iterator());
+
+            // the 9, the 5s and the 4s cover the high end of the range so nothing worse is held
+            assertEquals(Arrays.asList(9, 5, 4), top.stream().map(Traverser::get).collect(Collectors.toList()));
+            assertEquals(Arrays.asList(1l, 2l, 3l), top.stream().map(Traverser::bulk).collect(Collectors.toList()));
+        }
+
+        @Test
+        public void shouldRangeLikeOrderThenRange() {
+            final List<Traverser.Admin<Integer>> traversers = traversers(1, 1, 5, 2, 3, 1, 9, 1, 4, 3, 7, 2);
+            final List<Integer> expected = new ArrayList<>();
+            traversers.forEach(t -> expected.addAll(Collections.nCopies((int) t.bulk(), t.get())));
+            Collections.sort(expected);
+
+            for (int low = 0; low <= expected.size(); low++) {
+                for (int high = low; high <= expected.size() + 1; high++) {
+                    final OrderRangeGlobalStep<Integer> step = new OrderRangeGlobalStep<>(EmptyTraversal.instance(), low, high);
+                    final List<Integer> actual = new ArrayList<>();
+                    step.range(step.top(traversers(1, 1, 5, 2, 3, 1, 9, 1, 4, 3, 7, 2).iterator()))
+                            .forEachRemaining(t -> actual.addAll(Collections.nCopies((int) t.bulk(), t.get())));
+                    assertEquals(expected.subList(low, Math.min(high, expected.size())), actual);
+                }
+            }
+        }
+
+        @Test
+        public void shouldMergePartialTops() {
+            final OrderRangeGlobalStep<Integer> step = new OrderRangeGlobalStep<>(EmptyTraversal.instance(), 0, 3);
+            final List<Traverser.Admin<Integer>> partials = new ArrayList<>();
+            partials.addAll(step.top(traversers(8, 1, 6, 2, 4, 1).iterator()));
+            partials.addAll(step.top(traversers(5, 1, 3, 1, 7, 1).iterator()));
+            final List<Integer> actual = new ArrayList<>();
+            step.range(step.top(partials.iterator())).forEachRemaining(t -> actual.addAll(Collections.nCopies((int) t.bulk(), t.get())));
+            assertEquals(Arrays.asList(3, 4, 5), actual);
+        }
+
+        private static List<Traverser.Admin<Integer>> traversers(final int... objectsAndBulks) {
+            final List<Traverser.Admin<Integer>> traversers = new ArrayList<>();
+            for (int i = 0; i < objectsAndBulks.length; i = i + 2) {
+                traversers.add(new B_O_Traverser<>(objectsAndBulks[i], objectsAndBulks[i + 1]));
+            }
+            return traversers;
+        }
+    }
+
+    private static abstract class AbstractOrderRangeStrategyTest {
+
+        protected TraversalEngine traversalEngine;
+
+        void applyOrderRangeStrategy(final Traversal traversal) {
+            final TraversalStrategies strategies = new DefaultTraversalStrategies();
+            strategies.addStrategies(OrderRangeStrategy.instance(), IdentityRemovalStrategy.instance());
+
+            traversal.asAdmin().setStrategies(strategies);
+            traversal.asAdmin().setEngine(this.traversalEngine);
+            traversal.asAdmin().applyStrategies();
+        }
+
+        public void doTest(final Traversal traversal, final List<Class<? extends Step>> optimized) {
+            applyOrderRangeStrategy(traversal);
+            assertEquals(optimized, IteratorUtils.list(IteratorUtils.map(traversal.asAdmin().getSteps().iterator(), Object::getClass)));
+            traversal.asAdmin().getSteps().stream().filter(step -> step instanceof OrderRangeGlobalStep).forEach(step ->
+                    assertTrue(((OrderRangeGlobalStep) step).getHighRange() >= 0));
+        }
+
+        static Iterable<Object[]> generateTestParameters() {
+
+            return Arrays.asList(new Object[][]{
+                    {__.order().limit(10), Collections.singletonList(OrderRangeGlobalStep.class)},
+                    {__.order().by("age", Order.decr).range(5, 10), Collections.singletonList(OrderRangeGlobalStep.class)},
+                    {__.order().identity().limit(10), Collections.singletonList(OrderRangeGlobalStep.class)},
+                    {__.order().range(5, -1), Arrays.asList(OrderGlobalStep.class, RangeGlobalStep.class)},
+                    {__.limit(10).order(), Arrays.asList(RangeGlobalStep.class, OrderGlobalStep.class)},
+                    {__.order().as("a").limit(10).as("b"), Collections.singletonList(OrderRangeGlobalStep.class)}});
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeEqualTraversers() {
+        final TraverserSet<String> traverserSet = new TraverserSet<>();
+        assertTrue(traverserSet.add(traverser("a", 1)));
+        assertTrue(traverserSet.add(traverser("b", 2)));
+        assertFalse(traverserSet.add(traverser("a", 3)));
+
+        assertEquals(2, traverserSet.size());
+        assertEquals(6l, traverserSet.bulkSize());
+        assertEquals(4l, traverserSet.get(traverser("a", 1)).bulk());
+        assertTrue(traverserSet.contains(traverser("b", 1)));
+        assertFalse(traverserSet.contains(traverser("c", 1)));
+    }
+
+    @Test
+    public void shouldRemoveInTheOrderAdded() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 1000; i++) {
+            traverserSet.add(traverser(i, 1));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, traverserSet.remove().get().intValue());
+            traverserSet.add(traverser(i + 1000, 1));
+        }
+        for (int i = 1000; i < 2000; i++) {
+            assertEquals(i, traverserSet.poll().get().intValue());
+        }
+        assertTrue(traverserSet.isEmpty());
+        assertNull(traverserSet.poll());
+        assertNull(traverserSet.peek());
+    }
+
+    @Test
+    public void shouldCompactRatherThanGrowWhenTraversersAreRemoved() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        traverserSet.add(traverser(-1, 1));
+        for (int i = 0; i < 100; i++) {
+            traverserSet.add(traverser(i, 1));
+            assertTrue(traverserSet.remove(traverser(i, 1)));
+        }
+        for (int i = 0; i < 5; i++) {
+            traverserSet.add(traverser(i, 1));
+        }
+
+        assertEquals(6, traverserSet.size());
+        for (int i = -1; i < 5; i++) {
+            assertEquals(i, traverserSet.remove().get().intValue());
+        }
+        assertTrue(traverserSet.isEmpty());
+    }
+
+    @Test
+    public void shouldFindTraversersAfterOthersAreRemoved() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 500; i++) {
+            traverserSet.add(traverser(i * 16, 1));  // collide in the low bits of the hash
+        }
+        for (int i = 0; i < 500; i = i + 3) {
+            assertTrue(traverserSet.remove(traverser(i * 16, 1)));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 3 != 0, traverserSet.contains(traverser(i * 16, 1)));
+        }
+        assertEquals(333, traverserSet.size());
+    }
+
+    @Test
+    public void shouldRemoveThroughIterator() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 10; i++) {
+            traverserSet.add(traverser(i, 1));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = traverserSet.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(5, traverserSet.size());
+        assertEquals(1, traverserSet.peek().get().intValue());
+        assertEquals(25l, traverserSet.stream().mapToLong(Traverser::get).sum());
+    }
+
+    @Test
+    public void shouldRemoveTraverserThatChangedAfterItWasAdded() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        final Traverser.Admin<Integer> traverser = traverser(1, 1);
+        traverserSet.add(traverser);
+        traverserSet.add(traverser(2, 1));
+        traverser.set(100);
+
+        assertSame(traverser, traverserSet.remove());
+        assertEquals(1, traverserSet.size());
+        assertEquals(2, traverserSet.remove().get().intValue());
+        assertTrue(traverserSet.isEmpty());
+    }
+
+    @Test
+    public void shouldSortTraversers() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (final int i : new int[]{5, 3, 9, 1, 7}) {
+            traverserSet.add(traverser(i, i));
+        }
+        traverserSet.remove(traverser(9, 1));
+        traverserSet.sort(Comparator.comparing(Traverser::get));
+
+        final List<Integer> sorted = new ArrayList<>();
+        traverserSet.forEach(t -> sorted.add(t.get()));
+        assertEquals("[1, 3, 5, 7]", sorted.toString());
+        assertEquals(16l, traverserSet.bulkSize());
+        assertEquals("[1, 3, 5, 7]", traverserSet.stream().map(Traverser::get).collect(Collectors.toList()).toString());
+    }
+
+    @Test
+    public void shouldSerializeTheTraversersAndRebuildTheTable() throws Exception {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            traverserSet.add(traverser(i, i + 1));
+        }
+        for (int i = 0; i < 100; i = i + 2) {
+            traverserSet.remove(traverser(i, 1));
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(traverserSet);
+        }
+        final TraverserSet<Integer> read;
+        try (final ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (TraverserSet<Integer>) inputStream.readObject();
+        }
+
+        assertEquals(50, read.size());
+        assertEquals(traverserSet.bulkSize(), read.bulkSize());
+        assertEquals(traverserSet.stream().map(Traverser::get).collect(Collectors.toList()), read.stream().map(Traverser::get).collect(Collectors.toList()));
+        assertFalse(read.add(traverser(99, 1)));
+        assertEquals(101l, read.get(traverser(99, 1)).bulk());
+        assertTrue(read.add(traverser(100, 1)));
+        assertEquals(1, read.remove().get().intValue());
+    }
+
+    private static <S> Traverser.Admin<S> traverser(final S s, final long bulk) {
+        return new B_O_Traverser<>(s, bulk);
+    }
+}
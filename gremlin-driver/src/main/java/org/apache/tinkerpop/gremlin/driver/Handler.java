@@ -25,6 +25,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.util.ReferenceCountUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
@@ -56,8 +57,9 @@ final class Handler {
                     if (data instanceof List) {
                         // unrolls the collection into individual results to be handled by the queue.
                         final List<Object> listToUnroll = (List<Object>) data;
-                        final ResultQueue queue = pending.get(response.getRequestId());
-                        listToUnroll.forEach(item -> queue.add(new Result(item)));
+                        final List<Result> results = new ArrayList<>(listToUnroll.size());
+                        listToUnroll.forEach(item -> results.add(new Result(item)));
+                        pending.get(response.getRequestId()).addAll(results);
                     } else {
                         // since this is not a list it can just be added to the queue
                         pending.get(response.getRequestId()).add(new Result(response.getResult().getData()));
@@ -19,16 +19,20 @@
 package org.apache.tinkerpop.gremlin.driver;
 
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.javatuples.Pair;
 
+import java.util.Collection;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A queue of incoming {@link ResponseMessage} objects.  The queue is updated by the
  * {@link Handler.GremlinResponseHandler} until a response terminator is identified.  At that point the fetch
- * status is changed to {@link Status#COMPLETE} and all results have made it client side.
+ * status is changed to {@link Status#COMPLETE} and all results have made it client side.  Consumers do not poll the
+ * queue while waiting - they {@link #await} a future that completes when the items they need have arrived.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -46,6 +50,11 @@ final class ResultQueue {
 
     private final CompletableFuture<Void> readComplete;
 
+    /**
+     * Futures of consumers waiting on a number of items to be available.
+     */
+    private final Queue<Pair<Integer, CompletableFuture<Integer>>> waiting = new ConcurrentLinkedQueue<>();
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
@@ -53,6 +62,15 @@ final class ResultQueue {
 
     public void add(final Result result) {
         this.resultLinkedBlockingQueue.offer(result);
+        if (!waiting.isEmpty()) notifyWaiting();
+    }
+
+    /**
+     * Adds a batch of results, notifying waiting consumers once for the whole batch.
+     */
+    public void addAll(final Collection<Result> results) {
+        results.forEach(this.resultLinkedBlockingQueue::offer);
+        if (!waiting.isEmpty()) notifyWaiting();
     }
 
     public int size() {
@@ -65,20 +83,35 @@ final class ResultQueue {
         return this.size() == 0;
     }
 
+    /**
+     * Gets the next {@link Result} if one is available without waiting for it.
+     */
     public Result poll() {
-        Result result = null;
-        do {
-            if (error.get() != null) throw new RuntimeException(error.get());
-            try {
-                result = resultLinkedBlockingQueue.poll(10, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException ie) {
-                error.set(new RuntimeException(ie));
-            }
-        } while (null == result && status == Status.FETCHING);
+        if (error.get() != null) throw new RuntimeException(error.get());
+        return resultLinkedBlockingQueue.poll();
+    }
 
+    /**
+     * Moves all available results to the collection in one pass over the queue.
+     */
+    public int drainTo(final Collection<Result> collection) {
         if (error.get() != null) throw new RuntimeException(error.get());
+        return resultLinkedBlockingQueue.drainTo(collection);
+    }
 
-        return result;
+    /**
+     * Gets a future that completes with the number of available items once there are at least the specified
+     * number of them or once all items have arrived, in which case there may be fewer.  The future completes
+     * exceptionally if an error is returned for the request.  Note that the future may complete in the thread that
+     * reads from the channel so dependent work should be executed elsewhere.
+     */
+    public CompletableFuture<Integer> await(final int items) {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        waiting.add(Pair.with(items, future));
+
+        // results or the terminator may have arrived before the future was added
+        notifyWaiting();
+        return future;
     }
 
     public Status getStatus() {
@@ -88,10 +121,30 @@ final class ResultQueue {
     void markComplete() {
         this.status = Status.COMPLETE;
         this.readComplete.complete(null);
+        notifyWaiting();
     }
 
     void markError(final Throwable throwable) {
         error.set(throwable);
         this.readComplete.complete(null);
+        notifyWaiting();
+    }
+
+    private void notifyWaiting() {
+        waiting.removeIf(w -> {
+            final Throwable t = error.get();
+            if (t != null) {
+                w.getValue1().completeExceptionally(t);
+                return true;
+            }
+
+            final int available = resultLinkedBlockingQueue.size();
+            if (status == Status.COMPLETE || available >= w.getValue0()) {
+                w.getValue1().complete(available);
+                return true;
+            }
+
+            return false;
+        });
     }
 }
@@ -19,6 +19,8 @@
 package org.apache.tinkerpop.gremlin.driver;
 
 import io.netty.channel.Channel;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -26,7 +28,9 @@ import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -52,6 +56,17 @@ public final class ResultSet implements Iterable<Result> {
         this.resultQueue = resultQueue;
         this.channel = channel;
         this.onChannelError = onChannelError;
+
+        // anyone waiting on results that will never arrive needs to hear about it. the listener has to go once the
+        // stream is done as the channel is shared by many requests
+        final GenericFutureListener<Future<? super Void>> onClose = f -> {
+            if (!allItemsAvailable()) {
+                onChannelError.get();
+                resultQueue.markError(new RuntimeException("Error while processing results from channel - check client and server logs for more information"));
+            }
+        };
+        channel.closeFuture().addListener(onClose);
+        resultQueue.await(Integer.MAX_VALUE).whenComplete((v, t) -> channel.closeFuture().removeListener(onClose));
     }
 
     /**
@@ -85,17 +100,13 @@ public final class ResultSet implements Iterable<Result> {
      * Get the next {@link Result} from the stream, blocking until one is available.
      */
     public Result one() {
-        Result result = resultQueue.poll();
+        final Result result = resultQueue.poll();
         if (result != null)
             return result;
 
         internalAwaitItems(1);
 
-        result = resultQueue.poll();
-        if (result != null)
-            return result;
-        else
-            return null;
+        return resultQueue.poll();
     }
 
     /**
@@ -104,26 +115,34 @@ public final class ResultSet implements Iterable<Result> {
      */
     public CompletableFuture<Integer> awaitItems(final int items) {
         if (allItemsAvailable())
-            CompletableFuture.completedFuture(getAvailableItemCount());
+            return CompletableFuture.completedFuture(getAvailableItemCount());
 
-        return CompletableFuture.supplyAsync(() -> internalAwaitItems(items), executor);
+        return resultQueue.await(items).thenApplyAsync(available -> available, executor);
     }
 
     /**
      * Wait for all items to be available on the client exhausting the stream.
      */
     public CompletableFuture<List<Result>> all() {
-        return CompletableFuture.supplyAsync(() -> {
-            final List<Result> list = new ArrayList<>();
-            while (!isExhausted()) {
-                final Result result = resultQueue.poll();
-                if (result != null)
-                    list.add(result);
-            }
+        return resultQueue.await(Integer.MAX_VALUE).thenApplyAsync(available -> {
+            final List<Result> list = new ArrayList<>(available);
+            resultQueue.drainTo(list);
             return list;
         }, executor);
     }
 
+    /**
+     * Passes each item to the {@code consumer} as it arrives on the client exhausting the stream.  The consumer is
+     * called from the executor of the driver, one batch of available items at a time and never concurrently.  The
+     * returned future completes once all items have been consumed or exceptionally if the request or the
+     * consumer fails.
+     */
+    public CompletableFuture<Void> forEachAsync(final Consumer<Result> consumer) {
+        final CompletableFuture<Void> consumed = new CompletableFuture<>();
+        consumeAvailable(consumer, consumed);
+        return consumed;
+    }
+
     /**
      * Stream items with a blocking iterator.
      */
@@ -152,14 +171,37 @@ public final class ResultSet implements Iterable<Result> {
         };
     }
 
-    private int internalAwaitItems(final int items) {
-        while (!allItemsAvailable() && getAvailableItemCount() < items) {
-            if (!channel.isOpen()) {
-                onChannelError.get();
-                throw new RuntimeException("Error while processing results from channel - check client and server logs for more information");
+    private void consumeAvailable(final Consumer<Result> consumer, final CompletableFuture<Void> consumed) {
+        resultQueue.await(1).whenCompleteAsync((available, t) -> {
+            if (t != null) {
+                consumed.completeExceptionally(t);
+                return;
             }
-        }
 
-        return getAvailableItemCount();
+            try {
+                final List<Result> batch = new ArrayList<>(available);
+                resultQueue.drainTo(batch);
+                batch.forEach(consumer);
+
+                // items may arrive after the drain so the stream is only done when nothing is left behind
+                if (allItemsAvailable() && resultQueue.isEmpty())
+                    consumed.complete(null);
+                else
+                    consumeAvailable(consumer, consumed);
+            } catch (Exception ex) {
+                consumed.completeExceptionally(ex);
+            }
+        }, executor);
+    }
+
+    private int internalAwaitItems(final int items) {
+        try {
+            return resultQueue.await(items).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        } catch (ExecutionException ee) {
+            throw new RuntimeException(ee.getCause());
+        }
     }
 }
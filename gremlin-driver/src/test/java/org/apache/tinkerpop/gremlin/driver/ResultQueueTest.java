@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ResultQueueTest {
+    private final CompletableFuture<Void> readComplete = new CompletableFuture<>();
+    private final ResultQueue resultQueue = new ResultQueue(new LinkedBlockingQueue<>(), readComplete);
+
+    @Test
+    public void shouldCompleteAwaitWhenItemsArrive() throws Exception {
+        final CompletableFuture<Integer> future = resultQueue.await(3);
+        resultQueue.add(new Result(1));
+        assertFalse(future.isDone());
+
+        resultQueue.addAll(Arrays.asList(new Result(2), new Result(3)));
+        assertEquals(3, future.get().intValue());
+    }
+
+    @Test
+    public void shouldCompleteAwaitImmediatelyIfItemsAlreadyArrived() throws Exception {
+        resultQueue.addAll(Arrays.asList(new Result(1), new Result(2)));
+        final CompletableFuture<Integer> future = resultQueue.await(2);
+        assertTrue(future.isDone());
+        assertEquals(2, future.get().intValue());
+    }
+
+    @Test
+    public void shouldCompleteAwaitWithFewerItemsOnceComplete() throws Exception {
+        final CompletableFuture<Integer> future = resultQueue.await(Integer.MAX_VALUE);
+        resultQueue.add(new Result(1));
+        assertFalse(future.isDone());
+
+        resultQueue.markComplete();
+        assertEquals(1, future.get().intValue());
+        assertTrue(readComplete.isDone());
+    }
+
+    @Test
+    public void shouldDrainAllAvailableItems() {
+        resultQueue.addAll(Arrays.asList(new Result(1), new Result(2), new Result(3)));
+        final List<Result> drained = new ArrayList<>();
+        assertEquals(3, resultQueue.drainTo(drained));
+        assertEquals(3, drained.size());
+        assertTrue(resultQueue.isEmpty());
+        assertEquals(null, resultQueue.poll());
+    }
+
+    @Test
+    public void shouldCompleteAwaitExceptionallyOnError() throws Exception {
+        final CompletableFuture<Integer> future = resultQueue.await(1);
+        final Exception error = new Exception("bad");
+        resultQueue.markError(error);
+
+        try {
+            future.get();
+            fail("Should have failed with the error given to the queue");
+        } catch (ExecutionException ee) {
+            assertSame(error, ee.getCause());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.groovy.SecurityCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.DependencyManager;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngineFactory;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.ScriptClassCache;
 import org.apache.tinkerpop.gremlin.groovy.plugin.GremlinPlugin;
 import org.apache.tinkerpop.gremlin.groovy.plugin.IllegalEnvironmentException;
 import org.kohsuke.groovy.sandbox.GroovyInterceptor;
@@ -46,6 +47,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -264,6 +266,15 @@ public class ScriptEngines implements AutoCloseable {
         }
     }
 
+    /**
+     * Gets the cache of classes compiled from scripts for the language if its {@code ScriptEngine} has one.
+     */
+    public Optional<ScriptClassCache> getClassCache(final String language) {
+        final ScriptEngine scriptEngine = scriptEngines.get(language);
+        return scriptEngine instanceof GremlinGroovyScriptEngine ?
+                Optional.of(((GremlinGroovyScriptEngine) scriptEngine).getClassCache()) : Optional.empty();
+    }
+
     /**
      * List dependencies for those {@code ScriptEngine} objects that implement the {@link DependencyManager} interface.
      */
@@ -341,8 +352,17 @@ public class ScriptEngines implements AutoCloseable {
                 }
             }
 
+            final ScriptClassCache.Builder classCache = ScriptClassCache.build();
+            if (config.containsKey("classCacheMaximumSize"))
+                classCache.maximumSize(((Number) config.get("classCacheMaximumSize")).longValue());
+            if (config.containsKey("classCacheExpireAfterIdle"))
+                classCache.expireAfterIdle(((Number) config.get("classCacheExpireAfterIdle")).longValue(), TimeUnit.MILLISECONDS);
+            if (config.containsKey("classCacheEviction"))
+                classCache.eviction(ScriptClassCache.Eviction.valueOf(config.get("classCacheEviction").toString().toUpperCase()));
+
             return Optional.of((ScriptEngine) new GremlinGroovyScriptEngine(
-                    new DefaultImportCustomizerProvider(imports, staticImports), securityCustomizerProvider));
+                    new DefaultImportCustomizerProvider(imports, staticImports), securityCustomizerProvider,
+                    GremlinGroovyScriptEngine.DEFAULT_SCRIPT_EVALUATION_TIMEOUT, classCache.create()));
         } else {
             return Optional.ofNullable(SCRIPT_ENGINE_MANAGER.getEngineByName(language));
         }
@@ -101,7 +101,7 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     /**
      * Script to generated Class map.
      */
-    private ManagedConcurrentValueMap<String, Class> classMap = new ManagedConcurrentValueMap<>(ReferenceBundle.getSoftBundle());
+    private final ScriptClassCache classCache;
 
     /**
      * Global closures map - this is used to simulate a single global functions namespace
@@ -150,10 +150,21 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     public GremlinGroovyScriptEngine(final ImportCustomizerProvider importCustomizerProvider,
                                      final SecurityCustomizerProvider securityCustomizerProvider,
                                      final long scriptEvaluationTimeout) {
+        this(importCustomizerProvider, securityCustomizerProvider, scriptEvaluationTimeout, ScriptClassCache.build().create());
+    }
+
+    public GremlinGroovyScriptEngine(final ImportCustomizerProvider importCustomizerProvider,
+                                     final SecurityCustomizerProvider securityCustomizerProvider,
+                                     final long scriptEvaluationTimeout,
+                                     final ScriptClassCache classCache) {
         GremlinLoader.load();
         this.importCustomizerProvider = importCustomizerProvider;
         this.securityProvider = Optional.ofNullable(securityCustomizerProvider);
         this.scriptEvaluationTimeout = scriptEvaluationTimeout;
+        this.classCache = classCache;
+
+        // evicted classes are also removed from the classloader so that they can be unloaded
+        this.classCache.setRemovalListener(clazz -> loader.removeClassCacheEntry(clazz.getName()));
         createClassLoader();
     }
 
@@ -250,7 +261,7 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
 
         // must clear the local cache here because the the classloader has been reset.  therefore, classes previously
         // referenced before that might not have evaluated might cleanly evaluate now.
-        this.classMap.clear();
+        this.classCache.clear();
         this.globalClosures.clear();
 
         this.loadedPlugins.clear();
@@ -362,16 +373,19 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     Class getScriptClass(final String script) throws SyntaxException, CompilationFailedException, IOException {
         ensureSandbox();
 
-        Class clazz = classMap.get(script);
-        if (clazz != null) return clazz;
-
-        clazz = loader.parseClass(script, generateScriptName());
-        classMap.put(script, clazz);
-        return clazz;
+        // concurrent requests for the same script that is not yet cached wait on a single compilation
+        return classCache.get(script, s -> loader.parseClass(s, generateScriptName()));
     }
 
     boolean isCached(final String script) {
-        return classMap.get(script) != null;
+        return classCache.contains(script);
+    }
+
+    /**
+     * Gets the cache of classes compiled from scripts, which provides statistics on its use.
+     */
+    public ScriptClassCache getClassCache() {
+        return classCache;
     }
 
     Object eval(final Class scriptClass, final ScriptContext context) throws ScriptException {
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Holds the classes compiled from scripts by the {@link GremlinGroovyScriptEngine}, keyed by the script text.  The
+ * cache is bounded by a maximum number of scripts and, optionally, by the time a script may go without being used.
+ * Concurrent requests for a script that is not yet cached compile it once with the others waiting on that result.
+ *
+ * @author agent (agent@local)
+ */
+public final class ScriptClassCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * The order in which scripts are evicted once the cache exceeds its maximum size.
+     */
+    public enum Eviction {
+        /**
+         * Evicts the scripts that were least recently used.
+         */
+        LRU,
+
+        /**
+         * Evicts the scripts that were least frequently used, breaking ties by the least recently used.
+         */
+        LFU
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long maximumSize;
+    private final long expireAfterIdleNanos;
+    private final Eviction eviction;
+    private volatile Consumer<Class> removalListener = c -> {};
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile LongConsumer compilationListener = nanos -> {};
+    private volatile long lastIdleSweep = System.nanoTime();
+
+    private ScriptClassCache(final Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.expireAfterIdleNanos = builder.expireAfterIdleNanos;
+        this.eviction = builder.eviction;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the class for the script, compiling it with the {@code compiler} if it is not cached.  If another thread
+     * is already compiling the same script, this call waits for that compilation rather than starting its own.
+     */
+    public Class get(final String script, final Function<String, Class> compiler) {
+        final long now = System.nanoTime();
+        final Entry cached = entries.get(script);
+        if (cached != null) {
+            if (!cached.isIdle(now)) return hit(cached, now);
+            if (entries.remove(script, cached)) evicted(cached);
+        }
+
+        final Entry created = new Entry(now);
+        final Entry existing = entries.putIfAbsent(script, created);
+        if (existing != null) return hit(existing, now);
+
+        misses.increment();
+        final Class clazz;
+        try {
+            final long start = System.nanoTime();
+            clazz = compiler.apply(script);
+            compilationListener.accept(System.nanoTime() - start);
+        } catch (RuntimeException | Error ex) {
+            // don't hold failures so that the script compiles again on the next request
+            entries.remove(script, created);
+            created.future.completeExceptionally(ex);
+            throw ex;
+        }
+
+        created.future.complete(clazz);
+        if (entries.size() > maximumSize || (expireAfterIdleNanos > 0 && now - lastIdleSweep > expireAfterIdleNanos))
+            evict();
+
+        return clazz;
+    }
+
+    /**
+     * Determines if the compiled class for the script is in the cache.
+     */
+    public boolean contains(final String script) {
+        final Entry entry = entries.get(script);
+        return entry != null && entry.future.isDone() && !entry.future.isCompletedExceptionally()
+                && !entry.isIdle(System.nanoTime());
+    }
+
+    /**
+     * Removes all scripts from the cache.  This does not count as evictions.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Sets a listener that is given the time in nanoseconds that each script took to compile.
+     */
+    public void setCompilationListener(final LongConsumer compilationListener) {
+        this.compilationListener = null == compilationListener ? nanos -> {} : compilationListener;
+    }
+
+    /**
+     * Sets a function called with each class that is evicted, so that the class loader that compiled it can let go
+     * of it as well.
+     */
+    void setRemovalListener(final Consumer<Class> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    private Class hit(final Entry entry, final long now) {
+        hits.increment();
+        entry.lastAccess = now;
+        entry.accessCount.incrementAndGet();
+        return entry.await();
+    }
+
+    private void evicted(final Entry entry) {
+        evictions.increment();
+        if (entry.future.isDone() && !entry.future.isCompletedExceptionally())
+            removalListener.accept(entry.future.getNow(null));
+    }
+
+    private synchronized void evict() {
+        final long now = System.nanoTime();
+        final List<Map.Entry<String, Entry>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Entry> kv : entries.entrySet()) {
+            // scripts still compiling are left alone - they are about to be used
+            if (!kv.getValue().future.isDone()) continue;
+
+            if (kv.getValue().isIdle(now)) {
+                if (entries.remove(kv.getKey(), kv.getValue())) evicted(kv.getValue());
+            } else {
+                candidates.add(kv);
+            }
+        }
+        lastIdleSweep = now;
+
+        final long excess = entries.size() - maximumSize;
+        if (excess <= 0) return;
+
+        // evict a tenth of the capacity beyond the bound so that a full cache doesn't sort on each compilation
+        final long toEvict = Math.min(candidates.size(), excess + maximumSize / 10);
+        final Comparator<Entry> lru = Comparator.comparingLong(e -> e.lastAccess);
+        final Comparator<Entry> order = eviction == Eviction.LFU ?
+                Comparator.<Entry>comparingLong(e -> e.accessCount.get()).thenComparing(lru) : lru;
+        candidates.sort((a, b) -> order.compare(a.getValue(), b.getValue()));
+        for (int ix = 0; ix < toEvict; ix++) {
+            final Map.Entry<String, Entry> kv = candidates.get(ix);
+            if (entries.remove(kv.getKey(), kv.getValue())) evicted(kv.getValue());
+        }
+    }
+
+    private final class Entry {
+        private final CompletableFuture<Class> future = new CompletableFuture<>();
+        private final AtomicLong accessCount = new AtomicLong(1);
+        private volatile long lastAccess;
+
+        private Entry(final long now) {
+            this.lastAccess = now;
+        }
+
+        private boolean isIdle(final long now) {
+            return expireAfterIdleNanos > 0 && now - lastAccess > expireAfterIdleNanos;
+        }
+
+        private Class await() {
+            try {
+                return future.join();
+            } catch (CompletionException ce) {
+                final Throwable cause = ce.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw ce;
+            }
+        }
+    }
+
+    public final static class Builder {
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long expireAfterIdleNanos = 0;
+        private Eviction eviction = Eviction.LRU;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of scripts the cache holds before it evicts some.  Defaults to {@link #DEFAULT_MAXIMUM_SIZE}.
+         */
+        public Builder maximumSize(final long maximumSize) {
+            if (maximumSize < 1) throw new IllegalArgumentException("maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * The time a script can go unused before it is evicted.  If this value is zero, which is the default, scripts
+         * are only evicted by size.
+         */
+        public Builder expireAfterIdle(final long duration, final TimeUnit unit) {
+            if (duration < 0) throw new IllegalArgumentException("expireAfterIdle cannot be negative");
+            this.expireAfterIdleNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public Builder eviction(final Eviction eviction) {
+            this.eviction = eviction;
+            return this;
+        }
+
+        public ScriptClassCache create() {
+            return new ScriptClassCache(this);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ScriptClassCacheTest {
+
+    @Test
+    public void shouldCompileOnceForConcurrentRequestsOfSameScript() throws Exception {
+        final ScriptClassCache cache = ScriptClassCache.build().create();
+        final AtomicInteger compilations = new AtomicInteger(0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(50);
+        try {
+            final List<Future<Class>> futures = new ArrayList<>();
+            for (int ix = 0; ix < 50; ix++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("1+1", s -> {
+                        compilations.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException ie) {
+                            throw new RuntimeException(ie);
+                        }
+                        return String.class;
+                    });
+                }));
+            }
+
+            start.countDown();
+            for (Future<Class> f : futures) {
+                assertSame(String.class, f.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, compilations.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(49, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldNotCacheFailedCompilation() {
+        final ScriptClassCache cache = ScriptClassCache.build().create();
+        try {
+            cache.get("x", s -> {
+                throw new IllegalStateException("bad");
+            });
+            fail("Should have thrown the exception from the compiler");
+        } catch (IllegalStateException ise) {
+            assertEquals("bad", ise.getMessage());
+        }
+
+        assertFalse(cache.contains("x"));
+        assertSame(String.class, cache.get("x", s -> String.class));
+        assertTrue(cache.contains("x"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        final List<Class> removed = new ArrayList<>();
+        final ScriptClassCache cache = ScriptClassCache.build().maximumSize(2).eviction(ScriptClassCache.Eviction.LRU).create();
+        cache.setRemovalListener(removed::add);
+
+        cache.get("a", s -> String.class);
+        cache.get("b", s -> Integer.class);
+        cache.get("a", s -> String.class);
+        cache.get("c", s -> Long.class);
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, removed.size());
+        assertSame(Integer.class, removed.get(0));
+    }
+
+    @Test
+    public void shouldEvictLeastFrequentlyUsed() {
+        final ScriptClassCache cache = ScriptClassCache.build().maximumSize(2).eviction(ScriptClassCache.Eviction.LFU).create();
+
+        cache.get("a", s -> String.class);
+        cache.get("a", s -> String.class);
+        cache.get("a", s -> String.class);
+        cache.get("b", s -> Integer.class);
+        cache.get("b", s -> Integer.class);
+        cache.get("c", s -> Long.class);
+        cache.get("a", s -> String.class);
+
+        assertTrue(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertFalse(cache.contains("c"));
+    }
+
+    @Test
+    public void shouldExpireIdleScripts() throws Exception {
+        final ScriptClassCache cache = ScriptClassCache.build().expireAfterIdle(50, TimeUnit.MILLISECONDS).create();
+        cache.get("a", s -> String.class);
+        assertTrue(cache.contains("a"));
+
+        Thread.sleep(100);
+
+        assertFalse(cache.contains("a"));
+        cache.get("a", s -> String.class);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+}
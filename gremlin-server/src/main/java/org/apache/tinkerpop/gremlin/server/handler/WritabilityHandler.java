@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Holds callbacks that are waiting for the channel to become writeable again and runs each of them once when Netty
+ * signals that the write buffer has dropped below the {@code writeBufferLowWaterMark} or when the channel closes.
+ * This handler holds state for its channel and must therefore be added to each pipeline as a new instance.
+ *
+ * @author agent (agent@local)
+ */
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(WritabilityHandler.class);
+
+    private final Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs the callback once the channel is writeable.  If the channel is already writeable (or is closed) the
+     * callback runs immediately in the calling thread, otherwise it runs later in the event loop of the channel and
+     * should therefore not block.
+     *
+     * @return {@code false} if there is no {@code WritabilityHandler} in the pipeline of the channel in which case
+     * the callback was not registered
+     */
+    public static boolean whenWritable(final Channel channel, final Runnable callback) {
+        final WritabilityHandler handler = channel.pipeline().get(WritabilityHandler.class);
+        if (null == handler) return false;
+
+        if (channel.isWritable() || !channel.isActive()) {
+            callback.run();
+            return true;
+        }
+
+        handler.callbacks.offer(callback);
+
+        // writability may have changed between the check and adding the callback in which case no event will come
+        // to drain it
+        if (channel.isWritable() || !channel.isActive()) handler.runCallbacks();
+
+        return true;
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) runCallbacks();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        runCallbacks();
+        super.channelInactive(ctx);
+    }
+
+    private void runCallbacks() {
+        Runnable callback;
+        while ((callback = callbacks.poll()) != null) {
+            try {
+                callback.run();
+            } catch (Exception ex) {
+                logger.warn("Callback waiting on channel writability failed", ex);
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -45,8 +46,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -147,13 +151,8 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
 
             try {
                 handleIterator(context, itty);
-            } catch (TimeoutException ex) {
-                final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg, ex.getMessage());
-                logger.warn(errorMessage);
-                ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT).statusMessage(errorMessage).create());
             } catch (Exception ex) {
-                logger.warn(String.format("Exception processing a script on request [%s].", msg), ex);
-                ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
+                writeIterationError(context, ex);
             }
         });
 
@@ -180,6 +179,11 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
      * {@link Settings#serializedResponseTimeout} configuration and break the serialization process if
      * it begins to take too long to do so, throwing a {@link java.util.concurrent.TimeoutException} in such
      * cases.
+     * <p/>
+     * Iteration waits for the channel to signal that it is writeable again when the client is not keeping up.  If
+     * {@link #canPauseIteration} allows it, iteration returns from this method at that point and is resumed in the
+     * {@link GremlinExecutor} thread pool once the channel is writeable, in which case failures are written back
+     * to the client rather than thrown from here.
      *
      * @param context The Gremlin Server {@link Context} object containing settings, request message, etc.
      * @param itty The result to iterator
@@ -188,65 +192,192 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
     protected void handleIterator(final Context context, final Iterator itty) throws TimeoutException, InterruptedException {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
-        final Settings settings = context.getSettings();
-        boolean warnOnce = false;
 
-        if (!itty.hasNext())
+        if (!itty.hasNext()) {
             ctx.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
                     .create());
+            return;
+        }
+
+        new ResultIteration(context, itty, canPauseIteration(context)).iterate();
+    }
+
+    /**
+     * Determines if result iteration for the request may give up its thread while the channel is not writeable and
+     * resume later in another thread of the {@link GremlinExecutor} pool.  That is only safe when nothing about the
+     * request is bound to the thread that evaluated the script (e.g. a transaction) and is therefore {@code false}
+     * by default.
+     */
+    protected boolean canPauseIteration(final Context context) {
+        return false;
+    }
+
+    private static void writeIterationError(final Context context, final Exception ex) {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        if (ex instanceof TimeoutException) {
+            final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg, ex.getMessage());
+            logger.warn(errorMessage);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT).statusMessage(errorMessage).create());
+        } else {
+            logger.warn(String.format("Exception processing a script on request [%s].", msg), ex);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
+        }
+    }
+
+    /**
+     * The state of writing a result {@link Iterator} back to the client in batches.  Unless the request specifies
+     * its own batch size, the size of the batches is halved each time the client lags enough for the channel to
+     * exceed the {@code writeBufferHighWaterMark} and grows back by one with each batch written while it keeps up,
+     * never exceeding {@link Settings#resultIterationBatchSize}.
+     */
+    private static final class ResultIteration {
+        private final Context context;
+        private final ChannelHandlerContext ctx;
+        private final RequestMessage msg;
+        private final Settings settings;
+        private final Iterator itty;
+        private final boolean pausable;
+
+        private final int maxBatchSize;
+        private final boolean adaptive;
+        private int batchSize;
+        private List<Object> aggregate;
 
         // timer for the total serialization time
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
-        while (itty.hasNext()) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            if (aggregate.size() < resultIterationBatchSize) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if  (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-                    ctx.writeAndFlush(ResponseMessage.build(msg)
-                            .code(code)
-                            .result(aggregate).create());
-
-                    aggregate = new ArrayList<>(resultIterationBatchSize);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+        private final StopWatch stopWatch = new StopWatch();
+        private final AtomicBoolean paused = new AtomicBoolean(false);
+        private volatile ScheduledFuture<?> pauseTimeout;
+        private boolean warnOnce = false;
+
+        ResultIteration(final Context context, final Iterator itty, final boolean pausable) {
+            this.context = context;
+            this.ctx = context.getChannelHandlerContext();
+            this.msg = context.getRequestMessage();
+            this.settings = context.getSettings();
+            this.itty = itty;
+            this.pausable = pausable;
+
+            // the batch size can be overridden by the request in which case it is used as-is
+            final Optional<Integer> requestBatchSize = msg.optionalArgs(Tokens.ARGS_BATCH_SIZE);
+            this.maxBatchSize = requestBatchSize.orElse(settings.resultIterationBatchSize);
+            this.adaptive = !requestBatchSize.isPresent();
+            this.batchSize = maxBatchSize;
+            this.aggregate = new ArrayList<>(batchSize);
+
+            stopWatch.start();
+        }
+
+        /**
+         * Iterates until all results are written or until iteration is paused to wait for the channel to become
+         * writeable.
+         */
+        void iterate() throws TimeoutException, InterruptedException {
+            while (itty.hasNext() || !aggregate.isEmpty()) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // total serialization time for the response remains in effect so if the client is "slow" it may
+                // simply timeout.
+                stopWatch.split();
+                if (stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
+                    final String timeoutMsg = String.format("Serialization of the entire response exceeded the serializeResponseTimeout setting %s",
+                            warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
+                    throw new TimeoutException(timeoutMsg.trim());
                 }
+                stopWatch.unsplit();
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected batch size.
+                if (itty.hasNext() && aggregate.size() < batchSize) aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                if (ctx.channel().isWritable()) {
+                    if (aggregate.size() >= batchSize || !itty.hasNext()) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+                        ctx.writeAndFlush(ResponseMessage.build(msg)
+                                .code(code)
+                                .result(aggregate).create());
+
+                        if (adaptive && batchSize < maxBatchSize) batchSize++;
+                        aggregate = new ArrayList<>(batchSize);
+                    }
+                } else {
+                    // nothing left to wait for if the client went away
+                    if (!ctx.channel().isActive()) {
+                        logger.debug("Channel closed while writing the response to {} - abandoning the rest of the results", msg);
+                        return;
+                    }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        warnOnce = true;
+                    }
+
+                    if (adaptive) batchSize = Math.max(1, batchSize / 2);
+
+                    if (awaitWritable()) return;
+                }
             }
 
+            stopWatch.stop();
+        }
+
+        /**
+         * Waits for the channel to become writeable.  This isn't blocking the IO thread - just a worker, and when
+         * iteration is pausable not even that.
+         *
+         * @return {@code true} if iteration was paused and will be resumed in another thread
+         */
+        private boolean awaitWritable() throws InterruptedException {
             stopWatch.split();
-            if (stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
-                final String timeoutMsg = String.format("Serialization of the entire response exceeded the serializeResponseTimeout setting %s",
-                        warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
-                throw new TimeoutException(timeoutMsg.trim());
+            final long remaining = settings.serializedResponseTimeout - stopWatch.getSplitTime();
+            stopWatch.unsplit();
+
+            if (pausable) {
+                paused.set(true);
+
+                // resume once the timeout passes as well so that a client that never catches up doesn't hold the
+                // iteration forever - the resumed iteration will then fail with the timeout
+                pauseTimeout = context.getScheduledExecutorService().schedule(this::resume, Math.max(0, remaining), TimeUnit.MILLISECONDS);
+                if (WritabilityHandler.whenWritable(ctx.channel(), this::resume)) return true;
+
+                // the pipeline can't signal writability so fall back to waiting in this thread
+                paused.set(false);
+                pauseTimeout.cancel(false);
             }
 
-            stopWatch.unsplit();
+            final CountDownLatch writable = new CountDownLatch(1);
+            if (WritabilityHandler.whenWritable(ctx.channel(), writable::countDown))
+                writable.await(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+            else
+                TimeUnit.MILLISECONDS.sleep(10);
+
+            return false;
         }
 
-        stopWatch.stop();
+        private void resume() {
+            // the channel becoming writeable and the timeout can both try to resume but only one should
+            if (!paused.compareAndSet(true, false)) return;
+            if (pauseTimeout != null) pauseTimeout.cancel(false);
+
+            if (!ctx.channel().isActive()) {
+                logger.debug("Channel closed while response writing was paused on {} - abandoning the rest of the results", msg);
+                return;
+            }
+
+            context.getGremlinExecutor().getExecutorService().execute(() -> {
+                logger.debug("Resuming iteration of results from - {} - in thread [{}]", msg, Thread.currentThread().getName());
+                try {
+                    iterate();
+                } catch (Exception ex) {
+                    writeIterationError(context, ex);
+                }
+            });
+        }
     }
 
     @FunctionalInterface
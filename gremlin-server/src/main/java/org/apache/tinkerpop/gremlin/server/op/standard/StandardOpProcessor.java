@@ -57,6 +57,16 @@ public class StandardOpProcessor extends AbstractEvalOpProcessor {
         return this::evalOp;
     }
 
+    /**
+     * Sessionless requests may release their thread while the client catches up as long as none of the graphs
+     * support transactions, because those are committed in the thread that evaluated the script once iteration
+     * returns.
+     */
+    @Override
+    protected boolean canPauseIteration(final Context context) {
+        return context.getGraphs().getGraphs().values().stream().noneMatch(g -> g.features().graph().supportsTransactions());
+    }
+
     private void evalOp(final Context context) throws OpProcessorException {
         final RequestMessage msg = context.getRequestMessage();
 
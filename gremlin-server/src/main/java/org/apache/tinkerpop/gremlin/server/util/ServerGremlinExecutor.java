@@ -18,7 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.server.util;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.ScriptClassCache;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.Graphs;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
@@ -33,8 +37,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * The core of script execution in Gremlin Server.  Given {@link Settings} and optionally other arguments, this
  * class will construct a {@link GremlinExecutor} to be used by Gremlin Server.  Those expecting to build their
@@ -119,6 +126,9 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
 
         logger.info("Initialized GremlinExecutor and configured ScriptEngines.");
 
+        settings.scriptEngines.keySet().forEach(language ->
+                gremlinExecutor.getScriptEngines().getClassCache(language).ifPresent(cache -> registerClassCacheMetrics(language, cache)));
+
         // script engine init may have altered the graph bindings or maybe even created new ones - need to
         // re-apply those references back
         gremlinExecutor.getGlobalBindings().entrySet().stream()
@@ -164,4 +174,19 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
     public List<LifeCycleHook> getHooks() {
         return hooks;
     }
+
+    private static void registerClassCacheMetrics(final String language, final ScriptClassCache cache) {
+        final MetricRegistry registry = MetricManager.INSTANCE.getRegistry();
+        final String prefix = name(GremlinServer.class, "engine", language, "class-cache");
+
+        // gauges from a previous instance of the server in this jvm would point at its engine
+        registry.removeMatching((n, m) -> n.startsWith(prefix) && m instanceof Gauge);
+        MetricManager.INSTANCE.getGuage(cache::getHitCount, prefix, "hits");
+        MetricManager.INSTANCE.getGuage(cache::getMissCount, prefix, "misses");
+        MetricManager.INSTANCE.getGuage(cache::getEvictionCount, prefix, "evictions");
+        MetricManager.INSTANCE.getGuage(cache::size, prefix, "size");
+
+        final Histogram compileTime = MetricManager.INSTANCE.getHistogram(prefix, "compile-time");
+        cache.setCompilationListener(nanos -> compileTime.update(TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
 }
@@ -43,6 +43,7 @@ import org.junit.Test;
 import org.junit.rules.TestName;
 
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -92,6 +93,11 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
+            case "shouldRespectHighWaterMarkSettingAndSucceedWithAdaptiveBatchSize":
+                settings.writeBufferHighWaterMark = 64;
+                settings.writeBufferLowWaterMark = 32;
+                settings.resultIterationBatchSize = 2;
+                break;
             case "shouldReceiveFailureTimeOutOnScriptEval":
                 settings.scriptEvaluationTimeout = 200;
                 break;
@@ -174,6 +180,35 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldRespectHighWaterMarkSettingAndSucceedWithAdaptiveBatchSize() throws Exception {
+        // without a batch size on the request the server shrinks its batches while the client lags - every result
+        // should still arrive exactly once and in order
+        try (SimpleClient client = new WebSocketClient()) {
+            final int resultCountToGenerate = 5000;
+            final String fatty = IntStream.range(0, 150).mapToObj(String::valueOf).collect(Collectors.joining());
+            final String fattyX = "(0..<" + resultCountToGenerate + ").collect{'" + fatty + "' + it}";
+
+            final CountDownLatch latch = new CountDownLatch(1);
+            final List<Object> results = new ArrayList<>();
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, fattyX).create();
+            client.submit(request, r -> {
+                if (r.getResult().getData() != null)
+                    results.addAll((List<Object>) r.getResult().getData());
+                if (r.getStatus().getCode() != ResponseStatusCode.PARTIAL_CONTENT)
+                    latch.countDown();
+            });
+
+            assertTrue(latch.await(30000, TimeUnit.MILLISECONDS));
+            assertEquals(resultCountToGenerate, results.size());
+            for (int i = 0; i < resultCountToGenerate; i++) {
+                assertEquals(fatty + i, results.get(i));
+            }
+            assertTrue(recordingAppender.getMessages().stream().anyMatch(m -> m.contains("Pausing response writing as writeBufferHighWaterMark exceeded on")));
+        }
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenGremlinArgIsNotSupplied() throws Exception {
         try (SimpleClient client = new WebSocketClient()) {
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class WritabilityHandlerTest {
+
+    @Test
+    public void shouldRunCallbackImmediatelyIfWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        final AtomicInteger calls = new AtomicInteger(0);
+        assertTrue(WritabilityHandler.whenWritable(channel, calls::incrementAndGet));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldRunCallbackOnceWhenWritableAgain() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.config().setWriteBufferLowWaterMark(32);
+        channel.config().setWriteBufferHighWaterMark(64);
+        channel.write(Unpooled.buffer(128).writerIndex(128));
+        assertFalse(channel.isWritable());
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        assertTrue(WritabilityHandler.whenWritable(channel, calls::incrementAndGet));
+        assertEquals(0, calls.get());
+
+        channel.flush();
+        assertTrue(channel.isWritable());
+        assertEquals(1, calls.get());
+
+        // drained callbacks are not run again on the next change of writability
+        channel.write(Unpooled.buffer(128).writerIndex(128));
+        channel.flush();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldRunCallbackWhenChannelCloses() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.config().setWriteBufferLowWaterMark(32);
+        channel.config().setWriteBufferHighWaterMark(64);
+        channel.write(Unpooled.buffer(128).writerIndex(128));
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        WritabilityHandler.whenWritable(channel, calls::incrementAndGet);
+        assertEquals(0, calls.get());
+
+        channel.close();
+        channel.runPendingTasks();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldNotRegisterCallbackWithoutHandler() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        final AtomicInteger calls = new AtomicInteger(0);
+        assertFalse(WritabilityHandler.whenWritable(channel, calls::incrementAndGet));
+        assertEquals(0, calls.get());
+    }
+}
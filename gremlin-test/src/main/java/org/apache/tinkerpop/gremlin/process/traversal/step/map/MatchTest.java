@@ -632,6 +632,41 @@ public abstract class MatchTest extends AbstractGremlinProcessTest {
                 new Bindings<String>().put("letter", "c").put("number", "4"));
     }
 
+    @Test
+    public void testHashJoin() throws Exception {
+        String[] a1 = new String[]{"a", "b", "c"};
+        String[] a2 = new String[]{"1", "2", "3", "4"};
+        String[] a3 = new String[]{"2", "4", "6", "8", "10"};
+
+        Enumerator<String> e1 = new IteratorEnumerator<>("letter", Arrays.asList(a1).iterator());
+        Enumerator<String> e2 = new IteratorEnumerator<>("number", Arrays.asList(a2).iterator());
+        Enumerator<String> e3 = new IteratorEnumerator<>("number", Arrays.asList(a3).iterator());
+
+        // the same six solutions as the inner join, without enumerating all 60 combinations
+        Enumerator<String> join = new HashJoinEnumerator<>(new CrossJoinEnumerator<>(e1, e2), e3, new HashSet<String>() {{
+            add("number");
+        }});
+        assertEquals(6, exhaust(join));
+        assertEquals(6, join.size());
+
+        assertResults(join,
+                new Bindings<String>().put("letter", "a").put("number", "2"),
+                new Bindings<String>().put("letter", "a").put("number", "4"),
+                new Bindings<String>().put("letter", "b").put("number", "2"),
+                new Bindings<String>().put("letter", "b").put("number", "4"),
+                new Bindings<String>().put("letter", "c").put("number", "2"),
+                new Bindings<String>().put("letter", "c").put("number", "4"));
+
+        // a join with no matches is empty
+        Enumerator<String> e4 = new IteratorEnumerator<>("number", Arrays.asList("5", "7").iterator());
+        Enumerator<String> e5 = new IteratorEnumerator<>("number", Arrays.asList(a3).iterator());
+        Enumerator<String> empty = new HashJoinEnumerator<>(e4, e5, new HashSet<String>() {{
+            add("number");
+        }});
+        assertEquals(0, exhaust(empty));
+        assertEquals(0, empty.size());
+    }
+
     public static class Traversals extends MatchTest {
         @Override
         public Traversal<Vertex, Map<String, Vertex>> get_g_V_matchXa_out_bX() {
@@ -52,4 +52,10 @@ public final class Constants {
     // spark based constants
     public static final String GREMLIN_HADOOP_GRAPH_INPUT_RDD = "gremlin.hadoop.graphInputRDD";
     public static final String GREMLIN_HADOOP_GRAPH_OUTPUT_RDD = "gremlin.hadoop.graphOutputRDD";
+    public static final String GREMLIN_HADOOP_GRAPH_RDD_PARTITIONS = "gremlin.hadoop.graphRDDPartitions";
+    public static final String GREMLIN_HADOOP_STORAGE_LEVEL = "gremlin.hadoop.storageLevel";
+    public static final String GREMLIN_HADOOP_CHECKPOINT_INTERVAL = "gremlin.hadoop.checkpointInterval";
+    public static final String GREMLIN_HADOOP_CHECKPOINT_LOCATION = "gremlin.hadoop.checkpointLocation";
+    public static final String GREMLIN_HADOOP_PERSIST_CONTEXT = "gremlin.hadoop.persistContext";
+    public static final String GREMLIN_HADOOP_PERSIST_STORAGE_LEVEL = "gremlin.hadoop.persistStorageLevel";
 }
@@ -21,6 +21,8 @@ package org.apache.tinkerpop.gremlin.hadoop.groovy.plugin;
 import org.apache.tinkerpop.gremlin.groovy.loaders.SugarLoader;
 import org.apache.tinkerpop.gremlin.groovy.plugin.RemoteAcceptor;
 import org.apache.tinkerpop.gremlin.groovy.plugin.RemoteException;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkContextStorage;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram;
@@ -43,6 +45,8 @@ public final class HadoopRemoteAcceptor implements RemoteAcceptor {
 
     private static final String USE_SUGAR = "useSugar";
     private static final String USE_TRAVERSAL_SOURCE = "useTraversalSource";
+    private static final String REMOVE_RDD = "removeRDD";
+    private static final String PERSISTED_RDDS = "persistedRDDs";
     private static final String SPACE = " ";
 
     private HadoopGraph hadoopGraph;
@@ -68,6 +72,7 @@ public final class HadoopRemoteAcceptor implements RemoteAcceptor {
         final HashMap<String, Object> configuration = new HashMap<>();
         configuration.put(USE_SUGAR, this.useSugar);
         configuration.put(USE_TRAVERSAL_SOURCE, this.traversalSource);
+        configuration.put(PERSISTED_RDDS, SparkContextStorage.getRDDNames());
         return Collections.unmodifiableMap(configuration);
     }
 
@@ -79,13 +84,16 @@ public final class HadoopRemoteAcceptor implements RemoteAcceptor {
             else if (args.get(i).equals(USE_TRAVERSAL_SOURCE)) {
                 this.useTraversalSource = ((TraversalSource) this.shell.getInterp().getContext().getVariable(args.get(i + 1))).asBuilder();
                 this.traversalSource = this.useTraversalSource.create(this.hadoopGraph);
-            } else
+            } else if (args.get(i).equals(REMOVE_RDD))
+                SparkContextStorage.removeRDD(args.get(i + 1));
+            else
                 throw new IllegalArgumentException("The provided configuration is unknown: " + args.get(i) + ":" + args.get(i + 1));
         }
         ///
         final HashMap<String, Object> configuration = new HashMap<>();
         configuration.put(USE_SUGAR, this.useSugar);
         configuration.put(USE_TRAVERSAL_SOURCE, this.traversalSource);
+        configuration.put(PERSISTED_RDDS, SparkContextStorage.getRDDNames());
         return Collections.unmodifiableMap(configuration);
     }
 
@@ -109,6 +117,9 @@ public final class HadoopRemoteAcceptor implements RemoteAcceptor {
 
     @Override
     public void close() throws IOException {
+        // the spark context that was kept open for the submissions of this remote is closed along with it
+        if (this.hadoopGraph.configuration().getBoolean(Constants.GREMLIN_HADOOP_PERSIST_CONTEXT, false))
+            SparkContextStorage.close();
         this.hadoopGraph.close();
     }
 }
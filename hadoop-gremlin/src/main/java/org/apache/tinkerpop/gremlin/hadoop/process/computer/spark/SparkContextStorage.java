@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import scala.Tuple2;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Holds the {@link JavaSparkContext} that is kept open across {@link SparkGraphComputer} jobs when
+ * {@code gremlin.hadoop.persistContext} is {@code true}. The graph RDDs persisted in it by
+ * {@link org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.PersistedOutputRDD} are looked up, listed
+ * and evicted by their name, which is the output location of the job that persisted them.
+ *
+ * @author agent (agent@local)
+ */
+public final class SparkContextStorage {
+
+    private static JavaSparkContext CONTEXT = null;
+
+    private SparkContextStorage() {
+    }
+
+    /**
+     * Get the persisted context or else create it from the configuration. The configuration of the jobs that follow
+     * the first is ignored as Spark allows one context per JVM.
+     */
+    public static synchronized JavaSparkContext getOrCreate(final SparkConf sparkConfiguration) {
+        if (null == CONTEXT)
+            CONTEXT = new JavaSparkContext(sparkConfiguration);
+        return CONTEXT;
+    }
+
+    public static synchronized Optional<JavaSparkContext> getContext() {
+        return Optional.ofNullable(CONTEXT);
+    }
+
+    /**
+     * Stop the persisted context which unpersists every graph RDD persisted in it.
+     */
+    public static synchronized void close() {
+        if (null != CONTEXT) {
+            CONTEXT.close();
+            CONTEXT = null;
+        }
+    }
+
+    public static synchronized Optional<JavaPairRDD<Object, VertexWritable>> getRDD(final String name) {
+        if (null == CONTEXT)
+            return Optional.empty();
+        return CONTEXT.getPersistentRDDs().values().stream()
+                .filter(rdd -> name.equals(rdd.rdd().name()))
+                .findAny()
+                .map(rdd -> JavaPairRDD.fromJavaRDD((JavaRDD<Tuple2<Object, VertexWritable>>) rdd));
+    }
+
+    public static synchronized Set<String> getRDDNames() {
+        final Set<String> names = new TreeSet<>();
+        if (null != CONTEXT)
+            CONTEXT.getPersistentRDDs().values().stream().filter(rdd -> null != rdd.rdd().name()).forEach(rdd -> names.add(rdd.rdd().name()));
+        return names;
+    }
+
+    /**
+     * Unpersist the graph RDD of the given name so that its memory is freed for the jobs that follow.
+     */
+    public static synchronized boolean removeRDD(final String name) {
+        if (null == CONTEXT)
+            return false;
+        boolean removed = false;
+        for (final JavaRDD<?> rdd : CONTEXT.getPersistentRDDs().values()) {
+            if (name.equals(rdd.rdd().name())) {
+                rdd.unpersist(false);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+}
@@ -23,7 +23,10 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapreduce.OutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.Partitioner;
 import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.MessagePayload;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.Payload;
@@ -67,6 +70,31 @@ public final class SparkExecutor {
     // VERTEX PROGRAM //
     ////////////////////
 
+    /**
+     * Hash partition the graph by vertex id into the given number of partitions unless it is already partitioned that
+     * way. The views and messages of each iteration are reduced with the same partitioner, so joining them to the
+     * graph is done within each partition and the adjacency lists are never shuffled.
+     */
+    public static JavaPairRDD<Object, VertexWritable> partitionGraphRDD(final JavaPairRDD<Object, VertexWritable> graphRDD, final int partitions) {
+        if (partitions < 1)
+            throw new IllegalArgumentException("The graph must have at least one partition: " + partitions);
+        return graphRDD.partitioner().isPresent() && graphRDD.partitioner().get().numPartitions() == partitions ?
+                graphRDD :
+                graphRDD.partitionBy(new HashPartitioner(partitions));
+    }
+
+    /**
+     * Get the {@code StorageLevel} that the graph and the views and messages of each iteration are persisted with,
+     * which is {@code MEMORY_ONLY} unless configured otherwise (e.g. {@code MEMORY_AND_DISK_SER}).
+     */
+    public static StorageLevel getStorageLevel(final Configuration apacheConfiguration) {
+        return StorageLevel.fromString(apacheConfiguration.getString(Constants.GREMLIN_HADOOP_STORAGE_LEVEL, "MEMORY_ONLY"));
+    }
+
+    private static Partitioner getPartitioner(final JavaPairRDD<Object, VertexWritable> graphRDD) {
+        return graphRDD.partitioner().isPresent() ? graphRDD.partitioner().get() : new HashPartitioner(graphRDD.partitions().size());
+    }
+
     public static <M> JavaPairRDD<Object, ViewIncomingPayload<M>> executeVertexProgramIteration(
             final JavaPairRDD<Object, VertexWritable> graphRDD,
             final JavaPairRDD<Object, ViewIncomingPayload<M>> viewIncomingRDD,
@@ -105,7 +133,7 @@ public final class SparkExecutor {
                             workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
                         return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages));
                     });
-                })).setName("viewOutgoingRDD");
+                }, true)).setName("viewOutgoingRDD");   // the vertex ids are unchanged so the partitioning of the graph is kept
 
         // "message pass" by reducing on the vertex object id of the view and message payloads
         final MessageCombiner<M> messageCombiner = VertexProgram.<VertexProgram<M>>createVertexProgram(HadoopGraph.open(apacheConfiguration), apacheConfiguration).getMessageCombiner().orElse(null);
@@ -113,7 +141,7 @@ public final class SparkExecutor {
                 .flatMapToPair(tuple -> () -> IteratorUtils.<Tuple2<Object, Payload>>concat(
                         IteratorUtils.of(new Tuple2<>(tuple._1(), tuple._2().getView())),      // emit the view payload
                         IteratorUtils.map(tuple._2().getOutgoingMessages().iterator(), message -> new Tuple2<>(message._1(), new MessagePayload<>(message._2())))))  // emit the outgoing message payloads one by one
-                .reduceByKey((a, b) -> {      // reduce the view and outgoing messages into a single payload object representing the new view and incoming messages for a vertex
+                .reduceByKey(getPartitioner(graphRDD), (a, b) -> {      // reduce the view and outgoing messages into a single payload object representing the new view and incoming messages for a vertex
                     if (a instanceof ViewIncomingPayload) {
                         ((ViewIncomingPayload<M>) a).mergePayload(b, messageCombiner);
                         return a;
@@ -133,13 +161,36 @@ public final class SparkExecutor {
                         (ViewIncomingPayload<M>) payload :                    // this happens if there is a vertex with incoming messages
                         new ViewIncomingPayload<>((ViewPayload) payload));    // this happens if there is a vertex with no incoming messages
 
-        newViewIncomingRDD.setName("viewIncomingRDD")
-                .foreachPartition(partitionIterator -> {
-                    HadoopPools.initialize(apacheConfiguration);
-                }); // need to complete a task so its BSP and the memory for this iteration is updated
+        newViewIncomingRDD.setName("viewIncomingRDD").persist(getStorageLevel(apacheConfiguration));
+        // every so many iterations the lineage is truncated so that the job does not grow with each iteration
+        final int checkpointInterval = apacheConfiguration.getInt(Constants.GREMLIN_HADOOP_CHECKPOINT_INTERVAL, 0);
+        if (checkpointInterval > 0 && (memory.getIteration() + 1) % checkpointInterval == 0)
+            newViewIncomingRDD.checkpoint();
+        newViewIncomingRDD.foreachPartition(partitionIterator -> {
+            HadoopPools.initialize(apacheConfiguration);
+        }); // need to complete a task so its BSP and the memory for this iteration is updated
+        // the new views and messages are materialized so the previous ones are no longer needed
+        if (null != viewIncomingRDD)
+            viewIncomingRDD.unpersist(false);
         return newViewIncomingRDD;
     }
 
+    /**
+     * Join the graph with the final views of the vertex program to get the graph to output. The compute keys can not
+     * be read from the vertices of the graph as the changes made to them are lost when the graph is persisted with a
+     * serialized {@code StorageLevel}.
+     */
+    public static <M> JavaPairRDD<Object, VertexWritable> prepareGraphRDDForOutput(final JavaPairRDD<Object, VertexWritable> graphRDD, final JavaPairRDD<Object, ViewIncomingPayload<M>> viewIncomingRDD, final String[] elementComputeKeys) {
+        return graphRDD.leftOuterJoin(viewIncomingRDD)
+                .mapValues(tuple -> {
+                    final StarGraph.StarVertex vertex = tuple._1().get();
+                    vertex.dropVertexProperties(elementComputeKeys);
+                    final List<DetachedVertexProperty<Object>> view = tuple._2().isPresent() ? tuple._2().get().getView() : Collections.emptyList();
+                    view.forEach(property -> property.attach(Attachable.Method.create(vertex)));
+                    return tuple._1();
+                });
+    }
+
     /////////////////
     // MAP REDUCE //
     ////////////////
@@ -31,10 +31,13 @@ import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.AbstractHadoopGraphComputer;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.GryoRegistrator;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.InputFormatRDD;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.InputRDD;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.OutputFormatRDD;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.OutputRDD;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.PersistedInputRDD;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io.PersistedOutputRDD;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewIncomingPayload;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopConfiguration;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
@@ -70,7 +73,8 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
         final org.apache.commons.configuration.Configuration apacheConfiguration = new HadoopConfiguration(this.hadoopGraph.configuration());
         apacheConfiguration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT_HAS_EDGES, this.persist.equals(Persist.EDGES));
         final Configuration hadoopConfiguration = ConfUtil.makeHadoopConfiguration(apacheConfiguration);
-        if (FileInputFormat.class.isAssignableFrom(hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, InputFormat.class))) {
+        if (InputFormatRDD.class.equals(hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, InputFormatRDD.class, InputRDD.class)) &&
+                FileInputFormat.class.isAssignableFrom(hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, InputFormat.class))) {
             try {
                 final String inputLocation = FileSystem.get(hadoopConfiguration).getFileStatus(new Path(hadoopConfiguration.get(Constants.GREMLIN_HADOOP_INPUT_LOCATION))).getPath().toString();
                 apacheConfiguration.setProperty(Constants.MAPRED_INPUT_DIR, inputLocation);
@@ -96,33 +100,37 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
             // wire up a spark context
             final SparkConf sparkConfiguration = new SparkConf();
             sparkConfiguration.setAppName(Constants.GREMLIN_HADOOP_SPARK_JOB_PREFIX + (null == this.vertexProgram ? "No VertexProgram" : this.vertexProgram) + "[" + this.mapReducers + "]");
-                    /*final List<Class> classes = new ArrayList<>();
-                    classes.addAll(IOClasses.getGryoClasses(GryoMapper.build().create()));
-                    classes.addAll(IOClasses.getSharedHadoopClasses());
-                    classes.add(ViewPayload.class);
-                    classes.add(MessagePayload.class);
-                    classes.add(ViewIncomingPayload.class);
-                    classes.add(ViewOutgoingPayload.class);
-                    sparkConfiguration.registerKryoClasses(classes.toArray(new Class[classes.size()]));*/ // TODO: fix for user submitted jars in Spark 1.3.0
 
             // create the spark configuration from the graph computer configuration
             hadoopConfiguration.forEach(entry -> sparkConfiguration.set(entry.getKey(), entry.getValue()));
-            // execute the vertex program and map reducers and if there is a failure, auto-close the spark context
-            try (final JavaSparkContext sparkContext = new JavaSparkContext(sparkConfiguration)) {
+            // register the graph computer classes with kryo so they are written by gryo with compact class ids
+            sparkConfiguration.setIfMissing("spark.kryo.registrator", GryoRegistrator.class.getCanonicalName());
+            // execute the vertex program and map reducers and if there is a failure, close the spark context unless it is persisted across jobs
+            final boolean persistContext = hadoopConfiguration.getBoolean(Constants.GREMLIN_HADOOP_PERSIST_CONTEXT, false);
+            final JavaSparkContext sparkContext = persistContext ? SparkContextStorage.getOrCreate(sparkConfiguration) : new JavaSparkContext(sparkConfiguration);
+            final boolean persistedOutput = null != this.vertexProgram && !this.persist.equals(Persist.NOTHING) &&
+                    PersistedOutputRDD.class.equals(hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_RDD, OutputFormatRDD.class, OutputRDD.class));
+            JavaPairRDD<Object, VertexWritable> graphRDD = null;
+            JavaPairRDD<Object, ViewIncomingPayload<Object>> viewIncomingRDD = null;
+            JavaPairRDD<Object, VertexWritable> mapReduceGraphRDD = null;
+            try {
                 // add the project jars to the cluster
                 this.loadJars(sparkContext, hadoopConfiguration);
+                // checkpoint to the configured location or else to a temporary location of the file system
+                if (hadoopConfiguration.getInt(Constants.GREMLIN_HADOOP_CHECKPOINT_INTERVAL, 0) > 0)
+                    sparkContext.setCheckpointDir(hadoopConfiguration.get(Constants.GREMLIN_HADOOP_CHECKPOINT_LOCATION, hadoopConfiguration.get("hadoop.tmp.dir") + "/gremlin-checkpoint"));
                 // create a message-passing friendly rdd from the input rdd
-                final JavaPairRDD<Object, VertexWritable> graphRDD;
                 try {
-                    graphRDD = hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, InputFormatRDD.class, InputRDD.class)
+                    final JavaPairRDD<Object, VertexWritable> inputRDD = hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, InputFormatRDD.class, InputRDD.class)
                             .newInstance()
-                            .readGraphRDD(apacheConfiguration, sparkContext)
+                            .readGraphRDD(apacheConfiguration, sparkContext);
+                    // partition the graph once by vertex id so that every iteration joins its views and messages to it without shuffling it
+                    graphRDD = SparkExecutor.partitionGraphRDD(inputRDD, hadoopConfiguration.getInt(Constants.GREMLIN_HADOOP_GRAPH_RDD_PARTITIONS, inputRDD.partitions().size()))
                             .setName("graphRDD")
-                            .cache();
+                            .persist(SparkExecutor.getStorageLevel(apacheConfiguration));
                 } catch (final InstantiationException | IllegalAccessException e) {
                     throw new IllegalStateException(e.getMessage(), e);
                 }
-                JavaPairRDD<Object, ViewIncomingPayload<Object>> viewIncomingRDD = null;
 
                 ////////////////////////////////
                 // process the vertex program //
@@ -136,6 +144,11 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                     this.vertexProgram.storeState(vertexProgramConfiguration);
                     ConfigurationUtils.copy(vertexProgramConfiguration, apacheConfiguration);
                     ConfUtil.mergeApacheIntoHadoopConfiguration(vertexProgramConfiguration, hadoopConfiguration);
+                    // the iterations persist and checkpoint their views and messages as the graph computer is configured
+                    for (final String key : new String[]{Constants.GREMLIN_HADOOP_STORAGE_LEVEL, Constants.GREMLIN_HADOOP_CHECKPOINT_INTERVAL}) {
+                        if (apacheConfiguration.containsKey(key))
+                            vertexProgramConfiguration.setProperty(key, apacheConfiguration.getProperty(key));
+                    }
 
                     // execute the vertex program
                     while (true) {
@@ -149,12 +162,13 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                             memory.broadcastMemory(sparkContext);
                         }
                     }
-                    // write the graph rdd using the output rdd
+                    // write the graph rdd with the final views of the vertex program using the output rdd
                     if (!this.persist.equals(Persist.NOTHING)) {
+                        final String[] elementComputeKeys = this.vertexProgram.getElementComputeKeys().toArray(new String[this.vertexProgram.getElementComputeKeys().size()]);
                         try {
                             hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_RDD, OutputFormatRDD.class, OutputRDD.class)
                                     .newInstance()
-                                    .writeGraphRDD(apacheConfiguration, graphRDD);
+                                    .writeGraphRDD(apacheConfiguration, SparkExecutor.prepareGraphRDDForOutput(graphRDD, viewIncomingRDD, elementComputeKeys).setName("outputGraphRDD"));
                         } catch (final InstantiationException | IllegalAccessException e) {
                             throw new IllegalStateException(e.getMessage(), e);
                         }
@@ -168,7 +182,7 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                 //////////////////////////////
                 if (!this.mapReducers.isEmpty()) {
                     final String[] elementComputeKeys = this.vertexProgram == null ? new String[0] : this.vertexProgram.getElementComputeKeys().toArray(new String[this.vertexProgram.getElementComputeKeys().size()]);
-                    final JavaPairRDD<Object, VertexWritable> mapReduceGraphRDD = SparkExecutor.prepareGraphRDDForMapReduce(graphRDD, viewIncomingRDD, elementComputeKeys).setName("mapReduceGraphRDD").cache();
+                    mapReduceGraphRDD = SparkExecutor.prepareGraphRDDForMapReduce(graphRDD, viewIncomingRDD, elementComputeKeys).setName("mapReduceGraphRDD").persist(SparkExecutor.getStorageLevel(apacheConfiguration));
                     for (final MapReduce mapReduce : this.mapReducers) {
                         // execute the map reduce job
                         final HadoopConfiguration newApacheConfiguration = new HadoopConfiguration(apacheConfiguration);
@@ -184,7 +198,32 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                 }
                 // update runtime and return the newly computed graph
                 finalMemory.setRuntime(System.currentTimeMillis() - startTime);
-                return new DefaultComputerResult(HadoopHelper.getOutputGraph(this.hadoopGraph, this.resultGraph, this.persist), finalMemory.asImmutable());
+                final HadoopGraph outputGraph = HadoopHelper.getOutputGraph(this.hadoopGraph, this.resultGraph, this.persist);
+                // a graph persisted in the spark context is read from the context by the jobs that follow
+                if (persistedOutput && this.resultGraph.equals(ResultGraph.NEW)) {
+                    outputGraph.configuration().setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, PersistedInputRDD.class.getCanonicalName());
+                    outputGraph.configuration().setInputLocation(outputLocation);
+                }
+                return new DefaultComputerResult(outputGraph, finalMemory.asImmutable());
+            } finally {
+                // remove the checkpoints of this computation whether or not it succeeded
+                if (sparkContext.getCheckpointDir().isPresent()) {
+                    try {
+                        FileSystem.get(hadoopConfiguration).delete(new Path(sparkContext.getCheckpointDir().get()), true);
+                    } catch (final IOException e) {
+                        this.logger.warn("The checkpoints at " + sparkContext.getCheckpointDir().get() + " could not be removed: " + e.getMessage(), e);
+                    }
+                }
+                if (persistContext) {
+                    // free the memory of this job as the context lives on
+                    if (null != graphRDD)
+                        graphRDD.unpersist(false);
+                    if (null != viewIncomingRDD)
+                        viewIncomingRDD.unpersist(false);
+                    if (null != mapReduceGraphRDD)
+                        mapReduceGraphRDD.unpersist(false);
+                } else
+                    sparkContext.close();
             }
         });
     }
@@ -0,0 +1,284 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  * http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io;
+
+import org.apache.spark.SparkEnv;
+import org.apache.spark.serializer.KryoRegistrator;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.MessagePayload;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewIncomingPayload;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewOutgoingPayload;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewPayload;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoPool;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.apache.tinkerpop.shaded.objenesis.strategy.StdInstantiatorStrategy;
+import scala.Tuple2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the classes that {@code SparkGraphComputer} shuffles and caches with the {@code KryoSerializer} of Spark
+ * so that they are written with a compact class id rather than their class name. Their contents are written with the
+ * shaded Kryo of a {@link GryoMapper}, built with the {@link IoRegistry} of the graph, so that the vertices, properties
+ * and messages are serialized the same way as they are by Gryo. A {@link VertexWritable} is written directly as its
+ * {@link StarGraph} rather than as the compressed byte array of its {@code Writable} form. As a vertex program may
+ * send messages of any class, the classes that gryo does not register are written by name.
+ * <p/>
+ * It is the default {@code spark.kryo.registrator} of {@code SparkGraphComputer}.
+ *
+ * @author agent (agent@local)
+ */
+public final class GryoRegistrator implements KryoRegistrator {
+
+    @Override
+    public void registerClasses(final com.esotericsoftware.kryo.Kryo kryo) {
+        // the spark kryo is used by one thread at a time and so is the gryo kryo created along with it
+        final Kryo gryo = createGryo(getClassLoader(kryo));
+        kryo.register(VertexWritable.class, new VertexWritableSerializer(gryo));
+        kryo.register(ObjectWritable.class, new ObjectWritableSerializer(gryo));
+        kryo.register(ViewPayload.class, new ViewPayloadSerializer(gryo));
+        kryo.register(MessagePayload.class, new MessagePayloadSerializer(gryo));
+        kryo.register(ViewIncomingPayload.class, new ViewIncomingPayloadSerializer(gryo));
+        kryo.register(ViewOutgoingPayload.class, new ViewOutgoingPayloadSerializer(gryo));
+    }
+
+    /**
+     * Spark calls the registrator with the loader of the user jars as the context class loader and only hands that
+     * loader to its kryo afterwards, so the context class loader is preferred to the loader of the kryo.
+     */
+    private static ClassLoader getClassLoader(final com.esotericsoftware.kryo.Kryo kryo) {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return null == classLoader ? kryo.getClassLoader() : classLoader;
+    }
+
+    private static Kryo createGryo(final ClassLoader classLoader) {
+        final GryoMapper.Builder builder = GryoMapper.build();
+        final String ioRegistry = null == SparkEnv.get() ? "" : SparkEnv.get().conf().get(GryoPool.CONFIG_IO_REGISTRY, "");
+        if (!ioRegistry.isEmpty()) {
+            try {
+                builder.addRegistry((IoRegistry) Class.forName(ioRegistry, true, classLoader).newInstance());
+            } catch (final Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        final Kryo gryo = builder.create().createMapper();
+        // messages such as the javatuples of PeerPressureVertexProgram are not registered with gryo
+        gryo.setRegistrationRequired(false);
+        gryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        gryo.setClassLoader(classLoader);
+        return gryo;
+    }
+
+    private static void writeView(final Kryo gryo, final Output output, final List<DetachedVertexProperty<Object>> view) {
+        output.writeInt(null == view ? -1 : view.size(), true);
+        if (null != view)
+            view.forEach(property -> gryo.writeObject(output, property));
+    }
+
+    private static List<DetachedVertexProperty<Object>> readView(final Kryo gryo, final Input input) {
+        final int size = input.readInt(true);
+        if (-1 == size)
+            return null;
+        final List<DetachedVertexProperty<Object>> view = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            view.add(gryo.readObject(input, DetachedVertexProperty.class));
+        }
+        return view;
+    }
+
+    private static <M> void writeMessages(final Kryo gryo, final Output output, final List<M> messages) {
+        output.writeInt(messages.size(), true);
+        messages.forEach(message -> gryo.writeClassAndObject(output, message));
+    }
+
+    private static <M> List<M> readMessages(final Kryo gryo, final Input input) {
+        final int size = input.readInt(true);
+        final List<M> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add((M) gryo.readClassAndObject(input));
+        }
+        return messages;
+    }
+
+    /**
+     * A serializer of the Spark kryo that writes the object with the gryo kryo into a buffer and then copies the
+     * buffer, prefixed by its length, to the Spark output. The length keeps the gryo input from reading past the
+     * object into the Spark input. The buffers are reused so that neither writing nor reading allocates per object.
+     */
+    private static abstract class GryoSerializer<T> extends com.esotericsoftware.kryo.Serializer<T> {
+
+        protected final Kryo gryo;
+        private final Output outputBuffer = new Output(4096, -1);
+        private final Input inputBuffer = new Input(4096);
+
+        protected GryoSerializer(final Kryo gryo) {
+            this.gryo = gryo;
+        }
+
+        protected abstract void write(final Output output, final T object);
+
+        protected abstract T read(final Input input);
+
+        @Override
+        public void write(final com.esotericsoftware.kryo.Kryo kryo, final com.esotericsoftware.kryo.io.Output output, final T object) {
+            this.outputBuffer.clear();
+            this.write(this.outputBuffer, object);
+            output.writeInt(this.outputBuffer.position(), true);
+            output.writeBytes(this.outputBuffer.getBuffer(), 0, this.outputBuffer.position());
+        }
+
+        @Override
+        public T read(final com.esotericsoftware.kryo.Kryo kryo, final com.esotericsoftware.kryo.io.Input input, final Class<T> type) {
+            final int length = input.readInt(true);
+            byte[] bytes = this.inputBuffer.getBuffer();
+            if (bytes.length < length)
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            input.readBytes(bytes, 0, length);
+            this.inputBuffer.setBuffer(bytes, 0, length);
+            return this.read(this.inputBuffer);
+        }
+    }
+
+    private static final class VertexWritableSerializer extends GryoSerializer<VertexWritable> {
+
+        private VertexWritableSerializer(final Kryo gryo) {
+            super(gryo);
+        }
+
+        @Override
+        protected void write(final Output output, final VertexWritable vertexWritable) {
+            this.gryo.writeObject(output, vertexWritable.get().graph());
+        }
+
+        @Override
+        protected VertexWritable read(final Input input) {
+            return new VertexWritable(this.gryo.readObject(input, StarGraph.class).getStarVertex());
+        }
+    }
+
+    private static final class ObjectWritableSerializer extends GryoSerializer<ObjectWritable> {
+
+        private ObjectWritableSerializer(final Kryo gryo) {
+            super(gryo);
+        }
+
+        @Override
+        protected void write(final Output output, final ObjectWritable objectWritable) {
+            this.gryo.writeClassAndObject(output, objectWritable.get());
+        }
+
+        @Override
+        protected ObjectWritable read(final Input input) {
+            return new ObjectWritable<>(this.gryo.readClassAndObject(input));
+        }
+    }
+
+    private static final class ViewPayloadSerializer extends GryoSerializer<ViewPayload> {
+
+        private ViewPayloadSerializer(final Kryo gryo) {
+            super(gryo);
+        }
+
+        @Override
+        protected void write(final Output output, final ViewPayload viewPayload) {
+            writeView(this.gryo, output, viewPayload.getView());
+        }
+
+        @Override
+        protected ViewPayload read(final Input input) {
+            return new ViewPayload(readView(this.gryo, input));
+        }
+    }
+
+    private static final class MessagePayloadSerializer extends GryoSerializer<MessagePayload> {
+
+        private MessagePayloadSerializer(final Kryo gryo) {
+            super(gryo);
+        }
+
+        @Override
+        protected void write(final Output output, final MessagePayload messagePayload) {
+            this.gryo.writeClassAndObject(output, messagePayload.getMessage());
+        }
+
+        @Override
+        protected MessagePayload read(final Input input) {
+            return new MessagePayload<>(this.gryo.readClassAndObject(input));
+        }
+    }
+
+    private static final class ViewIncomingPayloadSerializer extends GryoSerializer<ViewIncomingPayload> {
+
+        private ViewIncomingPayloadSerializer(final Kryo gryo) {
+            super(gryo);
+        }
+
+        @Override
+        protected void write(final Output output, final ViewIncomingPayload viewIncomingPayload) {
+            writeView(this.gryo, output, viewIncomingPayload.hasView() ? viewIncomingPayload.getView() : null);
+            writeMessages(this.gryo, output, viewIncomingPayload.getIncomingMessages());
+        }
+
+        @Override
+        protected ViewIncomingPayload read(final Input input) {
+            final List<DetachedVertexProperty<Object>> view = readView(this.gryo, input);
+            return new ViewIncomingPayload<>(view, readMessages(this.gryo, input));
+        }
+    }
+
+    private static final class ViewOutgoingPayloadSerializer extends GryoSerializer<ViewOutgoingPayload> {
+
+        private ViewOutgoingPayloadSerializer(final Kryo gryo) {
+            super(gryo);
+        }
+
+        @Override
+        protected void write(final Output output, final ViewOutgoingPayload viewOutgoingPayload) {
+            writeView(this.gryo, output, viewOutgoingPayload.getView().getView());
+            final List<Tuple2<Object, Object>> outgoingMessages = viewOutgoingPayload.getOutgoingMessages();
+            output.writeInt(outgoingMessages.size(), true);
+            outgoingMessages.forEach(message -> {
+                this.gryo.writeClassAndObject(output, message._1());
+                this.gryo.writeClassAndObject(output, message._2());
+            });
+        }
+
+        @Override
+        protected ViewOutgoingPayload read(final Input input) {
+            final List<DetachedVertexProperty<Object>> view = readView(this.gryo, input);
+            final int size = input.readInt(true);
+            final List<Tuple2<Object, Object>> outgoingMessages = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                outgoingMessages.add(new Tuple2<>(this.gryo.readClassAndObject(input), this.gryo.readClassAndObject(input)));
+            }
+            return new ViewOutgoingPayload<>(view, outgoingMessages);
+        }
+    }
+}
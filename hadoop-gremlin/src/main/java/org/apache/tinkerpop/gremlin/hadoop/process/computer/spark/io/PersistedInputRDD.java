@@ -0,0 +1,49 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  * http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkContextStorage;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+
+/**
+ * A PersistedInputRDD reads the graphRDD that a {@link PersistedOutputRDD} persisted in the persisted Spark context
+ * under the name {@code gremlin.hadoop.inputLocation}. The graph is not read nor parsed from the file system again.
+ *
+ * @author agent (agent@local)
+ */
+public final class PersistedInputRDD implements InputRDD {
+
+    @Override
+    public JavaPairRDD<Object, VertexWritable> readGraphRDD(final Configuration configuration, final JavaSparkContext sparkContext) {
+        final String inputLocation = configuration.getString(Constants.GREMLIN_HADOOP_INPUT_LOCATION);
+        if (null == inputLocation)
+            throw new IllegalArgumentException("There is no persisted graphRDD to read as " + Constants.GREMLIN_HADOOP_INPUT_LOCATION + " is not set");
+        // a view of the persisted graph (with its partitioner) so that the graph computer names and persists its own graphRDD
+        return SparkContextStorage.getRDD(inputLocation)
+                .orElseThrow(() -> new IllegalStateException("There is no graphRDD persisted as " + inputLocation + " in the Spark context: " + SparkContextStorage.getRDDNames()))
+                .mapValues(vertexWritable -> vertexWritable);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  * http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkContextStorage;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+
+/**
+ * A PersistedOutputRDD persists the graphRDD in the Spark context under the name {@code gremlin.hadoop.outputLocation}
+ * so that the jobs that follow read it with a {@link PersistedInputRDD}. This requires {@code gremlin.hadoop.persistContext}
+ * to be {@code true} as otherwise the context, and the persisted graph with it, is closed at the end of the job. The
+ * graph is persisted with {@code gremlin.hadoop.persistStorageLevel} which defaults to {@code MEMORY_AND_DISK_SER}. A
+ * serialized storage level is recommended as the vertices are then deserialized anew for each job that reads them and
+ * no job can mutate the persisted graph.
+ *
+ * @author agent (agent@local)
+ */
+public final class PersistedOutputRDD implements OutputRDD {
+
+    @Override
+    public void writeGraphRDD(final Configuration configuration, final JavaPairRDD<Object, VertexWritable> graphRDD) {
+        if (!configuration.getBoolean(Constants.GREMLIN_HADOOP_PERSIST_CONTEXT, false))
+            throw new IllegalStateException("The graphRDD can only be persisted if the Spark context is persisted with " + Constants.GREMLIN_HADOOP_PERSIST_CONTEXT);
+        final String outputLocation = configuration.getString(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION);
+        if (null == outputLocation)
+            throw new IllegalArgumentException("The graphRDD is persisted by the name " + Constants.GREMLIN_HADOOP_OUTPUT_LOCATION + " which is not set");
+        // a graph of the same name is replaced
+        SparkContextStorage.removeRDD(outputLocation);
+        final boolean hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT_HAS_EDGES, true);
+        graphRDD.mapValues(vertexWritable -> {
+            if (!hasEdges)
+                vertexWritable.get().dropEdges();
+            return vertexWritable;
+        })
+                .setName(outputLocation)
+                .persist(StorageLevel.fromString(configuration.getString(Constants.GREMLIN_HADOOP_PERSIST_STORAGE_LEVEL, "MEMORY_AND_DISK_SER")))
+                .count(); // materialize the graph now as the vertices of a deserialized graphRDD are mutated by the map reducers that follow
+    }
+}
@@ -50,6 +50,11 @@ public final class ViewIncomingPayload<M> implements Payload {
         this.view = viewPayload.getView();
     }
 
+    public ViewIncomingPayload(final List<DetachedVertexProperty<Object>> view, final List<M> incomingMessages) {
+        this.view = view;
+        this.incomingMessages = incomingMessages;
+    }
+
 
     public List<DetachedVertexProperty<Object>> getView() {
         return null == this.view ? Collections.emptyList() : this.view;
@@ -35,19 +35,31 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.VertexTerminator;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 /**
+ * Reads the vertices of a split of a Gryo file. The file is read in blocks into a buffer which is scanned for the
+ * header that starts each vertex and the terminator that ends it with Boyer-Moore-Horspool. Each vertex is read by
+ * Gryo from its slice of the buffer.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class GryoRecordReader extends RecordReader<NullWritable, VertexWritable> {
 
-    private FSDataInputStream inputStream;
+    static final int BLOCK_SIZE = 64 * 1024;
 
     private static final byte[] PATTERN = GryoMapper.HEADER;
     private static final byte[] TERMINATOR = VertexTerminator.instance().terminal;
+    private static final int[] PATTERN_SKIPS = skips(PATTERN);
+    private static final int[] TERMINATOR_SKIPS = skips(TERMINATOR);
+
+    private FSDataInputStream inputStream;
+    private byte[] buffer = new byte[BLOCK_SIZE];
+    private int position = 0; // the start of the unread bytes of the buffer
+    private int limit = 0;    // the end of the bytes read into the buffer
+    private boolean exhausted = false;
 
     private GryoReader gryoReader;
     private final VertexWritable vertexWritable = new VertexWritable();
@@ -64,70 +76,115 @@ public final class GryoRecordReader extends RecordReader<NullWritable, VertexWri
         final Configuration configuration = context.getConfiguration();
         HadoopPools.initialize(configuration);
         this.gryoReader = HadoopPools.getGryoPool().takeReader();
-        long start = split.getStart();
+        final long start = split.getStart();
         final Path file = split.getPath();
         if (null != new CompressionCodecFactory(configuration).getCodec(file)) {
             throw new IllegalStateException("Compression is not supported for the (binary) Gryo format");
         }
         // open the file and seek to the start of the split
         this.inputStream = file.getFileSystem(configuration).open(split.getPath());
-        this.splitLength = split.getLength() - (seekToHeader(this.inputStream, start) - start);
+        this.inputStream.seek(start);
+        final long headerOffset = this.seekToHeader();
+        // a split without the start of a vertex has nothing to read
+        this.splitLength = -1 == headerOffset ? 0 : split.getLength() - headerOffset;
     }
 
-    private static long seekToHeader(final FSDataInputStream inputStream, final long start) throws IOException {
-        inputStream.seek(start);
-        long nextStart = start;
-        final byte[] buffer = new byte[PATTERN.length];
+    /**
+     * Moves the position of the buffer to the first header and gets its offset from the start of the split, or -1 if
+     * there is no header in the remainder of the file.
+     */
+    private long seekToHeader() throws IOException {
+        long offset = 0;
         while (true) {
-            if ((buffer[0] = PATTERN[0]) == inputStream.readByte()) {
-                inputStream.read(nextStart + 1, buffer, 1, PATTERN.length - 1);
-                if (patternMatch(buffer)) {
-                    inputStream.seek(nextStart);
-                    return nextStart;
-                }
-            } else {
-                nextStart = nextStart + 1;
-                inputStream.seek(nextStart);
-            }
+            final int index = indexOf(this.buffer, this.position, this.limit, PATTERN, PATTERN_SKIPS);
+            if (-1 != index) {
+                offset = offset + (index - this.position);
+                this.position = index;
+                return offset;
+            } else if (this.exhausted)
+                return -1;
+            // keep the bytes that may be the start of a header that is split between two blocks
+            final int next = Math.max(this.position, this.limit - (PATTERN.length - 1));
+            offset = offset + (next - this.position);
+            this.position = next;
+            this.fill();
         }
     }
 
-    private static boolean patternMatch(final byte[] bytes) {
-        for (int i = 0; i < PATTERN.length - 1; i++) {
-            if (bytes[i] != PATTERN[i])
-                return false;
-        }
-        return true;
-    }
-
     @Override
     public boolean nextKeyValue() throws IOException {
         if (this.currentLength >= this.splitLength)
             return false;
 
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-        long currentVertexLength = 0;
-        int terminatorLocation = 0;
+        int from = this.position;
         while (true) {
-            final int currentByte = this.inputStream.read();
-            if (-1 == currentByte) {
-                if (currentVertexLength > 0)
+            final int index = indexOf(this.buffer, from, this.limit, TERMINATOR, TERMINATOR_SKIPS);
+            if (-1 != index) {
+                final int end = index + TERMINATOR.length;
+                try (InputStream in = new ByteArrayInputStream(this.buffer, this.position, end - this.position)) {
+                    this.vertexWritable.set(this.gryoReader.readVertex(in, Attachable::get)); // I know how GryoReader works, so I'm cheating here
+                }
+                this.currentLength = this.currentLength + (end - this.position);
+                this.position = end;
+                return true;
+            } else if (this.exhausted) {
+                if (this.limit > this.position)
                     throw new IllegalStateException("Remainder of stream exhausted without matching a vertex");
                 else
                     return false;
             }
-            this.currentLength++;
-            currentVertexLength++;
-            output.write(currentByte);
+            // the terminator is searched for from where the previous block left off
+            from = Math.max(this.position, this.limit - (TERMINATOR.length - 1)) - this.position;
+            this.fill();
+            from = from + this.position;
+        }
+    }
 
-            terminatorLocation = ((byte) currentByte) == TERMINATOR[terminatorLocation] ? terminatorLocation + 1 : 0;
-            if (terminatorLocation >= TERMINATOR.length) {
-                try (InputStream in = new ByteArrayInputStream(output.toByteArray())) {
-                    this.vertexWritable.set(this.gryoReader.readVertex(in, Attachable::get)); // I know how GryoReader works, so I'm cheating here
-                    return true;
-                }
+    /**
+     * Reads the next block of the file into the buffer. The unread bytes are moved to the start of the buffer and
+     * the buffer is grown if they fill it, which is the case for a vertex that is larger than the buffer.
+     */
+    private void fill() throws IOException {
+        if (this.position > 0) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, this.limit - this.position);
+            this.limit = this.limit - this.position;
+            this.position = 0;
+        }
+        if (this.limit == this.buffer.length)
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        final int read = this.inputStream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+        if (-1 == read)
+            this.exhausted = true;
+        else
+            this.limit = this.limit + read;
+    }
+
+    private static int[] skips(final byte[] pattern) {
+        final int[] skips = new int[256];
+        Arrays.fill(skips, pattern.length);
+        for (int i = 0; i < pattern.length - 1; i++) {
+            skips[pattern[i] & 0xFF] = pattern.length - 1 - i;
+        }
+        return skips;
+    }
+
+    /**
+     * Finds the first occurrence of the pattern in the bytes from {@code from} (inclusive) to {@code to} (exclusive)
+     * with Boyer-Moore-Horspool, or -1 if there is none.
+     */
+    private static int indexOf(final byte[] bytes, final int from, final int to, final byte[] pattern, final int[] skips) {
+        final int last = pattern.length - 1;
+        int i = from;
+        while (i + last < to) {
+            int j = last;
+            while (bytes[i + j] == pattern[j]) {
+                if (0 == j)
+                    return i;
+                j--;
             }
+            i = i + skips[bytes[i + last] & 0xFF];
         }
+        return -1;
     }
 
     @Override
@@ -0,0 +1,168 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  * http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkGraphComputer;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.MessagePayload;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewIncomingPayload;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewOutgoingPayload;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewPayload;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.javatuples.Pair;
+import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class GryoRegistratorTest {
+
+    private final Kryo kryo = createKryo();
+
+    private static Kryo createKryo() {
+        final Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(true);
+        kryo.register(ArrayList.class);
+        new GryoRegistrator().registerClasses(kryo);
+        return kryo;
+    }
+
+    private <T> T roundTrip(final T object) {
+        final Output output = new Output(1024, -1);
+        this.kryo.writeClassAndObject(output, object);
+        return (T) this.kryo.readClassAndObject(new Input(output.toBytes()));
+    }
+
+    private static List<DetachedVertexProperty<Object>> createView() {
+        final Vertex vertex = StarGraph.open().addVertex(T.id, 1l, T.label, "person", "name", "marko", "rank", 0.15d);
+        final List<DetachedVertexProperty<Object>> view = new ArrayList<>();
+        vertex.properties().forEachRemaining(property -> view.add(DetachedFactory.detach(property, true)));
+        return view;
+    }
+
+    @Test
+    public void shouldSerializeVertexWritable() {
+        final Vertex marko = StarGraph.open().addVertex(T.id, 1l, T.label, "person", "name", "marko", "age", 29);
+        final Vertex josh = StarGraph.open().addVertex(T.id, 4l);
+        marko.addEdge("knows", josh, T.id, 8l, "weight", 1.0d);
+        final VertexWritable vertexWritable = roundTrip(new VertexWritable(marko));
+        assertEquals(1l, vertexWritable.get().id());
+        assertEquals("person", vertexWritable.get().label());
+        assertEquals("marko", vertexWritable.get().value("name"));
+        assertEquals(29, (int) vertexWritable.get().value("age"));
+        assertEquals(1.0d, vertexWritable.get().edges(Direction.OUT, "knows").next().<Double>value("weight"), 0.0d);
+        assertEquals(4l, vertexWritable.get().edges(Direction.OUT, "knows").next().inVertex().id());
+    }
+
+    @Test
+    public void shouldSerializeObjectWritable() {
+        assertEquals(Arrays.asList(1l, "marko"), roundTrip(new ObjectWritable<>(Arrays.asList(1l, "marko"))).get());
+    }
+
+    @Test
+    public void shouldSerializePayloads() {
+        final List<DetachedVertexProperty<Object>> view = createView();
+        assertEquals(view, roundTrip(new ViewPayload(view)).getView());
+        assertEquals(0.15d, roundTrip(new MessagePayload<>(0.15d)).getMessage());
+
+        final ViewIncomingPayload<Double> viewIncomingPayload = roundTrip(new ViewIncomingPayload<>(view, new ArrayList<>(Arrays.asList(0.1d, 0.2d))));
+        assertTrue(viewIncomingPayload.hasView());
+        assertEquals(view, viewIncomingPayload.getView());
+        assertEquals(Arrays.asList(0.1d, 0.2d), viewIncomingPayload.getIncomingMessages());
+        assertFalse(roundTrip(new ViewIncomingPayload<Double>(null, new ArrayList<>())).hasView());
+
+        final ViewOutgoingPayload<Double> viewOutgoingPayload = roundTrip(new ViewOutgoingPayload<>(view, Arrays.asList(new Tuple2<>(4l, 0.1d), new Tuple2<>(6l, 0.2d))));
+        assertEquals(view, viewOutgoingPayload.getView().getView());
+        assertEquals(Arrays.asList(new Tuple2<>(4l, 0.1d), new Tuple2<>(6l, 0.2d)), viewOutgoingPayload.getOutgoingMessages());
+    }
+
+    @Test
+    public void shouldSerializeMessagesThatGryoDoesNotRegister() {
+        assertEquals(Pair.with('c', 1.0d), roundTrip(new MessagePayload<>(Pair.with('c', 1.0d))).getMessage());
+        final List<DetachedVertexProperty<Object>> view = createView();
+        final ViewIncomingPayload<Pair<Long, Double>> viewIncomingPayload = roundTrip(new ViewIncomingPayload<>(view, new ArrayList<>(Arrays.asList(Pair.with(1l, 0.1d), Pair.with(4l, 0.2d)))));
+        assertEquals(view, viewIncomingPayload.getView());
+        assertEquals(Arrays.asList(Pair.with(1l, 0.1d), Pair.with(4l, 0.2d)), viewIncomingPayload.getIncomingMessages());
+    }
+
+    @Test
+    public void shouldReuseBuffersForObjectsOfAnySize() {
+        final String large = String.join("", Collections.nCopies(100000, "x"));
+        assertEquals(large, roundTrip(new MessagePayload<>(large)).getMessage());
+        assertEquals("small", roundTrip(new MessagePayload<>("small")).getMessage());
+        assertEquals(large, roundTrip(new MessagePayload<>(large)).getMessage());
+    }
+
+    @Test
+    public void shouldPassPeerPressureMessagesThroughSpark() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty("spark.master", "local[4]");
+        configuration.setProperty("spark.serializer", "org.apache.spark.serializer.KryoSerializer");
+        configuration.setProperty("spark.kryo.registrator", GryoRegistrator.class.getCanonicalName());
+        configuration.setProperty(Graph.GRAPH, HadoopGraph.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, HadoopGraphProvider.PATHS.get("tinkerpop-modern.kryo"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, GryoInputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, "hadoop-gremlin/target/test-output");
+        configuration.setProperty(Constants.GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE, false);
+        ////////
+        final Graph graph = GraphFactory.open(configuration);
+        final ComputerResult result = graph.compute(SparkGraphComputer.class)
+                .result(GraphComputer.ResultGraph.NEW)
+                .persist(GraphComputer.Persist.VERTEX_PROPERTIES)
+                .program(PeerPressureVertexProgram.build().create(graph)).submit().get();
+        assertTrue(result.memory().getIteration() > 1);
+        assertEquals(Long.valueOf(6l), result.graph().traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values(PeerPressureVertexProgram.CLUSTER).count().next());
+    }
+}
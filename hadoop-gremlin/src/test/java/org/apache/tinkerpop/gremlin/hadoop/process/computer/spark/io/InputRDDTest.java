@@ -23,16 +23,33 @@ package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io;
 
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.storage.StorageLevel;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkExecutor;
 import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkGraphComputer;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkMemory;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.payload.ViewIncomingPayload;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopConfiguration;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -54,4 +71,96 @@ public class InputRDDTest {
         assertEquals(Double.valueOf(123.0d), graph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values("age").sum().next());
         assertEquals(Long.valueOf(4l), graph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().count().next());
     }
+
+    @Test
+    public void shouldReadFromArbitraryRDDIntoConfiguredPartitions() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty("spark.master", "local[4]");
+        configuration.setProperty("spark.serializer", "org.apache.spark.serializer.KryoSerializer");
+        configuration.setProperty(Graph.GRAPH, HadoopGraph.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, ExampleInputRDD.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, "hadoop-gremlin/target/test-output");
+        configuration.setProperty(Constants.GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE, false);
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_RDD_PARTITIONS, 3);
+        ////////
+        Graph graph = GraphFactory.open(configuration);
+        assertEquals(Double.valueOf(123.0d), graph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values("age").sum().next());
+        assertEquals(Long.valueOf(2l), graph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().has("age", P.gt(30)).count().next());
+        ////////
+        final JavaSparkContext sparkContext = createSparkContext(configuration);
+        try {
+            final JavaPairRDD<Object, VertexWritable> graphRDD = SparkExecutor.partitionGraphRDD(new ExampleInputRDD().readGraphRDD(configuration, sparkContext), 3);
+            assertTrue(graphRDD.partitioner().isPresent());
+            assertTrue(graphRDD.partitioner().get() instanceof HashPartitioner);
+            assertEquals(3, graphRDD.partitioner().get().numPartitions());
+            assertEquals(3, graphRDD.partitions().size());
+            // the views and messages are reduced into the partitions of the graph so they join without a shuffle
+            final PageRankVertexProgram vertexProgram = PageRankVertexProgram.build().create(graph);
+            final SparkMemory memory = new SparkMemory(vertexProgram, Collections.emptySet(), sparkContext);
+            vertexProgram.setup(memory);
+            final HadoopConfiguration vertexProgramConfiguration = new HadoopConfiguration();
+            vertexProgram.storeState(vertexProgramConfiguration);
+            final JavaPairRDD<Object, ViewIncomingPayload<Double>> viewIncomingRDD = SparkExecutor.executeVertexProgramIteration(graphRDD, null, memory, vertexProgramConfiguration);
+            assertTrue(viewIncomingRDD.partitioner().isPresent());
+            assertEquals(graphRDD.partitioner().get(), viewIncomingRDD.partitioner().get());
+            assertEquals(4l, viewIncomingRDD.count());
+        } finally {
+            sparkContext.close();
+        }
+    }
+
+    @Test
+    public void shouldReadFromArbitraryRDDWithStorageLevelAndCheckpoints() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty("spark.master", "local[4]");
+        configuration.setProperty("spark.serializer", "org.apache.spark.serializer.KryoSerializer");
+        configuration.setProperty(Graph.GRAPH, HadoopGraph.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, ExampleInputRDD.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, "hadoop-gremlin/target/test-output");
+        configuration.setProperty(Constants.GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE, false);
+        configuration.setProperty(Constants.GREMLIN_HADOOP_STORAGE_LEVEL, "MEMORY_AND_DISK_SER");
+        configuration.setProperty(Constants.GREMLIN_HADOOP_CHECKPOINT_INTERVAL, 1);
+        configuration.setProperty(Constants.GREMLIN_HADOOP_CHECKPOINT_LOCATION, "hadoop-gremlin/target/test-checkpoint");
+        ////////
+        Graph graph = GraphFactory.open(configuration);
+        assertEquals(Double.valueOf(123.0d), graph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values("age").sum().next());
+        assertEquals(Long.valueOf(2l), graph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().has("age", P.gt(30)).count().next());
+        ////////
+        final JavaSparkContext sparkContext = createSparkContext(configuration);
+        try {
+            sparkContext.setCheckpointDir(configuration.getString(Constants.GREMLIN_HADOOP_CHECKPOINT_LOCATION));
+            final JavaPairRDD<Object, VertexWritable> graphRDD = SparkExecutor.partitionGraphRDD(new ExampleInputRDD().readGraphRDD(configuration, sparkContext), 3)
+                    .persist(SparkExecutor.getStorageLevel(configuration));
+            final PageRankVertexProgram vertexProgram = PageRankVertexProgram.build().create(graph);
+            final SparkMemory memory = new SparkMemory(vertexProgram, Collections.emptySet(), sparkContext);
+            vertexProgram.setup(memory);
+            final HadoopConfiguration vertexProgramConfiguration = new HadoopConfiguration();
+            vertexProgram.storeState(vertexProgramConfiguration);
+            vertexProgramConfiguration.setProperty(Constants.GREMLIN_HADOOP_STORAGE_LEVEL, configuration.getProperty(Constants.GREMLIN_HADOOP_STORAGE_LEVEL));
+            vertexProgramConfiguration.setProperty(Constants.GREMLIN_HADOOP_CHECKPOINT_INTERVAL, configuration.getProperty(Constants.GREMLIN_HADOOP_CHECKPOINT_INTERVAL));
+            // every iteration is checkpointed at an interval of one
+            final JavaPairRDD<Object, ViewIncomingPayload<Double>> firstViewIncomingRDD = SparkExecutor.executeVertexProgramIteration(graphRDD, null, memory, vertexProgramConfiguration);
+            assertEquals(StorageLevel.MEMORY_AND_DISK_SER(), firstViewIncomingRDD.rdd().getStorageLevel());
+            assertTrue(firstViewIncomingRDD.rdd().isCheckpointed());
+            memory.incrIteration();
+            final JavaPairRDD<Object, ViewIncomingPayload<Double>> secondViewIncomingRDD = SparkExecutor.executeVertexProgramIteration(graphRDD, firstViewIncomingRDD, memory, vertexProgramConfiguration);
+            assertEquals(StorageLevel.MEMORY_AND_DISK_SER(), secondViewIncomingRDD.rdd().getStorageLevel());
+            assertTrue(secondViewIncomingRDD.rdd().isCheckpointed());
+            // the views and messages of the previous iteration are released once the next ones are materialized
+            assertEquals(StorageLevel.NONE(), firstViewIncomingRDD.rdd().getStorageLevel());
+            assertEquals(4l, secondViewIncomingRDD.count());
+        } finally {
+            if (sparkContext.getCheckpointDir().isPresent())
+                FileSystem.getLocal(new org.apache.hadoop.conf.Configuration()).delete(new Path(sparkContext.getCheckpointDir().get()), true);
+            sparkContext.close();
+        }
+    }
+
+    private static JavaSparkContext createSparkContext(final Configuration configuration) {
+        final SparkConf sparkConfiguration = new SparkConf().setAppName(InputRDDTest.class.getSimpleName());
+        configuration.getKeys("spark").forEachRemaining(key -> sparkConfiguration.set(key, configuration.getString(key)));
+        return new JavaSparkContext(sparkConfiguration);
+    }
 }
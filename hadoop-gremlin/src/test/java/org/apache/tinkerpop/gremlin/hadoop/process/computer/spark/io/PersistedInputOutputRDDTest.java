@@ -0,0 +1,159 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  * http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.io;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.tinkerpop.gremlin.groovy.util.TestableConsolePluginAcceptor;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.groovy.plugin.HadoopGremlinPlugin;
+import org.apache.tinkerpop.gremlin.hadoop.groovy.plugin.HadoopRemoteAcceptor;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkContextStorage;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.spark.SparkGraphComputer;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class PersistedInputOutputRDDTest {
+
+    /**
+     * Counts the times that the graph is read by the input rdd of a job.
+     */
+    public static final class CountingInputRDD implements InputRDD {
+
+        private static final AtomicInteger READS = new AtomicInteger(0);
+
+        @Override
+        public JavaPairRDD<Object, VertexWritable> readGraphRDD(final Configuration configuration, final JavaSparkContext sparkContext) {
+            READS.incrementAndGet();
+            return new ExampleInputRDD().readGraphRDD(configuration, sparkContext);
+        }
+    }
+
+    private static Configuration createConfiguration() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty("spark.master", "local[4]");
+        configuration.setProperty("spark.serializer", "org.apache.spark.serializer.KryoSerializer");
+        configuration.setProperty(Graph.GRAPH, HadoopGraph.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD, CountingInputRDD.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_RDD, PersistedOutputRDD.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, "persistedGraph");
+        configuration.setProperty(Constants.GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE, false);
+        configuration.setProperty(Constants.GREMLIN_HADOOP_PERSIST_CONTEXT, true);
+        return configuration;
+    }
+
+    @Test
+    public void shouldPersistGraphRDDBetweenJobs() throws Exception {
+        final Configuration configuration = createConfiguration();
+        ////////
+        try {
+            CountingInputRDD.READS.set(0);
+            final Graph graph = GraphFactory.open(configuration);
+            final ComputerResult result = graph.compute(SparkGraphComputer.class)
+                    .result(GraphComputer.ResultGraph.NEW)
+                    .persist(GraphComputer.Persist.EDGES)
+                    .program(PageRankVertexProgram.build().iterations(2).create(graph)).submit().get();
+            assertTrue(SparkContextStorage.getRDD("persistedGraph").isPresent());
+            assertEquals(1, CountingInputRDD.READS.get());
+            // the result graph is read from the spark context and not by the input rdd of the first job
+            final HadoopGraph persistedGraph = (HadoopGraph) result.graph();
+            assertEquals(PersistedInputRDD.class.getCanonicalName(), persistedGraph.configuration().getString(Constants.GREMLIN_HADOOP_GRAPH_INPUT_RDD));
+            assertEquals("persistedGraph", persistedGraph.configuration().getInputLocation());
+            assertEquals(Long.valueOf(4l), persistedGraph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values(PageRankVertexProgram.PAGE_RANK).count().next());
+            assertEquals(Double.valueOf(123.0d), persistedGraph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values("age").sum().next());
+            assertEquals(1, CountingInputRDD.READS.get());
+            assertTrue(SparkContextStorage.getRDD("persistedGraph").isPresent());
+            // the persisted graph is evicted explicitly
+            assertTrue(SparkContextStorage.removeRDD("persistedGraph"));
+            assertFalse(SparkContextStorage.getRDD("persistedGraph").isPresent());
+            assertFalse(SparkContextStorage.getRDDNames().contains("persistedGraph"));
+        } finally {
+            SparkContextStorage.close();
+        }
+    }
+
+    @Test
+    public void shouldPersistVertexProgramPropertiesWithSerializedStorageLevel() throws Exception {
+        final Configuration configuration = createConfiguration();
+        configuration.setProperty(Constants.GREMLIN_HADOOP_STORAGE_LEVEL, "MEMORY_AND_DISK_SER");
+        ////////
+        try {
+            final Graph graph = GraphFactory.open(configuration);
+            final ComputerResult result = graph.compute(SparkGraphComputer.class)
+                    .result(GraphComputer.ResultGraph.NEW)
+                    .persist(GraphComputer.Persist.EDGES)
+                    .program(PageRankVertexProgram.build().iterations(2).create(graph)).submit().get();
+            final HadoopGraph persistedGraph = (HadoopGraph) result.graph();
+            assertEquals(Long.valueOf(4l), persistedGraph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values(PageRankVertexProgram.PAGE_RANK).count().next());
+            assertEquals(Double.valueOf(123.0d), persistedGraph.traversal(GraphTraversalSource.computer(SparkGraphComputer.class)).V().values("age").sum().next());
+        } finally {
+            SparkContextStorage.close();
+        }
+    }
+
+    @Test
+    public void shouldEvictAndCloseThroughRemoteAcceptor() throws Exception {
+        final Configuration configuration = createConfiguration();
+        ////////
+        try {
+            final Graph graph = GraphFactory.open(configuration);
+            graph.compute(SparkGraphComputer.class)
+                    .result(GraphComputer.ResultGraph.NEW)
+                    .persist(GraphComputer.Persist.EDGES)
+                    .program(PageRankVertexProgram.build().iterations(1).create(graph)).submit().get();
+            final TestableConsolePluginAcceptor console = new TestableConsolePluginAcceptor();
+            final HadoopGremlinPlugin plugin = new HadoopGremlinPlugin();
+            plugin.pluginTo(console);
+            final HadoopRemoteAcceptor remote = (HadoopRemoteAcceptor) plugin.remoteAcceptor().get();
+            console.addBinding("graph", graph);
+            assertTrue(((Set<String>) ((Map<String, Object>) remote.connect(Arrays.asList("graph"))).get("persistedRDDs")).contains("persistedGraph"));
+            assertFalse(((Set<String>) ((Map<String, Object>) remote.configure(Arrays.asList("removeRDD", "persistedGraph"))).get("persistedRDDs")).contains("persistedGraph"));
+            assertFalse(SparkContextStorage.getRDD("persistedGraph").isPresent());
+            assertTrue(SparkContextStorage.getContext().isPresent());
+            remote.close();
+            assertFalse(SparkContextStorage.getContext().isPresent());
+        } finally {
+            SparkContextStorage.close();
+        }
+    }
+}
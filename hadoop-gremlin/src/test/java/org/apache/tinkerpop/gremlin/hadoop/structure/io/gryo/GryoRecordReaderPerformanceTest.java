@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.VertexTerminator;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time {@link GryoRecordReader} takes to read a large Gryo file from the local file system, split as
+ * Hadoop would split it, against a reader that scans the file a byte at a time as {@link GryoRecordReader} did
+ * before it read the file in blocks. The file is the Grateful Dead graph written over and over until it is
+ * {@code -DgryoRecordReaderPerformanceTest.gigabytes} (default 2) gigabytes.
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gryo-record-reader")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gryo-record-reader")
+public class GryoRecordReaderPerformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GryoRecordReaderPerformanceTest.class);
+
+    private static final long SPLIT_SIZE = 128l * 1024l * 1024l;
+
+    private static Configuration configuration;
+    private static File file;
+    private static long numberOfVertices = 0l;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void writeGryoFile() throws Exception {
+        configuration = new Configuration(false);
+        configuration.set("fs.file.impl", LocalFileSystem.class.getName());
+        configuration.set("fs.default.name", "file:///");
+
+        final List<Vertex> vertices = new ArrayList<>();
+        final File gratefulDead = new File(HadoopGraphProvider.PATHS.get("grateful-dead.kryo"));
+        read(new GryoRecordReader(), new FileSplit(new Path(gratefulDead.getAbsoluteFile().toURI().toString()), 0, gratefulDead.length(), null), vertices);
+
+        final long bytes = Long.valueOf(System.getProperty("gryoRecordReaderPerformanceTest.gigabytes", "2")) * 1024l * 1024l * 1024l;
+        final File directory = TestHelper.makeTestDataPath(GryoRecordReaderPerformanceTest.class, "gryo-record-reader");
+        directory.mkdirs();
+        file = new File(directory, "grateful-dead-large.kryo");
+        final GryoWriter writer = GryoWriter.build().create();
+        try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file), 1024 * 1024)) {
+            long written = 0l;
+            while (written < bytes) {
+                for (final Vertex vertex : vertices) {
+                    final ByteArrayOutputStream vertexBytes = new ByteArrayOutputStream();
+                    writer.writeVertex(vertexBytes, vertex, Direction.BOTH);
+                    vertexBytes.writeTo(outputStream);
+                    written = written + vertexBytes.size();
+                    numberOfVertices++;
+                }
+            }
+        }
+        logger.info("Wrote {} vertices to {} ({} bytes)", numberOfVertices, file, file.length());
+    }
+
+    @AfterClass
+    public static void deleteGryoFile() {
+        if (null != file && !file.delete())
+            logger.warn("Could not delete {}", file);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void readWithBlockScanning() throws Exception {
+        measure("block", GryoRecordReader::new);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void readWithByteScanning() throws Exception {
+        measure("byte", ByteScanningGryoRecordReader::new);
+    }
+
+    private static void measure(final String name, final Supplier<RecordReader<NullWritable, VertexWritable>> readers) throws Exception {
+        final long startTime = System.currentTimeMillis();
+        long count = 0l;
+        for (long start = 0l; start < file.length(); start = start + SPLIT_SIZE) {
+            final FileSplit split = new FileSplit(new Path(file.getAbsoluteFile().toURI().toString()), start, Math.min(SPLIT_SIZE, file.length() - start), null);
+            count = count + read(readers.get(), split, null);
+        }
+        assertEquals(numberOfVertices, count);
+        logger.info("{} scanning read {} vertices in {} ms", name, count, System.currentTimeMillis() - startTime);
+    }
+
+    private static long read(final RecordReader<NullWritable, VertexWritable> reader, final InputSplit split, final List<Vertex> vertices) throws Exception {
+        long count = 0l;
+        reader.initialize(split, new TaskAttemptContext(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, true, 0, 0)));
+        try {
+            while (reader.nextKeyValue()) {
+                if (null != vertices)
+                    vertices.add(reader.getCurrentValue().get());
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        return count;
+    }
+
+    /**
+     * The {@link GryoRecordReader} as it was before it read in blocks, which seeks to the header and matches the
+     * terminator a byte at a time.
+     */
+    private static final class ByteScanningGryoRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+        private static final byte[] PATTERN = GryoMapper.HEADER;
+        private static final byte[] TERMINATOR = VertexTerminator.instance().terminal;
+
+        private FSDataInputStream inputStream;
+        private GryoReader gryoReader;
+        private final VertexWritable vertexWritable = new VertexWritable();
+        private long currentLength = 0;
+        private long splitLength;
+
+        @Override
+        public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
+            final FileSplit split = (FileSplit) genericSplit;
+            HadoopPools.initialize(context.getConfiguration());
+            this.gryoReader = HadoopPools.getGryoPool().takeReader();
+            this.inputStream = split.getPath().getFileSystem(context.getConfiguration()).open(split.getPath());
+            this.splitLength = split.getLength() - (seekToHeader(this.inputStream, split.getStart()) - split.getStart());
+        }
+
+        private static long seekToHeader(final FSDataInputStream inputStream, final long start) throws IOException {
+            inputStream.seek(start);
+            long nextStart = start;
+            final byte[] buffer = new byte[PATTERN.length];
+            while (true) {
+                if ((buffer[0] = PATTERN[0]) == inputStream.readByte()) {
+                    inputStream.read(nextStart + 1, buffer, 1, PATTERN.length - 1);
+                    boolean match = true;
+                    for (int i = 0; i < PATTERN.length - 1; i++) {
+                        match = match && buffer[i] == PATTERN[i];
+                    }
+                    if (match) {
+                        inputStream.seek(nextStart);
+                        return nextStart;
+                    }
+                } else {
+                    nextStart = nextStart + 1;
+                    inputStream.seek(nextStart);
+                }
+            }
+        }
+
+        @Override
+        public boolean nextKeyValue() throws IOException {
+            if (this.currentLength >= this.splitLength)
+                return false;
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int terminatorLocation = 0;
+            while (true) {
+                final int currentByte = this.inputStream.read();
+                if (-1 == currentByte)
+                    return false;
+                this.currentLength++;
+                output.write(currentByte);
+                terminatorLocation = ((byte) currentByte) == TERMINATOR[terminatorLocation] ? terminatorLocation + 1 : 0;
+                if (terminatorLocation >= TERMINATOR.length) {
+                    try (InputStream in = new ByteArrayInputStream(output.toByteArray())) {
+                        this.vertexWritable.set(this.gryoReader.readVertex(in, Attachable::get));
+                        return true;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public NullWritable getCurrentKey() {
+            return NullWritable.get();
+        }
+
+        @Override
+        public VertexWritable getCurrentValue() {
+            return this.vertexWritable;
+        }
+
+        @Override
+        public float getProgress() {
+            return 0 == this.splitLength ? 0.0f : (float) this.currentLength / (float) this.splitLength;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.inputStream.close();
+            HadoopPools.getGryoPool().offerReader(this.gryoReader);
+        }
+    }
+}
@@ -18,11 +18,36 @@
  */
 package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
 
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.InputFormat;
 import org.apache.hadoop.mapreduce.OutputFormat;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.RecordReaderWriterTest;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -44,4 +69,86 @@ public class GryoRecordReaderWriterTest extends RecordReaderWriterTest {
     protected Class<? extends OutputFormat<NullWritable, VertexWritable>> getOutputFormat() {
         return GryoOutputFormat.class;
     }
+
+    @Test
+    public void shouldReadVertexLargerThanBlock() throws Exception {
+        final int length = 3 * GryoRecordReader.BLOCK_SIZE + 100;
+        final File file = writeFile("large-vertex.kryo", length);
+        final List<Vertex> vertices = read(file, 0, file.length());
+        assertEquals(Arrays.asList(1l, 2l, 3l), ids(vertices));
+        assertTrue(vertices.get(0).<String>value("padding").length() > 3 * GryoRecordReader.BLOCK_SIZE);
+        assertEquals("vertex-2", vertices.get(1).value("name"));
+        // the split that starts within the large vertex reads from the vertex that follows it
+        assertEquals(Collections.singletonList(1l), ids(read(file, 0, GryoRecordReader.BLOCK_SIZE)));
+        assertEquals(Arrays.asList(2l, 3l), ids(read(file, GryoRecordReader.BLOCK_SIZE, file.length() - GryoRecordReader.BLOCK_SIZE)));
+    }
+
+    @Test
+    public void shouldFindHeaderThatStraddlesBlocks() throws Exception {
+        // the split starts a byte into the file and so the header of the second vertex is read half into each block
+        final int length = GryoRecordReader.BLOCK_SIZE - 7;
+        final File file = writeFile("straddling-header.kryo", length);
+        assertEquals(Collections.singletonList(1l), ids(read(file, 0, 1)));
+        assertEquals(Arrays.asList(2l, 3l), ids(read(file, 1, file.length() - 1)));
+    }
+
+    @Test
+    public void shouldReadNothingFromSplitWithoutHeader() throws Exception {
+        final int length = 3 * GryoRecordReader.BLOCK_SIZE;
+        final File file = writeFile("no-header.kryo", length);
+        // a split within the first vertex and a split after the last header
+        assertEquals(Collections.emptyList(), ids(read(file, 100, GryoRecordReader.BLOCK_SIZE)));
+        assertEquals(Collections.emptyList(), ids(read(file, file.length() - 5, 5)));
+        assertEquals(Arrays.asList(1l, 2l, 3l), ids(read(file, 0, file.length())));
+    }
+
+    private static byte[] writeVertex(final long id, final int paddingLength) throws IOException {
+        final Vertex vertex = StarGraph.open().addVertex(T.id, id, "name", "vertex-" + id, "padding", String.join("", Collections.nCopies(paddingLength, "x")));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        GryoWriter.build().create().writeVertex(outputStream, vertex, Direction.BOTH);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes a vertex padded to the given number of bytes followed by two small vertices.
+     */
+    private static File writeFile(final String name, final int firstVertexLength) throws IOException {
+        int padding = firstVertexLength;
+        byte[] first = writeVertex(1l, padding);
+        for (int i = 0; i < 10 && first.length != firstVertexLength; i++) {
+            padding = padding + firstVertexLength - first.length;
+            first = writeVertex(1l, padding);
+        }
+        assertEquals(firstVertexLength, first.length);
+        final File directory = TestHelper.makeTestDataPath(GryoRecordReaderWriterTest.class, "gryo-record-reader");
+        directory.mkdirs();
+        final File file = new File(directory, name);
+        try (final OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(first);
+            outputStream.write(writeVertex(2l, 10));
+            outputStream.write(writeVertex(3l, 10));
+        }
+        return file;
+    }
+
+    private List<Vertex> read(final File file, final long start, final long length) throws Exception {
+        final GryoRecordReader reader = new GryoRecordReader();
+        reader.initialize(new FileSplit(new Path(file.getAbsoluteFile().toURI().toString()), start, length, null),
+                new TaskAttemptContext(configure(file.getParentFile()), new TaskAttemptID(UUID.randomUUID().toString(), 0, true, 0, 0)));
+        final List<Vertex> vertices = new ArrayList<>();
+        try {
+            while (reader.nextKeyValue()) {
+                vertices.add(reader.getCurrentValue().get());
+            }
+        } finally {
+            reader.close();
+        }
+        return vertices;
+    }
+
+    private static List<Object> ids(final List<Vertex> vertices) {
+        final List<Object> ids = new ArrayList<>();
+        vertices.forEach(vertex -> ids.add(vertex.id()));
+        return ids;
+    }
 }
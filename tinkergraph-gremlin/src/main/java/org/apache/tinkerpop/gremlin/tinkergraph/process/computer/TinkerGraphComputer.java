@@ -30,15 +30,18 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -52,14 +55,26 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
+    private int workers = Runtime.getRuntime().availableProcessors();
 
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
     }
 
+    /**
+     * Set the number of worker threads that execute the vertex program and the map and reduce stages of the
+     * computation. By default, there is one worker per available processor.
+     */
+    public TinkerGraphComputer workers(final int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + workers);
+        this.workers = workers;
+        return this;
+    }
+
     @Override
     public GraphComputer result(final ResultGraph resultGraph) {
         this.resultGraph = resultGraph;
@@ -109,25 +124,30 @@ public final class TinkerGraphComputer implements GraphComputer {
         this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
-            try (final TinkerWorkerPool workers = new TinkerWorkerPool(Runtime.getRuntime().availableProcessors())) {
+            try (final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers)) {
+                // the vertex set does not change during the computation so it is only gathered once
+                final TinkerGraphComputerView view = null == this.vertexProgram ? null : TinkerHelper.createGraphComputerView(this.graph, this.vertexProgram.getElementComputeKeys());
+                final List<Vertex> vertices = null == view ? IteratorUtils.list(this.graph.vertices()) : view.getVertices();
                 if (null != this.vertexProgram) {
-                    TinkerHelper.createGraphComputerView(this.graph, this.vertexProgram.getElementComputeKeys());
+                    this.messageBoard = new TinkerMessageBoard<>(view, this.vertexProgram.getMessageCombiner());
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
                     this.memory.completeSubRound();
                     while (true) {
                         workers.setVertexProgram(this.vertexProgram);
                         workers.vertexProgramWorkerIterationStart(this.memory.asImmutable());
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final Partitions<Vertex> partitions = new Partitions<>(vertices, workers.getNumberOfWorkers());
                         workers.executeVertexProgram(vertexProgram -> {
-                            while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (null == vertex) return;
-                                vertexProgram.execute(
-                                        ComputerGraph.vertexProgram(vertex, this.vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
-                                        this.memory
-                                );
+                            final TinkerMessageBoard.WorkerMessages workerMessages = this.messageBoard.acquireWorkerMessages();
+                            List<Vertex> partition;
+                            while (null != (partition = partitions.next())) {
+                                for (final Vertex vertex : partition) {
+                                    vertexProgram.execute(
+                                            ComputerGraph.vertexProgram(vertex, this.vertexProgram),
+                                            new TinkerMessenger<>(vertex, this.messageBoard, workerMessages),
+                                            this.memory
+                                    );
+                                }
                             }
                         });
                         workers.vertexProgramWorkerIterationEnd(this.memory.asImmutable());
@@ -148,14 +168,15 @@ public final class TinkerGraphComputer implements GraphComputer {
                 for (final MapReduce mapReduce : mapReducers) {
                     if (mapReduce.doStage(MapReduce.Stage.MAP)) {
                         final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final Partitions<Vertex> partitions = new Partitions<>(vertices, workers.getNumberOfWorkers());
                         workers.setMapReduce(mapReduce);
                         workers.mapReduceWorkerStart(MapReduce.Stage.MAP);
                         workers.executeMapReduce(workerMapReduce -> {
-                            while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (null == vertex) return;
-                                workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                            List<Vertex> partition;
+                            while (null != (partition = partitions.next())) {
+                                for (final Vertex vertex : partition) {
+                                    workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                                }
                             }
                         });
                         workers.mapReduceWorkerEnd(MapReduce.Stage.MAP);
@@ -166,13 +187,14 @@ public final class TinkerGraphComputer implements GraphComputer {
                         // no need to run combiners as this is single machine
                         if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                             final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                            final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
+                            final Partitions<Map.Entry<?, Queue<?>>> keyValues = new Partitions<>(new ArrayList<>((Set) mapEmitter.reduceMap.entrySet()), workers.getNumberOfWorkers());
                             workers.mapReduceWorkerStart(MapReduce.Stage.REDUCE);
                             workers.executeMapReduce(workerMapReduce -> {
-                                while (true) {
-                                    final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                    if (null == entry) return;
-                                    workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
+                                List<Map.Entry<?, Queue<?>>> partition;
+                                while (null != (partition = keyValues.next())) {
+                                    for (final Map.Entry<?, Queue<?>> entry : partition) {
+                                        workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
+                                    }
                                 }
                             });
                             workers.mapReduceWorkerEnd(MapReduce.Stage.REDUCE);
@@ -187,7 +209,6 @@ public final class TinkerGraphComputer implements GraphComputer {
                 this.memory.setRuntime(System.currentTimeMillis() - time);
                 this.memory.complete();
                 // determine the resultant graph based on the result graph/persist state
-                final TinkerGraphComputerView view = TinkerHelper.getGraphComputerView(this.graph);
                 final Graph resultGraph = null == view ? this.graph : view.processResultGraphPersist(this.resultGraph, this.persist);
                 TinkerHelper.dropGraphComputerView(this.graph);
                 return new DefaultComputerResult(resultGraph, this.memory.asImmutable());
@@ -203,16 +224,29 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
+    /**
+     * Splits a list of elements into contiguous partitions that are claimed by the workers one at a time. There are
+     * several partitions per worker so that a worker that finishes early claims the remaining partitions of a skewed
+     * split rather than sitting idle.
+     */
+    private static final class Partitions<V> {
+
+        private static final int PARTITIONS_PER_WORKER = 8;
 
-        private final Iterator<V> iterator;
+        private final List<V> elements;
+        private final int partitionSize;
+        private final AtomicInteger nextPartition = new AtomicInteger(0);
 
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
+        public Partitions(final List<V> elements, final int numberOfWorkers) {
+            this.elements = elements;
+            this.partitionSize = Math.max(1, (int) Math.ceil((double) elements.size() / (numberOfWorkers * PARTITIONS_PER_WORKER)));
         }
 
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
+        public List<V> next() {
+            final int partition = this.nextPartition.getAndIncrement();
+            if (partition >= this.elements.size()) return null; // guards the multiplication below from overflowing
+            final int start = partition * this.partitionSize;
+            return start >= this.elements.size() ? null : this.elements.subList(start, Math.min(start + this.partitionSize, this.elements.size()));
         }
     }
 
@@ -20,7 +20,6 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -28,69 +27,156 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.wrapped.WrappedVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
+ * Holds the element compute keys of a {@link TinkerGraphComputer} computation. Each compute key is stored as a column
+ * indexed by a dense vertex ordinal that is assigned when the view is created. A vertex with a single value for a
+ * key (the common case) only occupies a slot in the column: {@code long} and {@code double} values are stored in a
+ * primitive array and all others in an object array. The {@link VertexProperty} for such a value is created when it
+ * is read. Multiple values for a key or values with meta-properties are stored as a list of {@link VertexProperty}
+ * in the slot.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Set<String> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    private final Map<String, ComputeColumn> computeColumns;
+    private final List<Vertex> vertices;
 
     public TinkerGraphComputerView(final TinkerGraph graph, final Set<String> computeKeys) {
         this.graph = graph;
         this.computeKeys = computeKeys;
-        this.computeProperties = new ConcurrentHashMap<>();
+        // the vertex set can not change during a computation so each vertex is given a dense ordinal up front
+        this.vertices = IteratorUtils.list(graph.vertices());
+        for (int i = 0; i < this.vertices.size(); i++) {
+            TinkerHelper.setComputeOrdinal((TinkerVertex) this.vertices.get(i), i);
+        }
+        this.computeColumns = new HashMap<>();
+        for (final String key : computeKeys) {
+            this.computeColumns.put(key, new ComputeColumn(key, this.computeColumns.size(), computeKeys.size(), this.vertices.size()));
+        }
+    }
+
+    /**
+     * Get the vertices of the graph ordered by their ordinal.
+     */
+    public List<Vertex> getVertices() {
+        return this.vertices;
     }
 
-    public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
+    /**
+     * Get the dense ordinal of the vertex or -1 if the vertex is not in the graph. The vertex may be a
+     * {@link TinkerVertex}, a {@link WrappedVertex} of one, or any other vertex with the identifier of one.
+     */
+    public int ordinal(final Vertex vertex) {
+        if (vertex instanceof TinkerVertex && vertex.graph() == this.graph)
+            return TinkerHelper.getComputeOrdinal((TinkerVertex) vertex);
+        else if (vertex instanceof WrappedVertex)
+            return this.ordinal((Vertex) ((WrappedVertex<?>) vertex).getBaseVertex());
+        else {
+            final Iterator<Vertex> iterator = this.graph.vertices(vertex.id());
+            return iterator.hasNext() ? TinkerHelper.getComputeOrdinal((TinkerVertex) iterator.next()) : -1;
+        }
+    }
+
+    public <V> VertexProperty<V> addProperty(final TinkerVertex vertex, final VertexProperty.Cardinality cardinality, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
-        if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        if (null == column)
+            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+        if (VertexProperty.Cardinality.single == cardinality || column.isEmpty(ordinal)) {
+            column.setValue(ordinal, value);
+            return new ComputeVertexProperty<>(vertex, column, value);
+        } else {
+            final List<VertexProperty<?>> properties = column.getProperties(vertex, ordinal);
+            if (VertexProperty.Cardinality.set == cardinality) {
+                for (final VertexProperty<?> property : properties) {
+                    if (property.value().equals(value))
+                        return (VertexProperty<V>) property;
+                }
+            }
+            final VertexProperty<V> property = new TinkerVertexProperty<V>(vertex, key, value) {
                 @Override
                 public void remove() {
                     removeProperty(vertex, key, this);
                 }
             };
-            this.addValue(vertex, key, property);
+            column.promote(vertex, ordinal).add(property);
             return property;
-        } else {
-            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
     }
 
-    public List<VertexProperty<?>> getProperty(final TinkerVertex vertex, final String key) {
-        return isComputeKey(key) ? this.getValue(vertex, key) : (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
+    public <V> VertexProperty<V> getProperty(final TinkerVertex vertex, final String key) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        if (null == column) {
+            final Iterator<VertexProperty> properties = TinkerHelper.getProperties(vertex, key);
+            if (!properties.hasNext())
+                return VertexProperty.<V>empty();
+            final VertexProperty<V> property = properties.next();
+            if (properties.hasNext())
+                throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+            return property;
+        }
+        final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+        if (column.isEmpty(ordinal))
+            return VertexProperty.<V>empty();
+        else if (column.hasProperties(ordinal)) {
+            final List<VertexProperty<?>> properties = column.getProperties(vertex, ordinal);
+            if (properties.size() > 1)
+                throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+            return properties.isEmpty() ? VertexProperty.<V>empty() : (VertexProperty<V>) properties.get(0);
+        } else
+            return new ComputeVertexProperty<>(vertex, column, (V) column.getValue(ordinal));
     }
 
-    public List<Property> getProperties(final TinkerVertex vertex) {
-        final Stream<Property> a = TinkerHelper.getProperties(vertex).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(vertex) ?
-                this.computeProperties.get(vertex).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
-        return Stream.concat(a, b).collect(Collectors.toList());
+    public <V> Iterator<VertexProperty<V>> getProperties(final TinkerVertex vertex, final String... keys) {
+        final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+        if (1 == keys.length && this.computeColumns.containsKey(keys[0])) {
+            final ComputeColumn column = this.computeColumns.get(keys[0]);
+            if (!TinkerHelper.getProperties(vertex, keys[0]).hasNext() && !column.hasProperties(ordinal))
+                return column.isEmpty(ordinal) ? Collections.emptyIterator() : IteratorUtils.of(new ComputeVertexProperty<>(vertex, column, (V) column.getValue(ordinal)));
+        }
+        final List<VertexProperty<V>> list = new ArrayList<>();
+        TinkerHelper.getProperties(vertex, keys).forEachRemaining(property -> list.add((VertexProperty<V>) property));
+        for (final ComputeColumn column : this.computeColumns.values()) {
+            if (!ElementHelper.keyExists(column.key, keys) || column.isEmpty(ordinal))
+                continue;
+            if (column.hasProperties(ordinal))
+                column.getProperties(vertex, ordinal).forEach(property -> list.add((VertexProperty<V>) property));
+            else
+                list.add(new ComputeVertexProperty<>(vertex, column, (V) column.getValue(ordinal)));
+        }
+        return list.iterator();
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
-        if (isComputeKey(key)) {
-            this.removeValue(vertex, key, property);
-        } else {
+        final ComputeColumn column = this.computeColumns.get(key);
+        if (null == column)
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
-        }
+        final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+        if (column.hasProperties(ordinal)) {
+            final List<VertexProperty<?>> properties = column.getProperties(vertex, ordinal);
+            properties.remove(property);
+            if (properties.isEmpty()) column.clear(ordinal);
+        } else
+            column.clear(ordinal);
     }
 
     //////////////////////
@@ -146,45 +232,176 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
-                    vertexProperty.properties().forEachRemaining(property -> {
-                        newVertexProperty.property(property.key(), property.value());
-                    });
-                });
-            });
-        });
-        this.computeProperties.clear();
+        // the columns are copied one at a time and the graph assigns the identifiers of the new vertex properties
+        for (final ComputeColumn column : this.computeColumns.values()) {
+            for (int ordinal = 0; ordinal < this.vertices.size(); ordinal++) {
+                if (column.isEmpty(ordinal)) continue;
+                final TinkerVertex vertex = (TinkerVertex) this.vertices.get(ordinal);
+                if (column.hasProperties(ordinal)) {
+                    for (final VertexProperty<?> vertexProperty : column.getProperties(vertex, ordinal)) {
+                        final VertexProperty<?> newVertexProperty = vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value());
+                        vertexProperty.properties().forEachRemaining(property -> newVertexProperty.property(property.key(), property.value()));
+                    }
+                } else
+                    vertex.property(VertexProperty.Cardinality.list, column.key, column.getValue(ordinal));
+                column.clear(ordinal);
+            }
+        }
     }
 
     //////////////////////
 
-    private boolean isComputeKey(final String key) {
-        return this.computeKeys.contains(key);
-    }
+    /**
+     * The values of a single compute key for all vertices, indexed by vertex ordinal. A vertex is only ever
+     * processed by one worker at a time so slots need no synchronization. The backing arrays are created the first
+     * time a value of their kind is stored.
+     */
+    private static final class ComputeColumn {
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new ConcurrentHashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = Collections.synchronizedList(new ArrayList<>());
-            v.add(property);
-            return v;
-        });
-    }
+        private static final byte EMPTY = 0;
+        private static final byte LONG = 1;
+        private static final byte DOUBLE = 2;
+        private static final byte OBJECT = 3;
+        private static final byte PROPERTIES = 4;
+
+        private final String key;
+        private final int index;
+        private final int numberOfKeys;
+        private final byte[] kinds;
+        private volatile long[] primitives;
+        private volatile Object[] objects;
+
+        private ComputeColumn(final String key, final int index, final int numberOfKeys, final int size) {
+            this.key = key;
+            this.index = index;
+            this.numberOfKeys = numberOfKeys;
+            this.kinds = new byte[size];
+        }
+
+        private boolean isEmpty(final int ordinal) {
+            return EMPTY == this.kinds[ordinal];
+        }
+
+        private boolean hasProperties(final int ordinal) {
+            return PROPERTIES == this.kinds[ordinal];
+        }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.computeIfPresent(vertex, (k, v) -> {
-            v.computeIfPresent(key, (k1, v1) -> {
-                v1.remove(property);
-                return v1;
-            });
-            return v;
-        });
+        private Object getValue(final int ordinal) {
+            switch (this.kinds[ordinal]) {
+                case LONG:
+                    return this.primitives[ordinal];
+                case DOUBLE:
+                    return Double.longBitsToDouble(this.primitives[ordinal]);
+                case OBJECT:
+                    return this.objects[ordinal];
+                default:
+                    throw new IllegalStateException("The compute key does not have a single value: " + this.key);
+            }
+        }
+
+        private void setValue(final int ordinal, final Object value) {
+            if (value instanceof Long) {
+                this.primitives()[ordinal] = (Long) value;
+                this.clearObject(ordinal);
+                this.kinds[ordinal] = LONG;
+            } else if (value instanceof Double) {
+                this.primitives()[ordinal] = Double.doubleToRawLongBits((Double) value);
+                this.clearObject(ordinal);
+                this.kinds[ordinal] = DOUBLE;
+            } else {
+                this.objects()[ordinal] = value;
+                this.kinds[ordinal] = OBJECT;
+            }
+        }
+
+        private List<VertexProperty<?>> getProperties(final TinkerVertex vertex, final int ordinal) {
+            if (PROPERTIES == this.kinds[ordinal])
+                return (List<VertexProperty<?>>) this.objects[ordinal];
+            else if (EMPTY == this.kinds[ordinal])
+                return Collections.emptyList();
+            else
+                return Collections.singletonList(new ComputeVertexProperty<>(vertex, this, this.getValue(ordinal)));
+        }
+
+        /**
+         * Ensures the slot holds a list of {@link VertexProperty} (converting a single value if needed) and returns it.
+         */
+        private List<VertexProperty<?>> promote(final TinkerVertex vertex, final int ordinal) {
+            if (PROPERTIES != this.kinds[ordinal]) {
+                final List<VertexProperty<?>> properties = new ArrayList<>(2);
+                if (EMPTY != this.kinds[ordinal])
+                    properties.add(new ComputeVertexProperty<>(vertex, this, this.getValue(ordinal), true));
+                this.objects()[ordinal] = properties;
+                this.kinds[ordinal] = PROPERTIES;
+            }
+            return (List<VertexProperty<?>>) this.objects[ordinal];
+        }
+
+        private void clear(final int ordinal) {
+            this.clearObject(ordinal);
+            this.kinds[ordinal] = EMPTY;
+        }
+
+        private void clearObject(final int ordinal) {
+            if (null != this.objects) this.objects[ordinal] = null;
+        }
+
+        private long[] primitives() {
+            if (null == this.primitives) {
+                synchronized (this) {
+                    if (null == this.primitives) this.primitives = new long[this.kinds.length];
+                }
+            }
+            return this.primitives;
+        }
+
+        private Object[] objects() {
+            if (null == this.objects) {
+                synchronized (this) {
+                    if (null == this.objects) this.objects = new Object[this.kinds.length];
+                }
+            }
+            return this.objects;
+        }
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    /**
+     * A compute key value of a vertex. When created for the single value of a slot, its identifier is derived from
+     * the vertex ordinal and the compute key and thus, is the same every time the value is read. Adding a
+     * meta-property to it stores it in its slot.
+     */
+    private static final class ComputeVertexProperty<V> extends TinkerVertexProperty<V> {
+
+        private final TinkerVertex vertex;
+        private final ComputeColumn column;
+        private boolean stored;
+
+        private ComputeVertexProperty(final TinkerVertex vertex, final ComputeColumn column, final V value) {
+            this(vertex, column, value, false);
+        }
+
+        private ComputeVertexProperty(final TinkerVertex vertex, final ComputeColumn column, final V value, final boolean stored) {
+            super(-1l - ((long) TinkerHelper.getComputeOrdinal(vertex) * column.numberOfKeys + column.index), vertex, column.key, value);
+            this.vertex = vertex;
+            this.column = column;
+            this.stored = stored;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            if (!this.stored) {
+                final int ordinal = TinkerHelper.getComputeOrdinal(this.vertex);
+                final List<VertexProperty<?>> properties = this.column.promote(this.vertex, ordinal);
+                properties.remove(this); // replace the copy of this value created by the promotion
+                properties.add(0, this);
+                this.stored = true;
+            }
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            TinkerHelper.getGraphComputerView((TinkerGraph) this.vertex.graph()).removeProperty(this.vertex, this.column.key, this);
+        }
     }
-}
\ No newline at end of file
+}
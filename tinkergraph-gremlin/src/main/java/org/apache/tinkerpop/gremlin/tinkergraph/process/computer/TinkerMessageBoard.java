@@ -18,29 +18,202 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * Stores the messages of the current and previous iteration keyed by the dense vertex ordinals of the
+ * {@link TinkerGraphComputerView}. If the vertex program has a {@link MessageCombiner}, each vertex has a single
+ * slot that is combined into without locking. Otherwise, each worker appends to its own buffer and the buffers are
+ * grouped by vertex when the iteration completes. All buffers are reused from one iteration to the next.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    private final TinkerGraphComputerView view;
+    private final MessageCombiner<M> combiner;
+
+    // used when there is a combiner
+    private AtomicReferenceArray<M> sendSlots;
+    private AtomicReferenceArray<M> receiveSlots;
+
+    // used when there is no combiner
+    private final Queue<WorkerMessages<M>> activeWorkerMessages = new ConcurrentLinkedQueue<>();
+    private final Queue<WorkerMessages<M>> idleWorkerMessages = new ConcurrentLinkedQueue<>();
+    private int[] receiveOffsets;
+    private int[] receiveCursors;
+    private Object[] receiveMessages = new Object[0];
+    private int receiveSize = 0;
+
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    public Set<MessageScope> currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+    public TinkerMessageBoard(final TinkerGraphComputerView view, final Optional<MessageCombiner<M>> combiner) {
+        this.view = view;
+        this.combiner = combiner.orElse(null);
+        final int size = view.getVertices().size();
+        if (null != this.combiner) {
+            this.sendSlots = new AtomicReferenceArray<>(size);
+            this.receiveSlots = new AtomicReferenceArray<>(size);
+        } else {
+            this.receiveOffsets = new int[size + 1];
+            this.receiveCursors = new int[size];
+        }
+    }
+
+    public int ordinal(final Vertex vertex) {
+        return this.view.ordinal(vertex);
+    }
+
+    /**
+     * Get the buffer a worker sends its messages to during the current iteration. A worker should acquire one
+     * buffer per iteration and must not share it with other workers.
+     */
+    public WorkerMessages<M> acquireWorkerMessages() {
+        if (null != this.combiner) return null;
+        WorkerMessages<M> workerMessages = this.idleWorkerMessages.poll();
+        if (null == workerMessages) workerMessages = new WorkerMessages<>();
+        this.activeWorkerMessages.add(workerMessages);
+        return workerMessages;
+    }
+
+    public void sendMessage(final WorkerMessages<M> workerMessages, final int ordinal, final M message) {
+        if (ordinal < 0) return; // the vertex is not in the graph and thus, will never read the message
+        if (null == this.combiner) {
+            workerMessages.add(ordinal, message);
+        } else {
+            // the current slot value is taken out before it is combined so that no two workers ever combine
+            // into the same message at once (combiners are allowed to mutate the first message)
+            M combined = message;
+            while (!this.sendSlots.compareAndSet(ordinal, null, combined)) {
+                final M existing = this.sendSlots.getAndSet(ordinal, null);
+                if (null != existing)
+                    combined = this.combiner.combine(existing, combined);
+            }
+        }
+    }
+
+    public Iterator<M> receiveMessages(final int ordinal) {
+        if (ordinal < 0) return Collections.emptyIterator();
+        if (null == this.combiner) {
+            final int start = this.receiveOffsets[ordinal];
+            final int end = this.receiveOffsets[ordinal + 1];
+            return start == end ? Collections.emptyIterator() : new MessageIterator<>(this.receiveMessages, start, end);
+        } else {
+            final M message = this.receiveSlots.get(ordinal);
+            return null == message ? Collections.emptyIterator() : IteratorUtils.of(message);
+        }
+    }
 
     public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        if (null == this.combiner) {
+            this.groupWorkerMessages();
+        } else {
+            final AtomicReferenceArray<M> slots = this.receiveSlots;
+            this.receiveSlots = this.sendSlots;
+            this.sendSlots = slots;
+            for (int i = 0; i < slots.length(); i++) {
+                slots.lazySet(i, null);
+            }
+        }
         this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.currentMessageScopes = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Groups the messages of all the worker buffers by their receiving vertex using a counting sort.
+     */
+    private void groupWorkerMessages() {
+        final int[] offsets = this.receiveOffsets;
+        Arrays.fill(offsets, 0);
+        for (final WorkerMessages<M> workerMessages : this.activeWorkerMessages) {
+            for (int i = 0; i < workerMessages.size; i++) {
+                offsets[workerMessages.ordinals[i] + 1]++;
+            }
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        final int size = offsets[offsets.length - 1];
+        if (size > this.receiveMessages.length)
+            this.receiveMessages = new Object[Math.max(size, this.receiveMessages.length + (this.receiveMessages.length >> 1))];
+        else if (size < this.receiveSize)
+            Arrays.fill(this.receiveMessages, size, this.receiveSize, null); // release the messages of the previous iteration
+        this.receiveSize = size;
+        System.arraycopy(offsets, 0, this.receiveCursors, 0, this.receiveCursors.length);
+        WorkerMessages<M> workerMessages;
+        while (null != (workerMessages = this.activeWorkerMessages.poll())) {
+            for (int i = 0; i < workerMessages.size; i++) {
+                this.receiveMessages[this.receiveCursors[workerMessages.ordinals[i]]++] = workerMessages.messages[i];
+            }
+            workerMessages.clear();
+            this.idleWorkerMessages.add(workerMessages);
+        }
+    }
+
+    /**
+     * An append-only buffer of the messages sent by a single worker.
+     */
+    static final class WorkerMessages<M> {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private int[] ordinals = new int[INITIAL_CAPACITY];
+        private Object[] messages = new Object[INITIAL_CAPACITY];
+        private int size = 0;
+
+        private void add(final int ordinal, final M message) {
+            if (this.size == this.ordinals.length) {
+                final int capacity = this.size + (this.size >> 1);
+                this.ordinals = Arrays.copyOf(this.ordinals, capacity);
+                this.messages = Arrays.copyOf(this.messages, capacity);
+            }
+            this.ordinals[this.size] = ordinal;
+            this.messages[this.size++] = message;
+        }
+
+        private void clear() {
+            Arrays.fill(this.messages, 0, this.size, null);
+            this.size = 0;
+        }
+    }
+
+    private static final class MessageIterator<M> implements Iterator<M> {
+
+        private final Object[] messages;
+        private final int end;
+        private int current;
+
+        private MessageIterator(final Object[] messages, final int start, final int end) {
+            this.messages = messages;
+            this.current = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current < this.end;
+        }
+
+        @Override
+        public M next() {
+            if (this.current >= this.end) throw new NoSuchElementException();
+            return (M) this.messages[this.current++];
+        }
     }
 }
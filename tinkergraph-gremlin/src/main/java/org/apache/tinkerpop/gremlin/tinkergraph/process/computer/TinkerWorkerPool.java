@@ -25,6 +25,8 @@ import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
@@ -39,13 +41,19 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
+    private final CompletionService<Object> completionService;
 
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
 
     public TinkerWorkerPool(final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
-        workerPool = Executors.newFixedThreadPool(numberOfWorkers, threadFactoryWorker);
+        this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, threadFactoryWorker);
+        this.completionService = new ExecutorCompletionService<>(this.workerPool);
+    }
+
+    public int getNumberOfWorkers() {
+        return this.numberOfWorkers;
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -67,15 +75,18 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final Consumer<VertexProgram> worker) {
-        try {
-            this.workerPool.submit(() -> {
+        for (int i = 0; i < this.numberOfWorkers; i++) {
+            this.completionService.submit(() -> {
                 final VertexProgram vp = this.vertexProgramPool.take();
-                worker.accept(vp);
-                this.vertexProgramPool.offer(vp);
-            }).get();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
+                try {
+                    worker.accept(vp);
+                } finally {
+                    this.vertexProgramPool.offer(vp);
+                }
+                return null;
+            });
         }
+        this.awaitWorkers();
     }
 
     ///
@@ -90,15 +101,35 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
 
     public void executeMapReduce(final Consumer<MapReduce> worker) {
-        try {
-            this.workerPool.submit(() -> {
+        for (int i = 0; i < this.numberOfWorkers; i++) {
+            this.completionService.submit(() -> {
                 final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
-                this.mapReducePool.offer(mr);
-            }).get();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
+                try {
+                    worker.accept(mr);
+                } finally {
+                    this.mapReducePool.offer(mr);
+                }
+                return null;
+            });
+        }
+        this.awaitWorkers();
+    }
+
+    /**
+     * Blocks until every submitted worker has completed. All workers are waited on even if one fails so that no
+     * worker of a failed stage is still running when the next stage begins.
+     */
+    private void awaitWorkers() {
+        Exception exception = null;
+        for (int i = 0; i < this.numberOfWorkers; i++) {
+            try {
+                this.completionService.take().get();
+            } catch (final Exception e) {
+                if (null == exception) exception = e;
+            }
         }
+        if (null != exception)
+            throw new IllegalStateException(exception.getMessage(), exception);
     }
 
     @Override
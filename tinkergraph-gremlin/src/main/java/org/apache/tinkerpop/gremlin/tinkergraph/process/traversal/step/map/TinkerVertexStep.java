@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link VertexStep} that reads the edges of a single label from the vertex-centric index of each vertex. The
+ * {@link HasContainer}s that followed the original step are tested here so that a predicate on the indexed key only
+ * visits the part of the index that may satisfy it. When the edges are later ordered by the indexed key and ranged,
+ * only the first {@code limit} edges of each vertex, and those that tie with the last of them, are emitted as no other
+ * edge of that vertex can be in the range.
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerVertexStep extends VertexStep<Edge> {
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
+    private final String indexKey;
+    private final Order order;
+    private final long limit;
+
+    /**
+     * @param originalVertexStep the step returning the edges of a single label that is replaced
+     * @param indexKey           the key of the vertex-centric index to read
+     * @param order              the order of the edges by the key or {@code null} if they are not ordered
+     * @param limit              the number of edges to emit per vertex or -1 to emit all of them
+     */
+    public TinkerVertexStep(final VertexStep<Edge> originalVertexStep, final String indexKey, final Order order, final long limit) {
+        super(originalVertexStep.getTraversal(), Edge.class, originalVertexStep.getDirection(), originalVertexStep.getEdgeLabels());
+        originalVertexStep.getLabels().forEach(this::addLabel);
+        this.indexKey = indexKey;
+        this.order = order;
+        this.limit = null == order ? -1 : limit;
+    }
+
+    @Override
+    protected Iterator<Edge> flatMap(final Traverser.Admin<Vertex> traverser) {
+        final Vertex vertex = traverser.get();
+        if (vertex instanceof TinkerVertex) {
+            final List<TinkerEdge> edges = TinkerHelper.queryVertexCentricIndex((TinkerVertex) vertex, this.getDirection(),
+                    this.getEdgeLabels()[0], this.indexKey, this.getIndexPredicate(), null == this.order ? Order.incr : this.order,
+                    edge -> HasContainer.testAll(edge, this.hasContainers), this.limit);
+            if (null != edges)
+                return (Iterator) edges.iterator();
+        }
+        // the index was dropped since the traversal was compiled
+        return IteratorUtils.filter(vertex.edges(this.getDirection(), this.getEdgeLabels()), edge -> HasContainer.testAll(edge, this.hasContainers));
+    }
+
+    private P<?> getIndexPredicate() {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (hasContainer.getKey().equals(this.indexKey))
+                return hasContainer.getPredicate();
+        }
+        return null;
+    }
+
+    public List<HasContainer> getHasContainers() {
+        return this.hasContainers;
+    }
+
+    public void addHasContainer(final HasContainer hasContainer) {
+        this.hasContainers.add(hasContainer);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.getDirection(), this.getEdgeLabels()[0], this.indexKey, this.hasContainers, this.order, this.limit);
+    }
+
+    @Override
+    public TinkerVertexStep clone() {
+        final TinkerVertexStep clone = (TinkerVertexStep) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.addHasContainer(hasContainer.clone());
+        }
+        return clone;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.indexKey.hashCode() ^ Long.hashCode(this.limit);
+        if (null != this.order)
+            result ^= this.order.hashCode();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            result ^= hasContainer.hashCode();
+        }
+        return result;
+    }
+}
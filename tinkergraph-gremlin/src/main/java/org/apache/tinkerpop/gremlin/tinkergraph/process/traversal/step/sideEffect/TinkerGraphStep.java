@@ -21,7 +21,6 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffe
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
-import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -61,7 +60,7 @@ public final class TinkerGraphStep<S extends Element> extends GraphStep<S> imple
         else
             return null == indexedContainer ?
                     this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate()).stream()
                             .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                             .collect(Collectors.<Edge>toList()).iterator();
     }
@@ -75,17 +74,33 @@ public final class TinkerGraphStep<S extends Element> extends GraphStep<S> imple
         else
             return null == indexedContainer ?
                     this.iteratorList(graph.vertices()) :
-                    TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+                    TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate()).stream()
                             .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
                             .collect(Collectors.<Vertex>toList()).iterator();
     }
 
+    /**
+     * Get the {@link HasContainer} whose index lookup yields the fewest elements or {@code null} if none of them
+     * can be answered by an index.
+     */
     private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.getKey()) && c.getPredicate().getBiPredicate().equals(Compare.eq))
-                .findAny()
-                .orElseGet(() -> null);
+        final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+        final boolean vertices = Vertex.class.isAssignableFrom(indexedClass);
+        HasContainer indexedContainer = null;
+        long smallestCount = Long.MAX_VALUE;
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (!indexedKeys.contains(hasContainer.getKey()))
+                continue;
+            final long count = vertices ?
+                    TinkerHelper.countVertexIndex(graph, hasContainer.getKey(), hasContainer.getPredicate(), smallestCount) :
+                    TinkerHelper.countEdgeIndex(graph, hasContainer.getKey(), hasContainer.getPredicate(), smallestCount);
+            if (count >= 0 && count < smallestCount) {
+                indexedContainer = hasContainer;
+                smallestCount = count;
+            }
+        }
+        return indexedContainer;
     }
 
     public String toString() {
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderRangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComparator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerVertexStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TinkerVertexStepStrategy replaces a {@link VertexStep} that returns the edges of a single label with a
+ * {@link TinkerVertexStep} when the label has a vertex-centric index. The {@link HasStep}s that follow are folded into
+ * the new step and, if the edges are then ordered by an indexed key and ranged, each vertex only emits the edges that
+ * can be in the range. The ordering and ranging steps remain as the range applies to the edges of all the vertices.
+ *
+ * @author agent (agent@local)
+ * @example <pre>
+ * __.outE("rated").has("stars", gt(4))                      // reads the edges with more than 4 stars from the index
+ * __.outE("visited").order().by("time", decr).limit(20)     // reads the 20 latest edges of each vertex from the index
+ * </pre>
+ */
+public final class TinkerVertexStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.VendorOptimizationStrategy> implements TraversalStrategy.VendorOptimizationStrategy {
+
+    private static final TinkerVertexStepStrategy INSTANCE = new TinkerVertexStepStrategy();
+
+    private TinkerVertexStepStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer())
+            return;
+        final Graph graph = traversal.getGraph().orElse(null);
+        if (!(graph instanceof TinkerGraph))
+            return;
+
+        for (final VertexStep<?> vertexStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+            if (!vertexStep.returnsEdge() || Direction.BOTH == vertexStep.getDirection() || 1 != vertexStep.getEdgeLabels().length)
+                continue;
+            final Set<String> indexedKeys = ((TinkerGraph) graph).getVertexCentricIndexedKeys(vertexStep.getEdgeLabels()[0]);
+            if (indexedKeys.isEmpty())
+                continue;
+
+            final List<HasStep<?>> hasSteps = new ArrayList<>();
+            Step<?, ?> currentStep = vertexStep.getNextStep();
+            while (currentStep instanceof HasStep && ((HasStep<?>) currentStep).getHasContainers().stream().allMatch(c -> c.getPredicate().getTraversals().isEmpty())) {
+                hasSteps.add((HasStep<?>) currentStep);
+                currentStep = currentStep.getNextStep();
+            }
+
+            // an order by an indexed key that is ranged takes precedence as it bounds the edges read from each vertex
+            String indexKey = null;
+            Order order = null;
+            long limit = -1;
+            final long high = currentStep instanceof OrderRangeGlobalStep ?
+                    ((OrderRangeGlobalStep<?>) currentStep).getHighRange() :
+                    currentStep instanceof OrderGlobalStep && currentStep.getNextStep() instanceof RangeGlobalStep ?
+                            ((RangeGlobalStep<?>) currentStep.getNextStep()).getHighRange() : -1;
+            if (high >= 0) {
+                final List<? extends Comparator<?>> comparators = ((ComparatorHolder<?>) currentStep).getComparators();
+                if (1 == comparators.size() && comparators.get(0) instanceof ElementValueComparator) {
+                    final ElementValueComparator<?> comparator = (ElementValueComparator<?>) comparators.get(0);
+                    if (indexedKeys.contains(comparator.getPropertyKey()) &&
+                            (Order.incr == comparator.getValueComparator() || Order.decr == comparator.getValueComparator())) {
+                        indexKey = comparator.getPropertyKey();
+                        order = (Order) comparator.getValueComparator();
+                        limit = high;
+                    }
+                }
+            }
+            if (null == indexKey) {
+                for (final HasStep<?> hasStep : hasSteps) {
+                    for (final HasContainer hasContainer : hasStep.getHasContainers()) {
+                        if (null == indexKey && indexedKeys.contains(hasContainer.getKey()))
+                            indexKey = hasContainer.getKey();
+                    }
+                }
+            }
+            if (null == indexKey)
+                continue;
+
+            final TinkerVertexStep tinkerVertexStep = new TinkerVertexStep((VertexStep<Edge>) vertexStep, indexKey, order, limit);
+            TraversalHelper.replaceStep((Step) vertexStep, tinkerVertexStep, traversal);
+            for (final HasStep<?> hasStep : hasSteps) {
+                hasStep.getHasContainers().forEach(tinkerVertexStep::addHasContainer);
+                hasStep.getLabels().forEach(tinkerVertexStep::addLabel);
+                traversal.removeStep(hasStep);
+            }
+        }
+    }
+
+    public static TinkerVertexStepStrategy instance() {
+        return INSTANCE;
+    }
+}
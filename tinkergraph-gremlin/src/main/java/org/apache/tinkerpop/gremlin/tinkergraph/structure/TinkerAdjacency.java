@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A compact adjacency list for one direction of a {@link TinkerVertex} that is used when TinkerGraph is configured
+ * with {@link TinkerGraph#CONFIG_COMPACT_ADJACENCY}. Edge labels are interned to ints by the graph and each label
+ * holds a growable array of edges. A removed edge leaves a {@code null} in its array which is only compacted away
+ * when the array has to grow, so a {@link Cursor} never sees the edges it is walking shift underneath it.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerAdjacency {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private int[] labels = new int[0];
+    private TinkerEdge[][] edges = new TinkerEdge[0][];
+    private int[] sizes = new int[0];
+
+    protected void add(final int label, final TinkerEdge edge) {
+        int slot = this.slot(label);
+        if (-1 == slot) {
+            slot = this.labels.length;
+            this.labels = Arrays.copyOf(this.labels, slot + 1);
+            this.edges = Arrays.copyOf(this.edges, slot + 1);
+            this.sizes = Arrays.copyOf(this.sizes, slot + 1);
+            this.labels[slot] = label;
+            this.edges[slot] = new TinkerEdge[INITIAL_CAPACITY];
+        }
+        TinkerEdge[] array = this.edges[slot];
+        int size = this.sizes[slot];
+        if (size == array.length) {
+            // copy into a fresh array (never in place) so that open cursors keep a stable view
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (null != array[i]) live++;
+            }
+            final TinkerEdge[] resized = new TinkerEdge[live > size / 2 ? size * 2 : size];
+            live = 0;
+            for (int i = 0; i < size; i++) {
+                if (null != array[i]) resized[live++] = array[i];
+            }
+            this.edges[slot] = array = resized;
+            size = live;
+        }
+        array[size] = edge;
+        this.sizes[slot] = size + 1;
+    }
+
+    protected void remove(final int label, final TinkerEdge edge) {
+        final int slot = this.slot(label);
+        if (-1 == slot) return;
+        final TinkerEdge[] array = this.edges[slot];
+        final int size = this.sizes[slot];
+        for (int i = 0; i < size; i++) {
+            if (array[i] == edge) {
+                array[i] = null;
+                return;
+            }
+        }
+    }
+
+    private int slot(final int label) {
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i] == label) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Walks the edges (or the adjacent vertices) of a {@link TinkerVertex} directly over its {@link TinkerAdjacency}
+     * arrays without copying them into an intermediate collection.
+     */
+    protected static final class Cursor<E> implements Iterator<E> {
+
+        private final Map<String, Integer> labelIds;
+        private final String[] edgeLabels;
+        private final boolean emitVertices;
+        private final TinkerAdjacency inAdjacency;
+        private TinkerAdjacency adjacency;
+        private boolean out;
+        private boolean pendingIn;
+
+        private int labelIndex = 0;
+        private TinkerEdge[] array = null;
+        private int limit = 0;
+        private int position = 0;
+        private TinkerEdge next = null;
+
+        protected Cursor(final TinkerVertex vertex, final Direction direction, final boolean emitVertices, final String... edgeLabels) {
+            this.labelIds = ((TinkerGraph) vertex.graph()).edgeLabelIds;
+            this.edgeLabels = edgeLabels;
+            this.emitVertices = emitVertices;
+            this.inAdjacency = vertex.inAdjacency;
+            this.out = !direction.equals(Direction.IN);
+            this.pendingIn = direction.equals(Direction.BOTH);
+            this.adjacency = this.out ? vertex.outAdjacency : vertex.inAdjacency;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == this.next) this.advance();
+            return null != this.next;
+        }
+
+        @Override
+        public E next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            final TinkerEdge edge = this.next;
+            this.next = null;
+            return (E) (this.emitVertices ? (this.out ? edge.inVertex : edge.outVertex) : edge);
+        }
+
+        private void advance() {
+            while (true) {
+                while (this.position < this.limit) {
+                    final TinkerEdge edge = this.array[this.position++];
+                    if (null != edge && !edge.removed) {
+                        this.next = edge;
+                        return;
+                    }
+                }
+                if (!this.nextSlot()) {
+                    if (!this.pendingIn) return;
+                    this.adjacency = this.inAdjacency;
+                    this.pendingIn = false;
+                    this.out = false;
+                    this.labelIndex = 0;
+                }
+            }
+        }
+
+        private boolean nextSlot() {
+            if (null == this.adjacency) return false;
+            if (this.edgeLabels.length == 0) {
+                if (this.labelIndex >= this.adjacency.labels.length) return false;
+                this.load(this.labelIndex++);
+                return true;
+            }
+            while (this.labelIndex < this.edgeLabels.length) {
+                final Integer label = this.labelIds.get(this.edgeLabels[this.labelIndex++]);
+                final int slot = null == label ? -1 : this.adjacency.slot(label);
+                if (-1 != slot) {
+                    this.load(slot);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void load(final int slot) {
+            this.array = this.adjacency.edges[slot];
+            this.limit = this.adjacency.sizes[slot];
+            this.position = 0;
+        }
+    }
+}
@@ -30,18 +30,15 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerEdge extends TinkerElement implements Edge {
 
-    protected Map<String, Property> properties;
+    protected TinkerPropertyTable<Property> properties;
     protected final Vertex inVertex;
     protected final Vertex outVertex;
 
@@ -57,7 +54,7 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         ElementHelper.validateProperty(key, value);
         final Property oldProperty = super.property(key);
         final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
+        if (null == this.properties) this.properties = new TinkerPropertyTable<>();
         this.properties.put(key, newProperty);
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
         return newProperty;
@@ -67,7 +64,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     @Override
     public <V> Property<V> property(final String key) {
         if (this.removed) throw Element.Exceptions.elementAlreadyRemoved(this.getClass(), this.id);
-        return null == this.properties ? Property.<V>empty() : this.properties.getOrDefault(key, Property.<V>empty());
+        final Property<V> property = null == this.properties ? null : this.properties.get(key);
+        return null == property ? Property.<V>empty() : property;
     }
 
     @Override
@@ -82,6 +80,14 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (graph.compactAdjacency) {
+            final int label = TinkerHelper.internEdgeLabel(graph, this.label);
+            if (null != outVertex && null != outVertex.outAdjacency)
+                outVertex.outAdjacency.remove(label, this);
+            if (null != inVertex && null != inVertex.inAdjacency)
+                inVertex.inAdjacency.remove(label, this);
+        }
         if (null != outVertex && null != outVertex.outEdges) {
             final Set<Edge> edges = outVertex.outEdges.get(this.label());
             if (null != edges)
@@ -93,10 +99,11 @@ public final class TinkerEdge extends TinkerElement implements Edge {
                 edges.remove(this);
         }
 
+        // marked first so that an index that is being built does not add the edge back
+        this.removed = true;
         TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        graph.edges.remove(this.id());
         this.properties = null;
-        this.removed = true;
     }
 
     @Override
@@ -134,11 +141,7 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
-        if (null == this.properties) return Collections.emptyIterator();
-        if (propertyKeys.length == 1) {
-            final Property<V> property = this.properties.get(propertyKeys[0]);
-            return null == property ? Collections.emptyIterator() : IteratorUtils.of(property);
-        } else
-            return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+        final TinkerPropertyTable<Property> properties = this.properties;
+        return null == properties ? Collections.emptyIterator() : (Iterator) properties.iterator(propertyKeys);
     }
 }
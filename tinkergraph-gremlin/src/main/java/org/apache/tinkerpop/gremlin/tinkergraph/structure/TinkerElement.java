@@ -28,7 +28,7 @@ public abstract class TinkerElement implements Element {
 
     protected final Object id;
     protected final String label;
-    protected boolean removed = false;
+    protected volatile boolean removed = false;
 
     protected TinkerElement(final Object id, final String label) {
         this.id = id;
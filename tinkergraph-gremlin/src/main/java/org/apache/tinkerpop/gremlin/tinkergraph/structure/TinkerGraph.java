@@ -34,6 +34,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerVertexStepStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
@@ -43,6 +44,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
@@ -66,7 +68,7 @@ import java.util.stream.Stream;
 public final class TinkerGraph implements Graph {
 
     static {
-        TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(TinkerGraphStepStrategy.instance()));
+        TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(TinkerGraphStepStrategy.instance(), TinkerVertexStepStrategy.instance()));
     }
 
     private static final Configuration EMPTY_CONFIGURATION = new BaseConfiguration() {{
@@ -77,6 +79,7 @@ public final class TinkerGraph implements Graph {
     public static final String CONFIG_EDGE_ID = "gremlin.tinkergraph.edgeIdManager";
     public static final String CONFIG_VERTEX_PROPERTY_ID = "gremlin.tinkergraph.vertexPropertyIdManager";
     public static final String CONFIG_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
+    public static final String CONFIG_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -86,13 +89,17 @@ public final class TinkerGraph implements Graph {
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
-    protected TinkerIndex<TinkerVertex> vertexIndex = null;
-    protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected volatile TinkerIndex<TinkerVertex> vertexIndex = null;
+    protected volatile TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected final Map<String, Set<String>> vertexCentricIndexes = new ConcurrentHashMap<>();
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final boolean compactAdjacency;
+    protected final Map<String, Integer> edgeLabelIds = new ConcurrentHashMap<>();
+    protected final AtomicInteger currentEdgeLabelId = new AtomicInteger(0);
 
     private final Configuration configuration;
 
@@ -106,6 +113,7 @@ public final class TinkerGraph implements Graph {
         this.vertexPropertyIdManager = selectIdManager(configuration, CONFIG_VERTEX_PROPERTY_ID, VertexProperty.class);
         this.defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(CONFIG_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        this.compactAdjacency = configuration.getBoolean(CONFIG_COMPACT_ADJACENCY, false);
     }
 
     /**
@@ -190,6 +198,7 @@ public final class TinkerGraph implements Graph {
         this.currentId.set(-1l);
         this.vertexIndex = null;
         this.edgeIndex = null;
+        this.vertexCentricIndexes.clear();
         this.graphComputerView = null;
     }
 
@@ -388,12 +397,37 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type, that index is replaced.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
-            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            TinkerIndex<TinkerVertex> index = this.vertexIndex;
+            if (null == index) {
+                synchronized (this) {
+                    if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+                    index = this.vertexIndex;
+                }
+            }
+            index.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
-            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            TinkerIndex<TinkerEdge> index = this.edgeIndex;
+            if (null == index) {
+                synchronized (this) {
+                    if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+                    index = this.edgeIndex;
+                }
+            }
+            index.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -433,6 +467,53 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a vertex-centric index which keeps the edges of said label that are incident to each vertex sorted by
+     * the value of said property key. Traversals such as {@code outE(label).has(key, gt(x))} and
+     * {@code outE(label).order().by(key, decr).limit(n)} then read just the part of each vertex's edges that they
+     * need rather than all of them. When the index is created, all existing edges of the label are indexed.
+     *
+     * @param edgeLabel the label of the edges to index
+     * @param key       the edge property key to sort the edges by
+     */
+    public void createVertexCentricIndex(final String edgeLabel, final String key) {
+        ElementHelper.validateLabel(edgeLabel);
+        if (!this.vertexCentricIndexes.computeIfAbsent(edgeLabel, l -> ConcurrentHashMap.newKeySet()).add(key))
+            return;
+        this.edges.values().stream()
+                .filter(edge -> edge.label().equals(edgeLabel))
+                .forEach(edge -> TinkerHelper.addVertexCentricIndex((TinkerEdge) edge, key));
+    }
+
+    /**
+     * Drop the vertex-centric index for the specified edge label and key.
+     *
+     * @param edgeLabel the label of the indexed edges
+     * @param key       the edge property key to stop sorting the edges by
+     */
+    public void dropVertexCentricIndex(final String edgeLabel, final String key) {
+        final Set<String> keys = this.vertexCentricIndexes.get(edgeLabel);
+        if (null == keys || !keys.remove(key))
+            return;
+        if (keys.isEmpty()) this.vertexCentricIndexes.remove(edgeLabel);
+        this.vertices.values().forEach(vertex -> {
+            if (null != ((TinkerVertex) vertex).outEdgeIndex)
+                ((TinkerVertex) vertex).outEdgeIndex.dropKeyIndex(edgeLabel, key);
+            if (null != ((TinkerVertex) vertex).inEdgeIndex)
+                ((TinkerVertex) vertex).inEdgeIndex.dropKeyIndex(edgeLabel, key);
+        });
+    }
+
+    /**
+     * Return the keys that the edges of said label are sorted by with a vertex-centric index.
+     *
+     * @param edgeLabel the label of the indexed edges
+     * @return the set of keys the edges of the label are indexed by
+     */
+    public Set<String> getVertexCentricIndexedKeys(final String edgeLabel) {
+        return Collections.unmodifiableSet(this.vertexCentricIndexes.getOrDefault(edgeLabel, Collections.emptySet()));
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -449,6 +530,22 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * Answers {@code eq} and {@code within} lookups from a hash of the property values.
+         */
+        HASH,
+
+        /**
+         * Keeps the property values sorted so that {@code gt}, {@code gte}, {@code lt}, {@code lte},
+         * {@code between}, {@code inside} and {@code outside} are answered as well as {@code eq} and {@code within}.
+         */
+        RANGE
+    }
+
     /**
      * TinkerGraph will use an implementation of this interface to generate identifiers when a user does not supply
      * them and to handle identifier conversions when querying to provide better flexibility with respect to
@@ -18,9 +18,12 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
@@ -32,9 +35,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -64,11 +67,21 @@ public final class TinkerHelper {
         graph.edges.put(edge.id(), edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        // the provided keys were indexed as the properties were attached so only the missing keys are left to index
+        graph.vertexCentricIndexes.getOrDefault(label, Collections.emptySet()).stream()
+                .filter(key -> !edge.property(key).isPresent())
+                .forEach(key -> TinkerHelper.addVertexCentricIndex((TinkerEdge) edge, key));
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        final TinkerGraph graph = (TinkerGraph) vertex.graph();
+        if (graph.compactAdjacency) {
+            if (null == vertex.outAdjacency) vertex.outAdjacency = new TinkerAdjacency();
+            vertex.outAdjacency.add(internEdgeLabel(graph, label), (TinkerEdge) edge);
+            return;
+        }
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
@@ -79,6 +92,12 @@ public final class TinkerHelper {
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        final TinkerGraph graph = (TinkerGraph) vertex.graph();
+        if (graph.compactAdjacency) {
+            if (null == vertex.inAdjacency) vertex.inAdjacency = new TinkerAdjacency();
+            vertex.inAdjacency.add(internEdgeLabel(graph, label), (TinkerEdge) edge);
+            return;
+        }
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
@@ -88,6 +107,73 @@ public final class TinkerHelper {
         edges.add(edge);
     }
 
+    /**
+     * Get the small int that the graph uses in place of the edge label within its compact adjacency lists.
+     */
+    protected static int internEdgeLabel(final TinkerGraph graph, final String label) {
+        return graph.edgeLabelIds.computeIfAbsent(label, l -> graph.currentEdgeLabelId.getAndIncrement());
+    }
+
+    /**
+     * Index the edge by its value for the key in the vertex-centric indexes of both of its vertices.
+     */
+    protected static void addVertexCentricIndex(final TinkerEdge edge, final String key) {
+        final Property<?> property = edge.property(key);
+        final Object value = property.isPresent() ? property.value() : null;
+        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+        if (null == outVertex.outEdgeIndex) outVertex.outEdgeIndex = new TinkerVertexCentricIndex();
+        if (null == inVertex.inEdgeIndex) inVertex.inEdgeIndex = new TinkerVertexCentricIndex();
+        outVertex.outEdgeIndex.put(edge.label, key, value, edge);
+        inVertex.inEdgeIndex.put(edge.label, key, value, edge);
+    }
+
+    private static void updateVertexCentricIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
+        final TinkerGraph graph = (TinkerGraph) edge.graph();
+        if (!graph.vertexCentricIndexes.getOrDefault(edge.label, Collections.emptySet()).contains(key))
+            return;
+        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+        if (null == outVertex.outEdgeIndex) outVertex.outEdgeIndex = new TinkerVertexCentricIndex();
+        if (null == inVertex.inEdgeIndex) inVertex.inEdgeIndex = new TinkerVertexCentricIndex();
+        outVertex.outEdgeIndex.remove(edge.label, key, oldValue, edge);
+        inVertex.inEdgeIndex.remove(edge.label, key, oldValue, edge);
+        outVertex.outEdgeIndex.put(edge.label, key, newValue, edge);
+        inVertex.inEdgeIndex.put(edge.label, key, newValue, edge);
+    }
+
+    private static void removeVertexCentricIndex(final TinkerEdge edge) {
+        final TinkerGraph graph = (TinkerGraph) edge.graph();
+        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+        // the edge is already marked removed so its properties are read directly
+        graph.vertexCentricIndexes.getOrDefault(edge.label, Collections.emptySet()).forEach(key -> {
+            final Property<?> property = null == edge.properties ? null : edge.properties.get(key);
+            final Object value = null == property ? null : property.value();
+            if (null != outVertex.outEdgeIndex) outVertex.outEdgeIndex.remove(edge.label, key, value, edge);
+            if (null != inVertex.inEdgeIndex) inVertex.inEdgeIndex.remove(edge.label, key, value, edge);
+        });
+    }
+
+    /**
+     * Get the edges of the label in the direction that pass the filter, sorted by their value for the key, from the
+     * vertex-centric index of the vertex or {@code null} if the label is not indexed by the key. Only the edges whose
+     * value may satisfy the predicate are tested and, if every edge of the label can be sorted by the key, the edges
+     * stop once {@code limit} of them are returned along with those that tie with the last of them.
+     *
+     * @param predicate the predicate on the value of the key or {@code null} to test every edge
+     * @param order     the order of the edges which must be {@link Order#incr} or {@link Order#decr}
+     * @param limit     the number of edges to return or -1 to return all of them
+     */
+    public static List<TinkerEdge> queryVertexCentricIndex(final TinkerVertex vertex, final Direction direction, final String edgeLabel,
+                                                           final String key, final P<?> predicate, final Order order,
+                                                           final Predicate<Edge> filter, final long limit) {
+        if (Direction.BOTH == direction || !((TinkerGraph) vertex.graph()).getVertexCentricIndexedKeys(edgeLabel).contains(key))
+            return null;
+        final TinkerVertexCentricIndex index = Direction.OUT == direction ? vertex.outEdgeIndex : vertex.inEdgeIndex;
+        return null == index ? Collections.emptyList() : index.query(edgeLabel, key, predicate, Order.decr == order, filter, limit);
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -96,6 +182,30 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final P<?> predicate) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, predicate);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final P<?> predicate) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, predicate);
+    }
+
+    /**
+     * Count the vertices the index would return for the predicate, up to the limit, or -1 if the key is not
+     * indexed in a way that can answer the predicate.
+     */
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final P<?> predicate, final long limit) {
+        return null == graph.vertexIndex ? -1 : graph.vertexIndex.count(key, predicate, limit);
+    }
+
+    /**
+     * Count the edges the index would return for the predicate, up to the limit, or -1 if the key is not
+     * indexed in a way that can answer the predicate.
+     */
+    public static long countEdgeIndex(final TinkerGraph graph, final String key, final P<?> predicate, final long limit) {
+        return null == graph.edgeIndex ? -1 : graph.edgeIndex.count(key, predicate, limit);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -112,14 +222,29 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
-    public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
-        return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+    /**
+     * Get the dense ordinal assigned to the vertex by the current {@link TinkerGraphComputerView}.
+     */
+    public static int getComputeOrdinal(final TinkerVertex vertex) {
+        return vertex.computeOrdinal;
+    }
+
+    public static void setComputeOrdinal(final TinkerVertex vertex, final int ordinal) {
+        vertex.computeOrdinal = ordinal;
+    }
+
+    /**
+     * Get the properties stored on the vertex itself, bypassing any {@link TinkerGraphComputerView}.
+     */
+    public static Iterator<VertexProperty> getProperties(final TinkerVertex vertex, final String... keys) {
+        return null == vertex.properties ? Collections.emptyIterator() : vertex.properties.iterator(keys);
     }
 
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.autoUpdate(key, newValue, oldValue, edge);
+        TinkerHelper.updateVertexCentricIndex(edge, key, newValue, oldValue);
     }
 
     public static void autoUpdateIndex(final TinkerVertex vertex, final String key, final Object newValue, final Object oldValue) {
@@ -138,6 +263,7 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.removeElement(edge);
+        TinkerHelper.removeVertexCentricIndex(edge);
     }
 
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
@@ -150,9 +276,12 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.remove(key, value, edge);
+        TinkerHelper.updateVertexCentricIndex(edge, key, null, value);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (((TinkerGraph) vertex.graph()).compactAdjacency)
+            return new TinkerAdjacency.Cursor<>(vertex, direction, false, edgeLabels);
         final List<Edge> edges = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
@@ -178,6 +307,8 @@ public final class TinkerHelper {
     }
 
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (((TinkerGraph) vertex.graph()).compactAdjacency)
+            return new TinkerAdjacency.Cursor<>(vertex, direction, true, edgeLabels);
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
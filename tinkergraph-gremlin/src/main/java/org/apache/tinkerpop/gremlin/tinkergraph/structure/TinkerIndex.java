@@ -18,27 +18,72 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
-import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values of a {@link TinkerGraph.IndexType#RANGE} index. Numbers are grouped together and compared
+     * by their exact value, while other values are grouped by class and use their natural order.
+     */
+    static final Comparator<Object> RANGE_ORDER = (a, b) -> {
+        final int group = group(a).compareTo(group(b));
+        if (0 != group)
+            return group;
+        else if (a instanceof GroupBound)
+            return b instanceof GroupBound ? Boolean.compare(((GroupBound) a).upper, ((GroupBound) b).upper) : ((GroupBound) a).upper ? 1 : -1;
+        else if (b instanceof GroupBound)
+            return ((GroupBound) b).upper ? -1 : 1;
+        else if (a instanceof Number && !a.getClass().equals(b.getClass()))
+            return compare((Number) a, (Number) b);
+        else
+            return ((Comparable) a).compareTo(b);
+    };
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<String, NavigableMap<Object, Set<T>>> rangeIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    /**
+     * The keys that are maintained on writes, which includes those that are still being built.
+     */
+    private final Map<String, TinkerGraph.IndexType> indexedKeys = new ConcurrentHashMap<>();
+    /**
+     * The keys whose index is completely built and may be used to answer queries.
+     */
+    private final Set<String> readyKeys = ConcurrentHashMap.newKeySet();
+    /**
+     * The number of entries in each group of a {@link TinkerGraph.IndexType#RANGE} index, maintained on writes so
+     * that wide intervals can be counted from the entries outside of them.
+     */
+    private final Map<String, Map<String, LongAdder>> groupSizes = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,71 +92,106 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
-        }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
+        final Map<Object, Set<T>> keyMap = this.isRanged(key, value) ?
+                this.rangeIndex.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>(RANGE_ORDER)) :
+                this.index.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        while (true) {
+            Set<T> objects = keyMap.get(value);
+            if (null == objects) {
+                final Set<T> created = ConcurrentHashMap.newKeySet();
+                objects = keyMap.putIfAbsent(value, created);
+                if (null == objects) objects = created;
+            }
+            synchronized (objects) {
+                // a concurrent remove() may have emptied the bucket and taken it out of the map
+                if (keyMap.get(value) == objects) {
+                    if (objects.add(element) && keyMap instanceof NavigableMap)
+                        this.groupSize(key, value).increment();
+                    return;
+                }
+            }
         }
-        objects.add(element);
-
     }
 
     public List<T> get(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null == keyMap) {
-            return Collections.emptyList();
-        } else {
-            Set<T> set = keyMap.get(value);
-            if (null == set)
-                return Collections.emptyList();
-            else
-                return new ArrayList<>(set);
+        final Set<T> set = this.readyKeys.contains(key) ? this.bucket(key, value) : null;
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    /**
+     * Get the elements whose value for the key may satisfy the predicate. The elements still need to be tested
+     * against the predicate as, for example, a {@code between} that is part of a larger conjunction only narrows
+     * down the candidates.
+     */
+    public List<T> get(final String key, final P<?> predicate) {
+        final Collection<Set<T>> buckets = this.buckets(key, predicate);
+        if (null == buckets) return Collections.emptyList();
+        final Iterator<Set<T>> iterator = buckets.iterator();
+        if (!iterator.hasNext()) return Collections.emptyList();
+        final Set<T> first = iterator.next();
+        if (!iterator.hasNext()) return new ArrayList<>(first);
+        // an element with multiple properties for the key can sit in several buckets
+        final Set<T> elements = new LinkedHashSet<>(first);
+        while (iterator.hasNext()) {
+            elements.addAll(iterator.next());
         }
+        return new ArrayList<>(elements);
     }
 
     public long count(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null == keyMap) {
-            return 0;
-        } else {
-            Set<T> set = keyMap.get(value);
-            if (null == set)
-                return 0;
-            else
-                return set.size();
+        final Set<T> set = this.readyKeys.contains(key) ? this.bucket(key, value) : null;
+        return null == set ? 0 : set.size();
+    }
+
+    /**
+     * Count the candidate elements that {@link #get(String, P)} would return for the predicate, stopping once the
+     * limit is reached. Returns -1 if the index for the key can not answer the predicate.
+     */
+    public long count(final String key, final P<?> predicate, final long limit) {
+        final Range range = TinkerGraph.IndexType.RANGE == this.indexedKeys.get(key) && this.readyKeys.contains(key) &&
+                Compare.eq != predicate.getBiPredicate() ? Range.of(predicate) : null;
+        if (null != range)
+            return this.count(key, range, limit);
+        final Collection<Set<T>> buckets = this.buckets(key, predicate);
+        if (null == buckets) return -1;
+        long count = 0;
+        for (final Set<T> bucket : buckets) {
+            count = count + bucket.size();
+            if (count >= limit) return limit;
         }
+        return count;
     }
 
     public void remove(final String key, final Object value, final T element) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+        final Set<T> objects = this.bucket(key, value);
+        if (null != objects) {
+            synchronized (objects) {
+                if (objects.remove(element)) {
+                    final Map<Object, Set<T>> keyMap = this.keyMap(key, value);
+                    if (keyMap instanceof NavigableMap)
+                        this.groupSize(key, value).decrement();
+                    if (objects.isEmpty())
+                        keyMap.remove(value, objects);
                 }
             }
         }
     }
 
+    /**
+     * Remove the element from the index. The index always mirrors the current values of the element so only the
+     * buckets of those values need to be visited. This has to happen before the properties of the element are
+     * dropped.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
-                }
+            for (final String key : this.indexedKeys.keySet()) {
+                values(element, key).forEachRemaining(value -> this.remove(key, value, element));
             }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key)) {
+        if (this.indexedKeys.containsKey(key)) {
             if (oldValue != null)
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
@@ -119,36 +199,296 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key))
+        if (this.indexedKeys.containsKey(key))
             this.remove(key, oldValue, element);
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
+        final TinkerGraph.IndexType currentIndexType = this.indexedKeys.get(key);
+        if (indexType == currentIndexType)
             return;
-        this.indexedKeys.add(key);
+        else if (null != currentIndexType)
+            this.dropKeyIndex(key);
 
+        // writes maintain the index from here on while queries keep scanning until the key is ready
+        this.indexedKeys.put(key, indexType);
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().<T>parallelStream() :
                 this.graph.edges.values().<T>parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
+                .forEach(element -> this.build(key, (T) element));
+        if (indexType == this.indexedKeys.get(key))
+            this.readyKeys.add(key);
     }
 
     public void dropKeyIndex(final String key) {
+        this.readyKeys.remove(key);
+        this.indexedKeys.remove(key);
+
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
-
-        this.indexedKeys.remove(key);
+        if (this.rangeIndex.containsKey(key))
+            this.rangeIndex.remove(key).clear();
+        this.groupSizes.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
-        return this.indexedKeys;
+        return this.readyKeys;
+    }
+
+    /**
+     * Index the current values of an element while other threads may be writing to it. The properties of the
+     * element are read without a lock which relies on {@link TinkerPropertyTable} publishing its contents safely.
+     */
+    private void build(final String key, final T element) {
+        if (((TinkerElement) element).removed) return;
+        values(element, key).forEachRemaining(value -> {
+            this.put(key, value, element);
+            // the element may have been removed or the value replaced after it was read, in which case the removal
+            // (or the update) may have missed the value that was just put
+            if (((TinkerElement) element).removed || !IteratorUtils.anyMatch(values(element, key), value::equals))
+                this.remove(key, value, element);
+        });
+    }
+
+    private LongAdder groupSize(final String key, final Object value) {
+        return this.groupSizes.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).computeIfAbsent(group(value), g -> new LongAdder());
+    }
+
+    /**
+     * Count the entries of a {@link TinkerGraph.IndexType#RANGE} index within the interval, stopping once the limit
+     * is reached. The buckets inside and outside of the interval are walked in turns so that the walk ends with
+     * whichever side holds fewer values, in which case the entries inside are the size of the group less those
+     * outside. Unlike {@link #get(String, P)} an element with several values in the interval is counted for each.
+     */
+    private long count(final String key, final Range range, final long limit) {
+        final NavigableMap<Object, Set<T>> sortedMap = this.rangeIndex.getOrDefault(key, Collections.emptyNavigableMap());
+        final Map<String, LongAdder> sizes = this.groupSizes.getOrDefault(key, Collections.emptyMap());
+        final LongAdder groupSize = sizes.get(group(range.low));
+        if (null == groupSize) return 0;
+        final Iterator<Set<T>> inside = range.subMap(sortedMap).values().iterator();
+        final Iterator<Set<T>> outside = IteratorUtils.flatMap(range.outside(sortedMap).iterator(), map -> map.values().iterator());
+        long insideCount = 0;
+        long outsideCount = 0;
+        while (true) {
+            if (!inside.hasNext())
+                return insideCount;
+            insideCount = insideCount + inside.next().size();
+            if (insideCount >= limit)
+                return limit;
+            if (!outside.hasNext())
+                // concurrent writes may leave the size of the group slightly behind the buckets
+                return Math.min(limit, Math.max(insideCount, groupSize.sum() - outsideCount));
+            outsideCount = outsideCount + outside.next().size();
+        }
+    }
+
+    private static Iterator<Object> values(final Element element, final String key) {
+        return org.apache.tinkerpop.gremlin.structure.T.label.getAccessor().equals(key) ? IteratorUtils.of(element.label()) : element.values(key);
+    }
+
+    /**
+     * Comparable values of a {@link TinkerGraph.IndexType#RANGE} index live in a sorted map while all other values
+     * live in a hash map.
+     */
+    private boolean isRanged(final String key, final Object value) {
+        return value instanceof Comparable && TinkerGraph.IndexType.RANGE == this.indexedKeys.get(key);
+    }
+
+    private Map<Object, Set<T>> keyMap(final String key, final Object value) {
+        return this.isRanged(key, value) ? this.rangeIndex.get(key) : this.index.get(key);
+    }
+
+    private Set<T> bucket(final String key, final Object value) {
+        if (null == value) return null;
+        final Map<Object, Set<T>> keyMap = this.keyMap(key, value);
+        return null == keyMap ? null : keyMap.get(value);
+    }
+
+    /**
+     * Get the buckets that hold the candidate elements for the predicate or {@code null} if the index for the key
+     * can not answer the predicate.
+     */
+    private Collection<Set<T>> buckets(final String key, final P<?> predicate) {
+        final TinkerGraph.IndexType indexType = this.indexedKeys.get(key);
+        if (null == indexType || !this.readyKeys.contains(key))
+            return null;
+        if (Compare.eq == predicate.getBiPredicate()) {
+            final Set<T> bucket = this.bucket(key, predicate.getValue());
+            return null == bucket ? Collections.emptyList() : Collections.singletonList(bucket);
+        } else if (Contains.within == predicate.getBiPredicate()) {
+            final List<Set<T>> buckets = new ArrayList<>();
+            for (final Object value : (Collection<?>) predicate.getValue()) {
+                final Set<T> bucket = this.bucket(key, value);
+                if (null != bucket) buckets.add(bucket);
+            }
+            return buckets;
+        } else if (TinkerGraph.IndexType.RANGE == indexType) {
+            final NavigableMap<Object, Set<T>> sortedMap = this.rangeIndex.getOrDefault(key, Collections.emptyNavigableMap());
+            if (predicate instanceof OrP) {
+                final List<Set<T>> buckets = new ArrayList<>();
+                for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                    final Range range = new Range();
+                    if (!range.narrow(p)) return null;
+                    buckets.addAll(range.subMap(sortedMap).values());
+                }
+                return buckets;
+            } else {
+                final NavigableMap<Object, Set<T>> subMap = subMap(sortedMap, predicate);
+                return null == subMap ? null : subMap.values();
+            }
+        } else
+            return null;
+    }
+
+    /**
+     * Get the part of a map sorted by {@link #RANGE_ORDER} whose keys may satisfy the predicate or {@code null} if
+     * the predicate can not be expressed as an interval.
+     */
+    static <T> NavigableMap<Object, Set<T>> subMap(final NavigableMap<Object, Set<T>> sortedMap, final P<?> predicate) {
+        final Range range = Range.of(predicate);
+        return null == range ? null : range.subMap(sortedMap);
+    }
+
+    /**
+     * Compare numbers of different classes by their exact value, which their double values are not for longs
+     * beyond 2^53 or for big numbers. Values that have no exact decimal form, such as NaN and the infinities,
+     * fall back to their double values.
+     */
+    private static int compare(final Number a, final Number b) {
+        if (isIntegral(a) && isIntegral(b))
+            return Long.compare(a.longValue(), b.longValue());
+        final double x = a.doubleValue();
+        final double y = b.doubleValue();
+        if (Double.isNaN(x) || Double.isInfinite(x) || Double.isNaN(y) || Double.isInfinite(y))
+            return Double.compare(x, y);
+        return toBigDecimal(a).compareTo(toBigDecimal(b));
+    }
+
+    private static boolean isIntegral(final Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private static BigDecimal toBigDecimal(final Number number) {
+        if (number instanceof BigDecimal)
+            return (BigDecimal) number;
+        else if (number instanceof BigInteger)
+            return new BigDecimal((BigInteger) number);
+        else if (isIntegral(number))
+            return BigDecimal.valueOf(number.longValue());
+        else
+            return new BigDecimal(number.doubleValue());
+    }
+
+    private static String group(final Object value) {
+        return value instanceof GroupBound ?
+                ((GroupBound) value).group :
+                value instanceof Number ? Number.class.getName() : value.getClass().getName();
+    }
+
+    /**
+     * A key that sorts before (or after) every value of its group. It is only used to bound sub-maps and is never
+     * stored in the index.
+     */
+    private static final class GroupBound {
+        private final String group;
+        private final boolean upper;
+
+        private GroupBound(final String group, final boolean upper) {
+            this.group = group;
+            this.upper = upper;
+        }
+    }
+
+    /**
+     * The interval of values that satisfies a conjunction of {@link Compare} predicates.
+     */
+    private static final class Range {
+        private Object low = null;
+        private Object high = null;
+        private boolean lowInclusive = false;
+        private boolean highInclusive = false;
+
+        /**
+         * Get the interval of the predicate or {@code null} if the predicate can not be expressed as an interval.
+         */
+        private static Range of(final P<?> predicate) {
+            final Range range = new Range();
+            if (predicate instanceof AndP) {
+                boolean narrowed = false;
+                for (final P<?> p : ((AndP<?>) predicate).getPredicates()) {
+                    narrowed = range.narrow(p) || narrowed;
+                }
+                return narrowed ? range : null;
+            } else
+                return range.narrow(predicate) ? range : null;
+        }
+
+        /**
+         * Narrow the interval by the predicate returning {@code false} if the predicate can not be expressed as an
+         * interval, in which case the interval is left as it was.
+         */
+        private boolean narrow(final P<?> predicate) {
+            final Object value = predicate.getValue();
+            if (!(predicate.getBiPredicate() instanceof Compare) || !(value instanceof Comparable))
+                return false;
+            final Compare compare = (Compare) predicate.getBiPredicate();
+            if (Compare.neq == compare)
+                return false;
+            if (null == this.low) {
+                this.low = new GroupBound(group(value), false);
+                this.high = new GroupBound(group(value), true);
+            } else if (!group(this.low).equals(group(value)))
+                return false;
+            if (Compare.eq == compare || Compare.gt == compare || Compare.gte == compare) {
+                final int c = RANGE_ORDER.compare(value, this.low);
+                if (c > 0 || (0 == c && this.lowInclusive && Compare.gt == compare)) {
+                    this.low = value;
+                    this.lowInclusive = Compare.gt != compare;
+                }
+            }
+            if (Compare.eq == compare || Compare.lt == compare || Compare.lte == compare) {
+                final int c = RANGE_ORDER.compare(value, this.high);
+                if (c < 0 || (0 == c && this.highInclusive && Compare.lt == compare)) {
+                    this.high = value;
+                    this.highInclusive = Compare.lt != compare;
+                }
+            }
+            return true;
+        }
+
+        private boolean isEmpty() {
+            final int c = RANGE_ORDER.compare(this.low, this.high);
+            return c > 0 || (0 == c && !(this.lowInclusive && this.highInclusive));
+        }
+
+        private <T> NavigableMap<Object, Set<T>> subMap(final NavigableMap<Object, Set<T>> sortedMap) {
+            return this.isEmpty() ?
+                    Collections.emptyNavigableMap() :
+                    sortedMap.subMap(this.low, this.lowInclusive, this.high, this.highInclusive);
+        }
+
+        /**
+         * Get the parts of the group of the interval that lie below and above it.
+         */
+        private <T> List<NavigableMap<Object, Set<T>>> outside(final NavigableMap<Object, Set<T>> sortedMap) {
+            final String group = group(this.low);
+            final GroupBound first = new GroupBound(group, false);
+            final GroupBound last = new GroupBound(group, true);
+            return this.isEmpty() ?
+                    Collections.singletonList(sortedMap.subMap(first, false, last, false)) :
+                    Arrays.asList(sortedMap.subMap(first, false, this.low, !this.lowInclusive),
+                            sortedMap.subMap(this.high, !this.highInclusive, last, false));
+        }
     }
 }
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.ArrayIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A small open-addressed table from property key to property that backs {@link TinkerVertex}, {@link TinkerEdge}
+ * and {@link TinkerVertexProperty}. A key with several properties (multi-properties of a vertex) holds them in an
+ * array that is replaced rather than modified and removing a key rebuilds the table. As such, the iterators
+ * returned by {@link #iterator(String...)} walk the table directly and stay valid while properties are removed.
+ * The key and value arrays are published together through a single volatile {@link Slots} so that a thread reading
+ * the table while it is rebuilt never pairs the keys of one with the values of the other.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerPropertyTable<P extends Property> {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+    private int size = 0;
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public Set<String> keySet() {
+        if (0 == this.size) return Collections.emptySet();
+        final Set<String> keySet = new HashSet<>(this.size * 2);
+        for (final String key : this.slots.keys) {
+            if (null != key) keySet.add(key);
+        }
+        return keySet;
+    }
+
+    /**
+     * Get the property for the key or {@code null} if there is none.
+     *
+     * @throws IllegalStateException if the key holds more than one property
+     */
+    public P get(final String key) {
+        final Slots slots = this.slots;
+        final Object value = slots.values[slot(slots.keys, key)];
+        if (value instanceof Object[])
+            throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+        return (P) value;
+    }
+
+    /**
+     * Set the property as the only property of its key.
+     */
+    public void put(final String key, final P property) {
+        final int slot = this.insert(key);
+        this.slots.values[slot] = property;
+    }
+
+    /**
+     * Add the property alongside any other properties of its key.
+     */
+    public void add(final String key, final P property) {
+        final int slot = this.insert(key);
+        final Object[] values = this.slots.values;
+        final Object value = values[slot];
+        if (null == value)
+            values[slot] = property;
+        else if (value instanceof Object[]) {
+            final Object[] properties = Arrays.copyOf((Object[]) value, ((Object[]) value).length + 1);
+            properties[properties.length - 1] = property;
+            values[slot] = properties;
+        } else
+            values[slot] = new Object[]{value, property};
+    }
+
+    /**
+     * Remove the key and all of its properties.
+     */
+    public boolean remove(final String key) {
+        final Slots slots = this.slots;
+        if (null == slots.keys[slot(slots.keys, key)]) return false;
+        this.rehash(slots.keys.length, key);
+        return true;
+    }
+
+    /**
+     * Remove a single property of the key, removing the key too if it was the last one.
+     */
+    public boolean remove(final String key, final P property) {
+        final Slots slots = this.slots;
+        final int slot = slot(slots.keys, key);
+        final Object value = slots.values[slot];
+        if (null == value) return false;
+        if (value instanceof Object[]) {
+            final Object[] properties = (Object[]) value;
+            for (int i = 0; i < properties.length; i++) {
+                if (properties[i].equals(property)) {
+                    if (2 == properties.length)
+                        slots.values[slot] = properties[1 - i];
+                    else {
+                        final Object[] remaining = new Object[properties.length - 1];
+                        System.arraycopy(properties, 0, remaining, 0, i);
+                        System.arraycopy(properties, i + 1, remaining, i, remaining.length - i);
+                        slots.values[slot] = remaining;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } else if (value.equals(property)) {
+            this.rehash(slots.keys.length, key);
+            return true;
+        } else
+            return false;
+    }
+
+    /**
+     * Iterate the properties of the provided keys. A single key is looked up directly, hidden or not, while several
+     * keys or no keys (which means all keys) are filtered by {@link ElementHelper#keyExists(String, String...)}
+     * which leaves out the hidden keys.
+     */
+    public Iterator<P> iterator(final String... propertyKeys) {
+        final Slots slots = this.slots;
+        if (1 == propertyKeys.length) {
+            final Object value = slots.values[slot(slots.keys, propertyKeys[0])];
+            if (null == value)
+                return Collections.emptyIterator();
+            return value instanceof Object[] ? (Iterator) new ArrayIterator<>((Object[]) value) : IteratorUtils.of((P) value);
+        }
+        return 0 == this.size ? Collections.emptyIterator() : new Cursor<>(slots.keys, slots.values, propertyKeys);
+    }
+
+    private int insert(final String key) {
+        Slots slots = this.slots;
+        int slot = slot(slots.keys, key);
+        if (null == slots.keys[slot]) {
+            if ((this.size + 1) * 2 > slots.keys.length) {
+                this.rehash(slots.keys.length * 2, null);
+                slots = this.slots;
+                slot = slot(slots.keys, key);
+            }
+            slots.keys[slot] = key;
+            this.size++;
+        }
+        return slot;
+    }
+
+    /**
+     * Copy the table into new arrays (never in place, so open iterators keep a consistent view) leaving out the
+     * excluded key if one is provided.
+     */
+    private void rehash(final int capacity, final String excludedKey) {
+        final Slots oldSlots = this.slots;
+        final Slots newSlots = new Slots(capacity);
+        int size = 0;
+        for (int i = 0; i < oldSlots.keys.length; i++) {
+            if (null != oldSlots.keys[i] && !oldSlots.keys[i].equals(excludedKey)) {
+                final int slot = slot(newSlots.keys, oldSlots.keys[i]);
+                newSlots.keys[slot] = oldSlots.keys[i];
+                newSlots.values[slot] = oldSlots.values[i];
+                size++;
+            }
+        }
+        // the new arrays are only published once they are filled
+        this.slots = newSlots;
+        this.size = size;
+    }
+
+    /**
+     * Get the slot holding the key or the empty slot where it would be inserted. The table is kept at most half
+     * full so there is always an empty slot to end the probe.
+     */
+    private static int slot(final String[] keys, final String key) {
+        final int mask = keys.length - 1;
+        final int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (true) {
+            final String current = keys[slot];
+            if (null == current || current.equals(key))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * The key and value arrays of the table which always have the same length.
+     */
+    private static final class Slots {
+        private final String[] keys;
+        private final Object[] values;
+
+        private Slots(final int capacity) {
+            this.keys = new String[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Cursor<P> implements Iterator<P> {
+
+        private final String[] keys;
+        private final Object[] values;
+        private final String[] propertyKeys;
+
+        private int slot = 0;
+        private Object[] properties = null;
+        private int position = 0;
+        private P next = null;
+
+        private Cursor(final String[] keys, final Object[] values, final String[] propertyKeys) {
+            this.keys = keys;
+            this.values = values;
+            this.propertyKeys = propertyKeys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == this.next) this.advance();
+            return null != this.next;
+        }
+
+        @Override
+        public P next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            final P property = this.next;
+            this.next = null;
+            return property;
+        }
+
+        private void advance() {
+            if (null != this.properties) {
+                if (this.position < this.properties.length) {
+                    this.next = (P) this.properties[this.position++];
+                    return;
+                }
+                this.properties = null;
+            }
+            while (this.slot < this.keys.length) {
+                final int current = this.slot++;
+                final String key = this.keys[current];
+                final Object value = this.values[current];
+                if (null == key || null == value || !ElementHelper.keyExists(key, this.propertyKeys))
+                    continue;
+                if (value instanceof Object[]) {
+                    this.properties = (Object[]) value;
+                    this.position = 1;
+                    this.next = (P) this.properties[0];
+                } else
+                    this.next = (P) value;
+                return;
+            }
+        }
+    }
+}
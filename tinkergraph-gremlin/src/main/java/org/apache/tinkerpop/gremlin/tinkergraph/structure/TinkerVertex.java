@@ -26,26 +26,28 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerVertex extends TinkerElement implements Vertex {
 
-    protected Map<String, List<VertexProperty>> properties;
+    protected TinkerPropertyTable<VertexProperty> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    protected TinkerAdjacency outAdjacency;
+    protected TinkerAdjacency inAdjacency;
+    protected TinkerVertexCentricIndex outEdgeIndex;
+    protected TinkerVertexCentricIndex inEdgeIndex;
+    protected int computeOrdinal = -1;
     private final TinkerGraph graph;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
@@ -63,22 +65,10 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         if (this.removed) throw Element.Exceptions.elementAlreadyRemoved(Vertex.class, this.id);
 
         if (TinkerHelper.inComputerMode(this.graph)) {
-            final List<VertexProperty> list = (List) this.graph.graphComputerView.getProperty(this, key);
-            if (list.size() == 0)
-                return VertexProperty.<V>empty();
-            else if (list.size() == 1)
-                return list.get(0);
-            else
-                throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+            return this.graph.graphComputerView.getProperty(this, key);
         } else {
-            if (this.properties != null && this.properties.containsKey(key)) {
-                final List<VertexProperty> list = (List) this.properties.get(key);
-                if (list.size() > 1)
-                    throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
-                else
-                    return list.get(0);
-            } else
-                return VertexProperty.<V>empty();
+            final VertexProperty<V> vertexProperty = null == this.properties ? null : this.properties.get(key);
+            return null == vertexProperty ? VertexProperty.<V>empty() : vertexProperty;
         }
     }
 
@@ -87,25 +77,24 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         if (this.removed) throw Element.Exceptions.elementAlreadyRemoved(Vertex.class, this.id);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         ElementHelper.validateProperty(key, value);
-        final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
-        final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
-        if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
-
         if (TinkerHelper.inComputerMode(this.graph)) {
-            final VertexProperty<V> vertexProperty = (VertexProperty<V>) this.graph.graphComputerView.addProperty(this, key, value);
+            // the view applies the cardinality itself so that a single value is overwritten in place
+            final VertexProperty<V> vertexProperty = this.graph.graphComputerView.addProperty(this, cardinality, key, value);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         } else {
+            final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
+            final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
+            if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
+
             final Object idValue = optionalId.isPresent() ?
                     graph.vertexPropertyIdManager.convert(optionalId.get()) :
                     graph.vertexPropertyIdManager.getNextId(graph);
 
             final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
 
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
+            if (null == this.properties) this.properties = new TinkerPropertyTable<>();
+            this.properties.add(key, vertexProperty);
             TinkerHelper.autoUpdateIndex(this, key, value, null);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
@@ -114,10 +103,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public Set<String> keys() {
-        if (null == this.properties) return Collections.emptySet();
-        return TinkerHelper.inComputerMode((TinkerGraph) graph()) ?
-                Vertex.super.keys() :
-                this.properties.keySet();
+        if (TinkerHelper.inComputerMode(this.graph)) return Vertex.super.keys();
+        return null == this.properties ? Collections.emptySet() : this.properties.keySet();
     }
 
     @Override
@@ -133,10 +120,11 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         final List<Edge> edges = new ArrayList<>();
         this.edges(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
+        // marked first so that an index that is being built does not add the vertex back
+        this.removed = true;
         TinkerHelper.removeElementIndex(this);
+        this.properties = null;
         this.graph.vertices.remove(this.id);
-        this.removed = true;
     }
 
     @Override
@@ -157,20 +145,10 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     @Override
     public <V> Iterator<VertexProperty<V>> properties(final String... propertyKeys) {
         if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
-            return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
+            return this.graph.graphComputerView.getProperties(this, propertyKeys);
         else {
-            if (null == this.properties) return Collections.emptyIterator();
-            if (propertyKeys.length == 1) {
-                final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
-                if (properties.size() == 1) {
-                    return IteratorUtils.of(properties.get(0));
-                } else if (properties.isEmpty()) {
-                    return Collections.emptyIterator();
-                } else {
-                    return (Iterator) new ArrayList<>(properties).iterator();
-                }
-            } else
-                return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+            final TinkerPropertyTable<VertexProperty> properties = this.properties;
+            return null == properties ? Collections.emptyIterator() : (Iterator) properties.iterator(propertyKeys);
         }
     }
 }
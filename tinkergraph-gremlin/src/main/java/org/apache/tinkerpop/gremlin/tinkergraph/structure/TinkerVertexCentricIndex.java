@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * The edges incident to a vertex in one direction, sorted by the value of each property key that has a vertex-centric
+ * index for their label. Edges without the key or with a value that is not {@link Comparable} are held apart so
+ * that the index accounts for every edge of the label.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerVertexCentricIndex {
+
+    private final Map<String, Map<String, Sorted>> index = new ConcurrentHashMap<>();
+
+    protected void put(final String label, final String key, final Object value, final TinkerEdge edge) {
+        final Sorted sorted = this.index.computeIfAbsent(label, l -> new ConcurrentHashMap<>()).computeIfAbsent(key, k -> new Sorted());
+        if (value instanceof Comparable)
+            sorted.values.computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet()).add(edge);
+        else
+            sorted.unsorted.add(edge);
+    }
+
+    protected void remove(final String label, final String key, final Object value, final TinkerEdge edge) {
+        final Sorted sorted = this.get(label, key);
+        if (null == sorted) return;
+        if (value instanceof Comparable) {
+            final Set<TinkerEdge> edges = sorted.values.get(value);
+            if (null != edges) {
+                edges.remove(edge);
+                if (edges.isEmpty()) sorted.values.remove(value);
+            }
+        } else
+            sorted.unsorted.remove(edge);
+    }
+
+    protected void dropKeyIndex(final String label, final String key) {
+        final Map<String, Sorted> keys = this.index.get(label);
+        if (null != keys) {
+            keys.remove(key);
+            if (keys.isEmpty()) this.index.remove(label);
+        }
+    }
+
+    private Sorted get(final String label, final String key) {
+        final Map<String, Sorted> keys = this.index.get(label);
+        return null == keys ? null : keys.get(key);
+    }
+
+    /**
+     * Get the edges of the label that pass the filter, sorted by the value of the key. Only those edges whose value
+     * may satisfy the predicate are tested and the edges stop once {@code limit} of them are returned, except that
+     * the edges which tie with the last of them are all returned too as the order among ties is arbitrary. If some
+     * edges of the label can not be sorted by the key, they are all tested and returned after the sorted ones.
+     *
+     * @param predicate  the predicate on the value of the key or {@code null} to test every edge
+     * @param descending whether the edges are sorted from the highest value to the lowest
+     * @param limit      the number of edges to return or -1 to return all of them
+     */
+    public List<TinkerEdge> query(final String label, final String key, final P<?> predicate, final boolean descending,
+                                  final Predicate<Edge> filter, final long limit) {
+        final List<TinkerEdge> edges = new ArrayList<>();
+        final Sorted sorted = this.get(label, key);
+        if (null == sorted) return edges;
+
+        NavigableMap<Object, Set<TinkerEdge>> values = null == predicate ? null : TinkerIndex.subMap(sorted.values, predicate);
+        if (null == values) values = sorted.values;
+        final Collection<Set<TinkerEdge>> buckets = descending ? values.descendingMap().values() : values.values();
+        final boolean limited = limit >= 0 && sorted.unsorted.isEmpty();
+        for (final Set<TinkerEdge> bucket : buckets) {
+            if (limited && edges.size() >= limit)
+                return edges;
+            for (final TinkerEdge edge : bucket) {
+                if (filter.test(edge))
+                    edges.add(edge);
+            }
+        }
+        sorted.unsorted.stream().filter(filter).forEach(edges::add);
+        return edges;
+    }
+
+    private static final class Sorted {
+        private final NavigableMap<Object, Set<TinkerEdge>> values = new ConcurrentSkipListMap<>(TinkerIndex.RANGE_ORDER);
+        private final Set<TinkerEdge> unsorted = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import org.apache.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures how {@link TinkerGraphComputer} scales with its number of workers by running
+ * {@link PageRankVertexProgram} over a generated power-law graph.
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-computer")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-computer")
+public class TinkerGraphComputerPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 10000;
+    private static final int PAGE_RANK_ITERATIONS = 10;
+
+    private static TinkerGraph graph;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void generateGraph() {
+        graph = TinkerGraph.open();
+        final Random random = new Random(3984537834l);
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            graph.addVertex("oid", i);
+        }
+        DistributionGenerator.build(graph)
+                .label("knows")
+                .seedGenerator(random::nextLong)
+                .outDistribution(new PowerLawDistribution(2.1))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(NUMBER_OF_VERTICES * 10).create().generate();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWith1Worker() throws Exception {
+        runPageRank(1);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWith2Workers() throws Exception {
+        runPageRank(2);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWith4Workers() throws Exception {
+        runPageRank(4);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWith8Workers() throws Exception {
+        runPageRank(8);
+    }
+
+    private static void runPageRank(final int workers) throws Exception {
+        final ComputerResult result = graph.compute(TinkerGraphComputer.class)
+                .workers(workers)
+                .program(PageRankVertexProgram.build().iterations(PAGE_RANK_ITERATIONS).create(graph))
+                .result(GraphComputer.ResultGraph.ORIGINAL)
+                .persist(GraphComputer.Persist.NOTHING)
+                .submit().get();
+        assertEquals(PAGE_RANK_ITERATIONS, result.memory().getIteration());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyMapStep;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of {@link PropertiesStep} and {@link PropertyMapStep} over {@link TinkerGraph} elements
+ * with a handful of properties each, which is the path that goes through {@code Element.properties(String...)}.
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-property-step")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-property-step")
+public class TinkerGraphPropertyStepPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 50000;
+
+    private static GraphTraversalSource g;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void generateGraph() {
+        final TinkerGraph graph = TinkerGraph.open();
+        Vertex previous = null;
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            final Vertex vertex = graph.addVertex("name", "vertex" + i, "age", i % 100, "weight", (double) i, "city", "city" + (i % 50));
+            vertex.property(VertexProperty.Cardinality.list, "alias", "a" + i);
+            vertex.property(VertexProperty.Cardinality.list, "alias", "b" + i);
+            if (null != previous)
+                previous.addEdge("next", vertex, "weight", 0.5d, "since", i);
+            previous = vertex;
+        }
+        g = graph.traversal();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void g_V_valuesXnameX() {
+        assertEquals(NUMBER_OF_VERTICES, g.V().values("name").count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void g_V_valuesXname_age_cityX() {
+        assertEquals(NUMBER_OF_VERTICES * 3, g.V().values("name", "age", "city").count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void g_V_propertiesXaliasX() {
+        assertEquals(NUMBER_OF_VERTICES * 2, g.V().properties("alias").count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void g_V_valueMap() {
+        assertEquals(NUMBER_OF_VERTICES, g.V().valueMap().count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void g_V_valueMapXname_ageX() {
+        assertEquals(NUMBER_OF_VERTICES, g.V().valueMap("name", "age").count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void g_E_valueMap() {
+        assertEquals(NUMBER_OF_VERTICES - 1, g.E().valueMap().count().next().intValue());
+    }
+}
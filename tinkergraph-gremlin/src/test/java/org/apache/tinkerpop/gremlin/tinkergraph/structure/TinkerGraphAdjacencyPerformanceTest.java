@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.AbstractGremlinTest;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import org.apache.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoIo;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the heap retained by {@link TinkerGraph} with its default adjacency maps against the heap retained with
+ * {@link TinkerGraph#CONFIG_COMPACT_ADJACENCY} for the Grateful Dead graph and a generated power-law graph. The
+ * retained heap of each load is written to the log.
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-adjacency")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-adjacency")
+public class TinkerGraphAdjacencyPerformanceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TinkerGraphAdjacencyPerformanceTest.class);
+
+    private static final int NUMBER_OF_VERTICES = 100000;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void loadGratefulDeadWithDefaultAdjacency() throws Exception {
+        measure("grateful-dead/default", false, TinkerGraphAdjacencyPerformanceTest::loadGratefulDead);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void loadGratefulDeadWithCompactAdjacency() throws Exception {
+        measure("grateful-dead/compact", true, TinkerGraphAdjacencyPerformanceTest::loadGratefulDead);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void generatePowerLawWithDefaultAdjacency() throws Exception {
+        measure("power-law/default", false, TinkerGraphAdjacencyPerformanceTest::generatePowerLaw);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void generatePowerLawWithCompactAdjacency() throws Exception {
+        measure("power-law/compact", true, TinkerGraphAdjacencyPerformanceTest::generatePowerLaw);
+    }
+
+    private static void measure(final String name, final boolean compactAdjacency, final Loader loader) throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(Graph.GRAPH, TinkerGraph.class.getName());
+        configuration.setProperty(TinkerGraph.CONFIG_COMPACT_ADJACENCY, compactAdjacency);
+
+        final long before = usedMemory();
+        final TinkerGraph graph = TinkerGraph.open(configuration);
+        loader.load(graph);
+        final long after = usedMemory();
+
+        final long edges = IteratorUtils.count(graph.edges());
+        assertEquals(edges, IteratorUtils.count(graph.traversal().V().outE()));
+        logger.info("{} retains {} bytes for {} vertices and {} edges", name, after - before, IteratorUtils.count(graph.vertices()), edges);
+        graph.close();
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void loadGratefulDead(final TinkerGraph graph) throws Exception {
+        final GryoReader reader = GryoReader.build().mapper(graph.io(GryoIo.build()).mapper().create()).create();
+        try (final InputStream stream = AbstractGremlinTest.class.getResourceAsStream(LoadGraphWith.GraphData.GRATEFUL.location())) {
+            reader.readGraph(stream, graph);
+        }
+    }
+
+    private static void generatePowerLaw(final TinkerGraph graph) {
+        final Random random = new Random(3984537834l);
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            graph.addVertex("oid", i);
+        }
+        DistributionGenerator.build(graph)
+                .label("knows")
+                .seedGenerator(random::nextLong)
+                .outDistribution(new PowerLawDistribution(2.1))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(NUMBER_OF_VERTICES * 10).create().generate();
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        public void load(final TinkerGraph graph) throws Exception;
+    }
+}
@@ -19,22 +19,34 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.io.graphml.GraphMLIo;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerVertexStep;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -215,6 +227,178 @@ public class TinkerGraphTest {
         g.dropIndex("better-not-error-index-key-does-not-exist", Edge.class);
     }
 
+    @Test
+    public void shouldReplaceIndexOfDifferentType() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("age", 29);
+        g.addVertex("age", 35);
+
+        g.createIndex("age", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        assertEquals(1, g.getIndexedKeys(Vertex.class).size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "age", gt(30)).size());
+
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.HASH);
+        assertEquals(1, g.getIndexedKeys(Vertex.class).size());
+        assertEquals(-1, TinkerHelper.countVertexIndex(g, "age", gt(30), Long.MAX_VALUE));
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "age", eq(35)).size());
+    }
+
+    @Test
+    public void shouldAnswerRangePredicatesWithRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i % 3 == 0 ? (Object) (long) i : i % 3 == 1 ? (Object) i : (Object) (double) i, "name", "name" + i);
+        }
+        final Vertex v = g.addVertex("age", 50, "name", "updated");
+        v.property("age", 150);
+        g.addVertex("name", "no age");
+        g.addVertex("age", "not a number");
+
+        final List<P<Object>> predicates = Arrays.asList(eq(10), eq(10l), gt(90), gte(90), lt(10), lte(10l), between(20, 30.5d),
+                inside(20, 30), outside(5, 95), within(1, 2l, 3d, 1000), gt(1000), lt(-1), inside(30, 20), between(30, 30));
+        final GraphTraversalSource indexed = g.traversal();
+        for (final P<Object> predicate : predicates) {
+            final long expected = g.traversal().V().toList().stream().filter(vertex -> vertex.property("age").isPresent() && vertex.value("age") instanceof Number && predicate.test(vertex.value("age"))).count();
+            assertEquals(predicate.toString(), expected, indexed.V().has("age", predicate).count().next().longValue());
+            assertTrue(predicate.toString(), TinkerHelper.countVertexIndex(g, "age", predicate, Long.MAX_VALUE) >= expected);
+        }
+
+        v.remove();
+        assertEquals(0, indexed.V().has("age", gt(100)).count().next().longValue());
+        assertEquals(1, indexed.V().has("age", eq("not a number")).count().next().longValue());
+    }
+
+    @Test
+    public void shouldOrderLargeNumbersExactlyInRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        final Vertex large = g.addVertex("age", 9007199254740993l);
+        g.addVertex("age", 9007199254740992l);
+        g.addVertex("age", 9007199254740992d);
+        g.addVertex("age", new BigInteger("9007199254740991"));
+
+        assertEquals(Collections.singletonList(large), TinkerHelper.queryVertexIndex(g, "age", gt(9007199254740992d)));
+        assertEquals(1, TinkerHelper.countVertexIndex(g, "age", gt(9007199254740992l), Long.MAX_VALUE));
+        assertEquals(3, TinkerHelper.countVertexIndex(g, "age", lt(9007199254740993l), Long.MAX_VALUE));
+        assertEquals(4, TinkerHelper.queryVertexIndex(g, "age", gte(0)).size());
+    }
+
+    @Test
+    public void shouldUseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", i % 2 == 0 ? "marko" : "stephen", "age", i, "oid", i);
+        }
+
+        // the spy on "oid" sees only the candidates of the index lookup that was chosen
+        final AtomicInteger tested = new AtomicInteger(0);
+        final P<Object> spy = P.test((t, u) -> tested.incrementAndGet() > 0, 0);
+
+        assertEquals(5, g.traversal().V().has("oid", spy).has("name", "marko").has("age", gte(90)).count().next().longValue());
+        assertEquals(10, tested.get());
+
+        tested.set(0);
+        assertEquals(1, g.traversal().V().has("oid", spy).has("age", between(10, 50)).has("name", within("stephen", "josh")).has("age", eq(11)).count().next().longValue());
+        assertEquals(1, tested.get());
+    }
+
+    @Test
+    public void shouldIndexAndRemoveMultiProperties() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex("name", "marko");
+        v.property(VertexProperty.Cardinality.list, "name", "marko a. rodriguez");
+        g.addVertex("name", "marko");
+
+        g.createIndex("name", Vertex.class);
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "name", "marko a. rodriguez").size());
+
+        v.remove();
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, "name", "marko a. rodriguez").size());
+    }
+
+    @Test
+    public void shouldBuildIndexWhileGraphIsWritten() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> existing = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            existing.add(g.addVertex("age", i % 100));
+        }
+
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                g.addVertex("age", i % 100);
+                existing.get(i * 5).remove();
+            }
+        });
+        writer.start();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        writer.join();
+
+        // once the writes are done every indexed vertex is live and every live vertex is indexed
+        assertTrue(g.getIndexedKeys(Vertex.class).contains("age"));
+        assertEquals(new HashSet<>(g.vertices.values()), new HashSet<>(TinkerHelper.queryVertexIndex(g, "age", gte(0))));
+        for (int i = 0; i < 100; i++) {
+            final int age = i;
+            final Set<Vertex> live = new HashSet<>();
+            IteratorUtils.filter(g.vertices(), v -> v.value("age").equals(age)).forEachRemaining(live::add);
+            assertEquals(live, new HashSet<>(TinkerHelper.queryVertexIndex(g, "age", eq(age))));
+        }
+    }
+
+    @Test
+    public void shouldAnswerVertexCentricQueriesWithVertexCentricIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex marko = g.addVertex("name", "marko");
+        final Vertex stephen = g.addVertex("name", "stephen");
+        final Vertex movie = g.addVertex("name", "movie");
+        for (int i = 0; i < 1000; i++) {
+            marko.addEdge("visited", g.addVertex(), "time", i * 2);
+            stephen.addEdge("visited", g.addVertex(), "time", i * 2 + 1);
+            marko.addEdge("rated", movie, "stars", i % 5);
+        }
+        g.createVertexCentricIndex("visited", "time");
+        g.createVertexCentricIndex("rated", "stars");
+        assertEquals(1, g.getVertexCentricIndexedKeys("visited").size());
+
+        final GraphTraversalSource gt = g.traversal();
+        final Traversal.Admin<Vertex, Object> latest = gt.V(marko.id()).outE("visited").order().by("time", Order.decr).limit(3).values("time").asAdmin();
+        latest.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(TinkerVertexStep.class, latest));
+        assertEquals(Arrays.asList(1998, 1996, 1994), latest.toList());
+        assertEquals(Arrays.asList(0, 1, 2), gt.V().outE("visited").order().by("time", Order.incr).limit(3).values("time").toList());
+        assertEquals(200, gt.V(marko.id()).outE("rated").has("stars", gt(3)).count().next().longValue());
+        assertEquals(400, gt.V(movie.id()).inE("rated").has("stars", between(1, 3)).count().next().longValue());
+
+        // the edges that tie with the last one within the limit are all read from the index
+        assertEquals(200, TinkerHelper.queryVertexCentricIndex((TinkerVertex) marko, Direction.OUT, "rated", "stars", null, Order.decr, e -> true, 3).size());
+        assertEquals(Arrays.asList(4, 4, 4), gt.V(marko.id()).outE("rated").order().by("stars", Order.decr).limit(3).values("stars").toList());
+
+        // the index follows the edges as they are updated and removed
+        final Edge visit = gt.V(marko.id()).outE("visited").has("time", 0).next();
+        visit.property("time", 5000);
+        assertEquals(Arrays.asList(5000, 1998), gt.V(marko.id()).outE("visited").order().by("time", Order.decr).limit(2).values("time").toList());
+        visit.remove();
+        assertEquals(Arrays.asList(1998), gt.V(marko.id()).outE("visited").order().by("time", Order.decr).limit(1).values("time").toList());
+        final Edge rating = marko.edges(Direction.OUT, "rated").next();
+        final int stars = rating.value("stars");
+        rating.property("stars").remove();
+        assertEquals(stars == 4 ? 199 : 200, gt.V(marko.id()).outE("rated").has("stars", gt(3)).count().next().longValue());
+        assertEquals(999, gt.V(marko.id()).outE("rated").has("stars").count().next().longValue());
+
+        // a compiled traversal still answers once its index is dropped
+        final Traversal.Admin<Vertex, Long> rated = gt.V(marko.id()).outE("rated").has("stars", gte(0)).count().asAdmin();
+        rated.applyStrategies();
+        g.dropVertexCentricIndex("rated", "stars");
+        assertTrue(g.getVertexCentricIndexedKeys("rated").isEmpty());
+        assertEquals(999, rated.next().longValue());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldNotCreateVertexIndexWithNullKey() {
         final TinkerGraph g = TinkerGraph.open();
@@ -392,5 +576,40 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldExecuteTraversalsInParallelWithTheSameResults() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            vertices.add(graph.addVertex("type", i % 3 == 0 ? "x" : "w", "z", i % 100));
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            vertices.get(i).addEdge("y", vertices.get((i + 1) % vertices.size()));
+            vertices.get(i).addEdge("y", vertices.get((i + 7) % vertices.size()));
+        }
 
+        final GraphTraversalSource serial = graph.traversal();
+        final GraphTraversalSource parallel = graph.traversal(GraphTraversalSource.build().engine(StandardTraversalEngine.build().workers(4)));
+
+        final Traversal<Vertex, Double> sum = parallel.V().has("type", "x").out("y").values("z").sum();
+        sum.asAdmin().applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ParallelStep.class, sum.asAdmin()));
+        assertEquals(serial.V().has("type", "x").out("y").values("z").sum().next(), sum.next());
+
+        assertEquals(serial.V().out("y").count().next(), parallel.V().out("y").count().next());
+        assertEquals(serial.V().out("y").values("z").max().next(), parallel.V().out("y").values("z").max().next());
+        assertEquals(serial.V().out("y").values("z").min().next(), parallel.V().out("y").values("z").min().next());
+        assertEquals(serial.V().out("y").values("z").mean().next(), parallel.V().out("y").values("z").mean().next());
+        assertEquals(serial.V().out("y").groupCount().by("type").next(), parallel.V().out("y").groupCount().by("type").next());
+        assertEquals(serial.V().out("y").out("y").fold().next().size(), parallel.V().out("y").out("y").fold().next().size());
+        assertEquals(serial.V().out("y").values("z").order().toList(), parallel.V().out("y").values("z").order().toList());
+        assertEquals(serial.V().has("type", "x").out("y").count().next(), parallel.V().has("type", "x").out("y").count().next());
+        assertEquals(0l, parallel.V().has("type", "q").out("y").count().next().longValue());
+
+        // dedup() must see every traverser and so is left to a single thread
+        final Traversal<Vertex, Long> dedup = parallel.V().out("y").dedup().count();
+        dedup.asAdmin().applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfClass(ParallelStep.class, dedup.asAdmin()));
+        assertEquals(serial.V().out("y").dedup().count().next(), dedup.next());
+    }
 }